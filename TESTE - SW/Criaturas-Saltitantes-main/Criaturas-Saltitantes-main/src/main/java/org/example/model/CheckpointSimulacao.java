@@ -0,0 +1,79 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Formato binário dos checkpoints de {@link Simulacao}.
+ *
+ * <p>
+ * Layout: número mágico, versão do formato, estado da simulação (ver
+ * {@link Simulacao#escrever(SaidaBinaria)}) e CRC32 de tudo o que vem antes.
+ * Os arrays do motor vetorial são gravados em bloco, então o custo de salvar e
+ * restaurar é dominado pela cópia dos dados e não pelo número de
+ * criaturas.</p>
+ */
+final class CheckpointSimulacao {
+
+    static final int MAGICO = 0x4353_434B; // "CSCK"
+    static final int VERSAO = 3; // 2: opções da simulação no cabeçalho; 3: ids e fluxos dos clusters por simulação
+
+    private CheckpointSimulacao() {
+    }
+
+    static void salvar(Simulacao simulacao, Path arquivo) throws IOException {
+        Path absoluto = arquivo.toAbsolutePath();
+        Path temporario = Files.createTempFile(absoluto.getParent(), absoluto.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                SaidaBinaria saida = new SaidaBinaria(canal);
+                saida.escreverInt(MAGICO);
+                saida.escreverShort(VERSAO);
+                simulacao.escrever(saida);
+                saida.concluirComCrc();
+                canal.force(true);
+            }
+            mover(temporario, absoluto);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    static Simulacao restaurar(Path arquivo, Usuario usuario) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            EntradaBinaria entrada = new EntradaBinaria(canal);
+            if (entrada.lerInt() != MAGICO) {
+                throw new IOException("Arquivo não é um checkpoint de simulação: " + arquivo);
+            }
+            int versao = entrada.lerShort();
+            if (versao < 1 || versao > VERSAO) {
+                throw new IOException("Versão de checkpoint não suportada: " + versao);
+            }
+            Simulacao simulacao;
+            try {
+                simulacao = Simulacao.ler(entrada, usuario, versao);
+            } catch (RuntimeException e) {
+                // Tamanhos corrompidos podem estourar a alocação ou os índices
+                throw new IOException("Checkpoint corrompido: " + arquivo, e);
+            }
+            if (!entrada.verificarCrc()) {
+                throw new IOException("Checkpoint corrompido: " + arquivo);
+            }
+            return simulacao;
+        }
+    }
+
+    private static void mover(Path origem, Path destino) throws IOException {
+        try {
+            Files.move(origem, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origem, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -1,25 +1,58 @@
 package org.example.model;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Grupo de criaturas que se encontraram. A posição de referência para novas
+ * adesões é a média das posições dos membros, mantida por uma soma corrente:
+ * entrar ou sair do cluster custa O(1), independentemente do tamanho.
+ */
 public class Cluster {
 
-    private List<Criatura> criaturas;
+    private static final int CAPACIDADE_INICIAL = 4;
+
+    private int[] idsMembros;
+    private Criatura[] membros;
+    private int tamanho;
+    private double somaPosicoes;
     private double posicao;
-    private int totalMoedas;
+    private long totalMoedas;
     private int id;
-    private static int contadorId = 1000; // IDs começam em 1000 para diferenciar
-    private static final Random random = new Random();
+    static final int PRIMEIRO_ID = 1000; // IDs começam em 1000 para diferenciar
+    private static final AtomicInteger contadorId = new AtomicInteger(PRIMEIRO_ID);
+    private final GeradorAleatorio random;
 
     public Cluster(Criatura criatura1, Criatura criatura2) {
-        this.id = contadorId++;
-        this.criaturas = new ArrayList<>();
-        this.criaturas.add(criatura1);
-        this.criaturas.add(criatura2);
+        this(proximoId(), criatura1, criatura2, GeradorAleatorio.comSementeAleatoria());
+    }
+
+    /**
+     * Forma um cluster cujo movimento é sorteado a partir da semente dada, para
+     * que a simulação possa ser reproduzida.
+     *
+     * @param criatura1 Primeira criatura do encontro
+     * @param criatura2 Segunda criatura do encontro
+     * @param semente Semente do gerador de movimento do cluster
+     */
+    public Cluster(Criatura criatura1, Criatura criatura2, long semente) {
+        this(proximoId(), criatura1, criatura2, new GeradorAleatorio(semente));
+    }
+
+    /**
+     * Forma um cluster com id dado pela simulação, que sorteia do fluxo dado.
+     */
+    Cluster(int id, Criatura criatura1, Criatura criatura2, GeradorAleatorio random) {
+        this.random = random;
+        this.id = id;
+        this.idsMembros = new int[CAPACIDADE_INICIAL];
+        this.membros = new Criatura[CAPACIDADE_INICIAL];
+        incluirMembro(criatura1);
+        incluirMembro(criatura2);
         this.posicao = criatura1.getPosicao(); // Mesma posição onde se encontraram
-        this.totalMoedas = criatura1.getMoedas() + criatura2.getMoedas();
+        this.totalMoedas = (long) criatura1.getMoedas() + criatura2.getMoedas();
 
         // Desativar as criaturas originais
         criatura1.desativar();
@@ -27,31 +60,109 @@ public class Cluster {
     }
 
     public Cluster(int id) {
+        this.random = GeradorAleatorio.comSementeAleatoria();
         this.id = id;
-        this.criaturas = new ArrayList<>();
+        this.idsMembros = new int[CAPACIDADE_INICIAL];
+        this.membros = new Criatura[CAPACIDADE_INICIAL];
         this.posicao = 0.0;
         this.totalMoedas = 0;
     }
 
+    /**
+     * Reconstrói um cluster a partir de um estado já calculado (usado pelo
+     * motor vetorial para materializar seus clusters).
+     */
+    Cluster(int id, double posicao, long totalMoedas, List<Criatura> criaturas) {
+        this(id, posicao, totalMoedas, criaturas, GeradorAleatorio.comSementeAleatoria());
+    }
+
+    /**
+     * Reconstrói um cluster salvo, com o gerador no estado em que estava.
+     */
+    Cluster(int id, double posicao, long totalMoedas, List<Criatura> criaturas, GeradorAleatorio random) {
+        this.random = random;
+        this.id = id;
+        int capacidade = Math.max(CAPACIDADE_INICIAL, criaturas.size());
+        this.idsMembros = new int[capacidade];
+        this.membros = new Criatura[capacidade];
+        for (Criatura criatura : criaturas) {
+            incluirMembro(criatura);
+        }
+        this.posicao = posicao;
+        this.totalMoedas = totalMoedas;
+    }
+
+    GeradorAleatorio getGerador() {
+        return random;
+    }
+
+    /**
+     * Id de um cluster criado fora de uma simulação; as simulações numeram os
+     * seus próprios clusters a partir de {@link #PRIMEIRO_ID}.
+     */
+    private static int proximoId() {
+        return contadorId.getAndIncrement(); // Clusters avulsos podem ser criados em paralelo
+    }
+
     public void adicionarCriatura(Criatura criatura) {
         if (criatura.isAtiva()) {
-            this.criaturas.add(criatura);
+            incluirMembro(criatura);
             this.totalMoedas += criatura.getMoedas();
             criatura.desativar();
+            this.posicao = somaPosicoes / tamanho;
+        }
+    }
 
-            // Recalcular posição média
-            this.posicao = criaturas.stream()
-                    .mapToDouble(Criatura::getPosicao)
-                    .average()
-                    .orElse(0.0);
+    private void incluirMembro(Criatura criatura) {
+        if (tamanho == membros.length) {
+            int novaCapacidade = tamanho * 2;
+            idsMembros = Arrays.copyOf(idsMembros, novaCapacidade);
+            membros = Arrays.copyOf(membros, novaCapacidade);
         }
+        idsMembros[tamanho] = criatura.getId();
+        membros[tamanho] = criatura;
+        tamanho++;
+        somaPosicoes += criatura.getPosicao();
     }
 
+    /**
+     * Funde outro cluster neste: moedas e membros passam para este cluster,
+     * que mantém id e posição, e o outro fica vazio. Custa O(membros do
+     * outro), e não O(membros deste).
+     *
+     * @param outro Cluster absorvido
+     */
+    public void fundir(Cluster outro) {
+        if (outro == this) {
+            return;
+        }
+        int novoTamanho = tamanho + outro.tamanho;
+        if (novoTamanho > membros.length) {
+            int novaCapacidade = Math.max(novoTamanho, membros.length * 2);
+            idsMembros = Arrays.copyOf(idsMembros, novaCapacidade);
+            membros = Arrays.copyOf(membros, novaCapacidade);
+        }
+        System.arraycopy(outro.idsMembros, 0, idsMembros, tamanho, outro.tamanho);
+        System.arraycopy(outro.membros, 0, membros, tamanho, outro.tamanho);
+        tamanho = novoTamanho;
+        somaPosicoes += outro.somaPosicoes;
+        totalMoedas += outro.totalMoedas;
+
+        Arrays.fill(outro.membros, 0, outro.tamanho, null);
+        outro.tamanho = 0;
+        outro.somaPosicoes = 0.0;
+        outro.totalMoedas = 0;
+    }
+
+    /**
+     * Desloca o cluster; como em {@link Criatura#mover()}, em 0 ele fica
+     * parado e não sorteia.
+     */
     public void mover() {
-        double r = (random.nextDouble() * 2) - 1; // Valor entre -1 e 1
-        posicao = posicao + (r * posicao);
-        // Garantir que a posição fica sempre entre 0 e 100
-        posicao = Math.max(0, Math.min(100, posicao));
+        if (posicao == 0.0) {
+            return;
+        }
+        posicao = NucleoMovimento.deslocar(posicao, random.nextDouble());
     }
 
     public void roubarMoedasDeVizinho(Criatura vizinho) {
@@ -64,15 +175,40 @@ public class Cluster {
 
     public void roubarMoedasDeVizinho(Cluster vizinho) {
         if (vizinho != null) {
-            int metadeMoedas = vizinho.getTotalMoedas() / 2;
+            long metadeMoedas = vizinho.getTotalMoedas() / 2;
             vizinho.totalMoedas -= metadeMoedas;
             this.totalMoedas += metadeMoedas;
         }
     }
 
     // Getters
+
+    /**
+     * @return visão somente leitura dos membros, na ordem de entrada; reflete
+     * adesões e saídas posteriores
+     */
     public List<Criatura> getCriaturas() {
-        return new ArrayList<>(criaturas);
+        return new AbstractList<>() {
+            @Override
+            public Criatura get(int indice) {
+                if (indice < 0 || indice >= tamanho) {
+                    throw new IndexOutOfBoundsException(indice);
+                }
+                return membros[indice];
+            }
+
+            @Override
+            public int size() {
+                return tamanho;
+            }
+        };
+    }
+
+    /**
+     * @return ids dos membros, na ordem de entrada
+     */
+    public int[] getIdsCriaturas() {
+        return Arrays.copyOf(idsMembros, tamanho);
     }
 
     public double getPosicao() {
@@ -83,11 +219,11 @@ public class Cluster {
         this.posicao = posicao;
     }
 
-    public int getTotalMoedas() {
+    public long getTotalMoedas() {
         return totalMoedas;
     }
 
-    public void setTotalMoedas(int totalMoedas) {
+    public void setTotalMoedas(long totalMoedas) {
         this.totalMoedas = totalMoedas;
     }
 
@@ -96,13 +232,13 @@ public class Cluster {
     }
 
     public int getTamanho() {
-        return criaturas.size();
+        return tamanho;
     }
 
     @Override
     public String toString() {
         return String.format("Cluster[id=%d, pos=%.2f, moedas=%d, criaturas=%d]",
-                id, posicao, totalMoedas, criaturas.size());
+                id, posicao, totalMoedas, tamanho);
     }
 
     @Override
@@ -123,17 +259,31 @@ public class Cluster {
     }
 
     public void removerCriatura(Criatura criatura) {
-        if (criaturas.remove(criatura)) {
-            this.totalMoedas -= criatura.getMoedas();
-            // Recalcular posição com as criaturas restantes
-            if (!criaturas.isEmpty()) {
-                this.posicao = criaturas.stream()
-                        .mapToDouble(Criatura::getPosicao)
-                        .average()
-                        .orElse(0.0);
-            } else {
-                this.posicao = 0.0;
+        int indice = indiceDoMembro(criatura.getId());
+        if (indice < 0) {
+            return;
+        }
+        // Preserva a ordem de entrada dos demais membros
+        System.arraycopy(idsMembros, indice + 1, idsMembros, indice, tamanho - indice - 1);
+        System.arraycopy(membros, indice + 1, membros, indice, tamanho - indice - 1);
+        tamanho--;
+        membros[tamanho] = null;
+        this.totalMoedas -= criatura.getMoedas();
+        if (tamanho > 0) {
+            somaPosicoes -= criatura.getPosicao();
+            this.posicao = somaPosicoes / tamanho;
+        } else {
+            somaPosicoes = 0.0;
+            this.posicao = 0.0;
+        }
+    }
+
+    private int indiceDoMembro(int idCriatura) {
+        for (int i = 0; i < tamanho; i++) {
+            if (idsMembros[i] == idCriatura) {
+                return i;
             }
         }
+        return -1;
     }
 }
@@ -0,0 +1,242 @@
+package org.example.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * Parâmetros de criação de uma {@link Simulacao}.
+ *
+ * <p>
+ * Há dois modos de validação:</p>
+ * <ul>
+ * <li><b>padrão</b> ({@link #padrao(int, int)}): 1-100 criaturas e 1-10000
+ * iterações, usado pela interface gráfica;</li>
+ * <li><b>grande escala</b> ({@link #grandeEscala(int, int)}): até
+ * {@value #MAX_CRIATURAS_GRANDE_ESCALA} criaturas e
+ * {@value #MAX_ITERACOES_GRANDE_ESCALA} iterações, sempre executado pelo motor
+ * vetorial, com contabilidade de moedas em {@code long}.</li>
+ * </ul>
+ *
+ * <p>
+ * Toda configuração carrega uma semente: se nenhuma for informada com
+ * {@link #comSemente(long)}, uma é sorteada na criação, e pode ser lida com
+ * {@link #getSemente()} para reproduzir a execução.</p>
+ *
+ * <p>
+ * Instâncias são imutáveis.</p>
+ */
+public final class ConfiguracaoSimulacao {
+
+    public static final int MAX_CRIATURAS_PADRAO = 100;
+    public static final int MAX_ITERACOES_PADRAO = 10000;
+    public static final int MAX_CRIATURAS_GRANDE_ESCALA = 10_000_000;
+    public static final int MAX_ITERACOES_GRANDE_ESCALA = 100_000_000;
+
+    /**
+     * Número de criaturas ativas a partir do qual o motor vetorial move as
+     * criaturas em paralelo.
+     */
+    public static final int LIMIAR_PARALELO_PADRAO = 10_000;
+
+    private static final SplittableRandom SEMENTES = new SplittableRandom();
+
+    private final int numCriaturas;
+    private final int maxIteracoes;
+    private final boolean grandeEscala;
+    private final boolean motorVetorial;
+    private final long semente;
+    private final int limiarParalelo;
+    private final boolean fusaoClusters;
+    private final boolean colisoesEmLote;
+    private final boolean rouboPorIteracao;
+    private final boolean pontoFixo;
+
+    private ConfiguracaoSimulacao(int numCriaturas, int maxIteracoes, boolean grandeEscala,
+            boolean motorVetorial, long semente, int limiarParalelo, boolean fusaoClusters,
+            boolean colisoesEmLote, boolean rouboPorIteracao, boolean pontoFixo) {
+        this.numCriaturas = numCriaturas;
+        this.maxIteracoes = maxIteracoes;
+        this.grandeEscala = grandeEscala;
+        this.motorVetorial = motorVetorial;
+        this.semente = semente;
+        this.limiarParalelo = limiarParalelo;
+        this.fusaoClusters = fusaoClusters;
+        this.colisoesEmLote = colisoesEmLote;
+        this.rouboPorIteracao = rouboPorIteracao;
+        this.pontoFixo = pontoFixo;
+    }
+
+    private static synchronized long sortearSemente() {
+        return SEMENTES.nextLong();
+    }
+
+    /**
+     * Configuração validada com os limites usados pela interface.
+     *
+     * @param numCriaturas Número de criaturas (1-100)
+     * @param maxIteracoes Número máximo de iterações (1-10000)
+     * @return configuração no modo padrão
+     * @throws IllegalArgumentException se parâmetros forem inválidos
+     */
+    public static ConfiguracaoSimulacao padrao(int numCriaturas, int maxIteracoes) {
+        validar(numCriaturas, maxIteracoes, MAX_CRIATURAS_PADRAO, MAX_ITERACOES_PADRAO);
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, false, false,
+                sortearSemente(), LIMIAR_PARALELO_PADRAO, false, false, false, false);
+    }
+
+    /**
+     * Configuração para execuções em lote com populações grandes. Usa sempre o
+     * motor vetorial.
+     *
+     * @param numCriaturas Número de criaturas (1-10.000.000)
+     * @param maxIteracoes Número máximo de iterações (1-100.000.000)
+     * @return configuração no modo grande escala
+     * @throws IllegalArgumentException se parâmetros forem inválidos
+     */
+    public static ConfiguracaoSimulacao grandeEscala(int numCriaturas, int maxIteracoes) {
+        validar(numCriaturas, maxIteracoes, MAX_CRIATURAS_GRANDE_ESCALA, MAX_ITERACOES_GRANDE_ESCALA);
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, true, true,
+                sortearSemente(), LIMIAR_PARALELO_PADRAO, false, false, false, false);
+    }
+
+    private static void validar(int numCriaturas, int maxIteracoes, int maxCriaturas, int maxIteracoesPermitidas) {
+        if (numCriaturas < 1 || numCriaturas > maxCriaturas) {
+            throw new IllegalArgumentException("Número de criaturas deve estar entre 1 e " + maxCriaturas);
+        }
+        if (maxIteracoes < 1 || maxIteracoes > maxIteracoesPermitidas) {
+            throw new IllegalArgumentException("Máximo de iterações deve estar entre 1 e " + maxIteracoesPermitidas);
+        }
+    }
+
+    /**
+     * @return cópia desta configuração executada pelo motor vetorial
+     */
+    public ConfiguracaoSimulacao comMotorVetorial() {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, true,
+                semente, limiarParalelo, fusaoClusters, colisoesEmLote, rouboPorIteracao, pontoFixo);
+    }
+
+    /**
+     * @param semente semente da qual a simulação deriva todos os sorteios
+     * @return cópia desta configuração com a semente informada
+     */
+    public ConfiguracaoSimulacao comSemente(long semente) {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, motorVetorial,
+                semente, limiarParalelo, fusaoClusters, colisoesEmLote, rouboPorIteracao, pontoFixo);
+    }
+
+    /**
+     * O resultado não depende do limiar: cada criatura sorteia do seu próprio
+     * fluxo, então a execução paralela é idêntica à sequencial.
+     *
+     * @param limiarParalelo número mínimo de criaturas ativas para mover em
+     * paralelo ({@link Integer#MAX_VALUE} desativa o paralelismo)
+     * @return cópia desta configuração com o limiar informado
+     * @throws IllegalArgumentException se o limiar for menor que 1
+     */
+    public ConfiguracaoSimulacao comLimiarParalelo(int limiarParalelo) {
+        if (limiarParalelo < 1) {
+            throw new IllegalArgumentException("Limiar de paralelismo deve ser positivo");
+        }
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, motorVetorial,
+                semente, limiarParalelo, fusaoClusters, colisoesEmLote, rouboPorIteracao, pontoFixo);
+    }
+
+    /**
+     * Com a fusão, clusters que terminam o movimento na mesma posição (ou em
+     * uma cadeia de posições coincidentes) se unem em um só, somando moedas e
+     * membros. Sem ela, clusters nunca se unem.
+     *
+     * @return cópia desta configuração com a fusão de clusters ativada
+     */
+    public ConfiguracaoSimulacao comFusaoClusters() {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, motorVetorial,
+                semente, limiarParalelo, true, colisoesEmLote, rouboPorIteracao, pontoFixo);
+    }
+
+    /**
+     * Por padrão, cada iteração resolve uma única colisão: a formação de um
+     * cluster ou, não havendo, a entrada de uma criatura em um cluster. Em
+     * lote, uma única varredura resolve todas: forma um cluster em cada cadeia
+     * de criaturas na mesma posição e junta cada criatura restante ao cluster
+     * com que colide.
+     *
+     * @return cópia desta configuração com as colisões resolvidas em lote
+     */
+    public ConfiguracaoSimulacao comColisoesEmLote() {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, motorVetorial,
+                semente, limiarParalelo, fusaoClusters, true, rouboPorIteracao, pontoFixo);
+    }
+
+    /**
+     * Por padrão, um cluster só rouba quando se forma ou recebe uma criatura.
+     * Com o roubo por iteração, todo cluster rouba, depois do movimento, metade
+     * das moedas do vizinho mais próximo, seja criatura ou cluster.
+     *
+     * @return cópia desta configuração com o roubo por iteração ativado
+     */
+    public ConfiguracaoSimulacao comRouboPorIteracao() {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, motorVetorial,
+                semente, limiarParalelo, fusaoClusters, colisoesEmLote, true, pontoFixo);
+    }
+
+    /**
+     * Por padrão, as posições são {@code double} e duas entidades colidem a
+     * menos de 10<sup>-9</sup> uma da outra. Em ponto fixo, as posições são
+     * múltiplos exatos de 10<sup>-9</sup> guardados em
+     * {@code long}: colidir é ter a mesma posição, o que dispensa a tolerância
+     * e permite agrupar as colisões por espalhamento, sem ordenação. Usa
+     * sempre o motor vetorial.
+     *
+     * @return cópia desta configuração com as posições em ponto fixo
+     */
+    public ConfiguracaoSimulacao comPontoFixo() {
+        return new ConfiguracaoSimulacao(numCriaturas, maxIteracoes, grandeEscala, true,
+                semente, limiarParalelo, fusaoClusters, colisoesEmLote, rouboPorIteracao, true);
+    }
+
+    public int getNumCriaturas() {
+        return numCriaturas;
+    }
+
+    public int getMaxIteracoes() {
+        return maxIteracoes;
+    }
+
+    public boolean isGrandeEscala() {
+        return grandeEscala;
+    }
+
+    public boolean isMotorVetorial() {
+        return motorVetorial;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public int getLimiarParalelo() {
+        return limiarParalelo;
+    }
+
+    public boolean isFusaoClusters() {
+        return fusaoClusters;
+    }
+
+    public boolean isColisoesEmLote() {
+        return colisoesEmLote;
+    }
+
+    public boolean isRouboPorIteracao() {
+        return rouboPorIteracao;
+    }
+
+    public boolean isPontoFixo() {
+        return pontoFixo;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Configuracao[criaturas=%d, maxIteracoes=%d, grandeEscala=%s, motorVetorial=%s, semente=%d]",
+                numCriaturas, maxIteracoes, grandeEscala, motorVetorial, semente);
+    }
+}
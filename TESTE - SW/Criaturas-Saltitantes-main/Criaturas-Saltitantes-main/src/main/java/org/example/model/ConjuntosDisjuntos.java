@@ -0,0 +1,138 @@
+package org.example.model;
+
+/**
+ * Conjuntos disjuntos (union-find) sobre os índices {@code 0..n-1}, com
+ * compressão de caminho e união por peso acumulado: cada operação custa tempo
+ * amortizado praticamente constante.
+ *
+ * <p>
+ * A raiz só serve para manter as árvores rasas. Cada conjunto tem também um
+ * {@link #representante(int)}: o índice de maior peso individual (no empate,
+ * o de menor índice). Na fusão de clusters o peso é o número de membros, e o
+ * representante é o cluster que sobrevive: o maior do grupo, e não o lado
+ * mais pesado da última união, que numa cadeia de clusters desiguais pode ser
+ * outro.</p>
+ */
+final class ConjuntosDisjuntos {
+
+    private final int[] pai;
+    private final long[] pesos; // Acumulado nas raízes
+    private final int[] pesosIndividuais;
+    private final int[] representantes; // Válido nas raízes
+    private int numUnioes;
+
+    /**
+     * @param pesos peso inicial de cada índice (não é copiado para a escolha
+     * dos representantes: não deve mudar enquanto houver uniões)
+     * @param tamanho número de índices
+     */
+    ConjuntosDisjuntos(int[] pesos, int tamanho) {
+        this.pai = new int[tamanho];
+        this.pesos = new long[tamanho];
+        this.pesosIndividuais = pesos;
+        this.representantes = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            pai[i] = i;
+            this.pesos[i] = pesos[i];
+            representantes[i] = i;
+        }
+    }
+
+    /**
+     * Une os índices cujas posições estão a menos de {@code tolerancia} uma da
+     * outra, inclusive em cadeia: ordenadas as posições, basta comparar cada
+     * uma com a seguinte.
+     *
+     * @param posicoes posição de cada índice
+     * @param pesos peso de cada índice
+     * @param tamanho número de índices
+     * @param tolerancia distância abaixo da qual duas posições coincidem
+     */
+    static ConjuntosDisjuntos porProximidade(double[] posicoes, int[] pesos, int tamanho, double tolerancia) {
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(pesos, tamanho);
+        int[] ordem = VarreduraColisoes.ordenarPorPosicao(posicoes, tamanho);
+        for (int k = 1; k < tamanho; k++) {
+            if (posicoes[ordem[k]] - posicoes[ordem[k - 1]] < tolerancia) {
+                conjuntos.unir(ordem[k - 1], ordem[k]);
+            }
+        }
+        return conjuntos;
+    }
+
+    /**
+     * Une os índices com a mesma posição exata em ponto fixo: cada índice se
+     * une ao primeiro do seu grupo, sem ordenação.
+     *
+     * @param chaves posição em ponto fixo de cada índice
+     * @param pesos peso de cada índice
+     * @param tamanho número de índices
+     */
+    static ConjuntosDisjuntos porChave(long[] chaves, int[] pesos, int tamanho) {
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(pesos, tamanho);
+        GruposPorPosicao grupos = new GruposPorPosicao();
+        grupos.reiniciar(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            int primeiro = grupos.getPrimeiro(grupos.adicionar(chaves[i], i));
+            if (primeiro != i) {
+                conjuntos.unir(primeiro, i);
+            }
+        }
+        return conjuntos;
+    }
+
+    private int raiz(int indice) {
+        int raiz = indice;
+        while (pai[raiz] != raiz) {
+            raiz = pai[raiz];
+        }
+        // Compressão de caminho: todos os índices percorridos apontam para a raiz
+        while (pai[indice] != raiz) {
+            int proximo = pai[indice];
+            pai[indice] = raiz;
+            indice = proximo;
+        }
+        return raiz;
+    }
+
+    /**
+     * @return índice de maior peso individual no conjunto de {@code indice}
+     * (no empate, o menor)
+     */
+    int representante(int indice) {
+        return representantes[raiz(indice)];
+    }
+
+    /**
+     * @return {@code true} se os índices estavam em conjuntos diferentes
+     */
+    boolean unir(int a, int b) {
+        int raizA = raiz(a);
+        int raizB = raiz(b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (pesos[raizB] > pesos[raizA] || (pesos[raizB] == pesos[raizA] && raizB < raizA)) {
+            int troca = raizA;
+            raizA = raizB;
+            raizB = troca;
+        }
+        pai[raizB] = raizA;
+        pesos[raizA] += pesos[raizB];
+        int representanteA = representantes[raizA];
+        int representanteB = representantes[raizB];
+        if (pesosIndividuais[representanteB] > pesosIndividuais[representanteA]
+                || (pesosIndividuais[representanteB] == pesosIndividuais[representanteA]
+                && representanteB < representanteA)) {
+            representantes[raizA] = representanteB;
+        }
+        numUnioes++;
+        return true;
+    }
+
+    /**
+     * @return número de uniões efetivas (índices que deixaram de ser raiz)
+     */
+    int getNumUnioes() {
+        return numUnioes;
+    }
+}
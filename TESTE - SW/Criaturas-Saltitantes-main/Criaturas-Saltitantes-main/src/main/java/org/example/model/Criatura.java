@@ -1,7 +1,5 @@
 package org.example.model;
 
-import java.util.Random;
-
 /**
  * Representa uma criatura na simulação com posição, moedas e estado.
  *
@@ -20,7 +18,8 @@ public class Criatura {
     private double posicao;
     private int moedas;
     private boolean ativa;
-    private final Random random;
+    private final GeradorAleatorio random;
+    private CriaturasAtivas conjuntoAtivas; // Notificado quando a criatura muda de estado
 
     /**
      * Cria uma nova criatura com 1.000.000 de moedas (conforme especificação).
@@ -31,6 +30,28 @@ public class Criatura {
      * [0,100]
      */
     public Criatura(int id, double posicao) {
+        this(id, posicao, System.nanoTime() + id); // Seed única por criatura
+    }
+
+    /**
+     * Cria uma nova criatura cujo movimento é sorteado a partir da semente
+     * dada, para que a simulação possa ser reproduzida.
+     *
+     * @param id Identificador único da criatura (deve ser positivo)
+     * @param posicao Posição inicial no horizonte (0-100)
+     * @param semente Semente do gerador de movimento da criatura
+     * @throws IllegalArgumentException se id ≤ 0 ou posicao fora do intervalo
+     * [0,100]
+     */
+    public Criatura(int id, double posicao, long semente) {
+        this(id, posicao, new GeradorAleatorio(semente));
+    }
+
+    /**
+     * Cria uma nova criatura que sorteia do fluxo dado (derivado do gerador da
+     * simulação).
+     */
+    Criatura(int id, double posicao, GeradorAleatorio random) {
         if (id <= 0) {
             throw new IllegalArgumentException("ID deve ser positivo");
         }
@@ -42,15 +63,27 @@ public class Criatura {
         this.posicao = posicao;
         this.moedas = 1_000_000; // Corrigido conforme especificação
         this.ativa = true;
-        this.random = new Random(System.nanoTime() + id); // Seed única por criatura
+        this.random = random;
     }
 
+    /**
+     * Reconstrói uma criatura salva, com o gerador no estado em que estava.
+     */
+    Criatura(int id, double posicao, int moedas, boolean ativa, GeradorAleatorio random) {
+        this.id = id;
+        this.posicao = posicao;
+        this.moedas = moedas;
+        this.ativa = ativa;
+        this.random = random;
+    }
+
+    /**
+     * Desloca a criatura ativa. A posição 0 é absorvente ({@code posicao + r *
+     * posicao} continua 0), então uma criatura parada em 0 não sorteia.
+     */
     public void mover() {
-        if (ativa) {
-            double r = (random.nextDouble() * 2) - 1; // Valor entre -1 e 1
-            posicao = posicao + (r * posicao);
-            // Garantir que a posição fica sempre entre 0 e 100
-            posicao = Math.max(0, Math.min(100, posicao));
+        if (ativa && posicao != 0.0) {
+            posicao = NucleoMovimento.deslocar(posicao, random.nextDouble());
         }
     }
 
@@ -65,7 +98,15 @@ public class Criatura {
     }
 
     public void desativar() {
-        this.ativa = false;
+        setAtiva(false);
+    }
+
+    GeradorAleatorio getGerador() {
+        return random;
+    }
+
+    void registrarEm(CriaturasAtivas conjunto) {
+        this.conjuntoAtivas = conjunto;
     }
 
     // Getters e Setters
@@ -117,6 +158,16 @@ public class Criatura {
     }
 
     public void setAtiva(boolean b) {
+        if (this.ativa == b) {
+            return;
+        }
         this.ativa = b;
+        if (conjuntoAtivas != null) {
+            if (b) {
+                conjuntoAtivas.criaturaReativada(this);
+            } else {
+                conjuntoAtivas.criaturaDesativada();
+            }
+        }
     }
 }
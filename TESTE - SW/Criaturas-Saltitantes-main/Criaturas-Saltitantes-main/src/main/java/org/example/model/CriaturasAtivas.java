@@ -0,0 +1,118 @@
+package org.example.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Conjunto das criaturas ativas de uma simulação, mantido à medida que as
+ * criaturas são desativadas.
+ *
+ * <p>
+ * As criaturas ficam em um array na ordem dos ids, que é a ordem de
+ * prioridade usada na detecção de colisões. Uma criatura desativada
+ * ({@link Criatura#desativar()} ou {@link Criatura#setAtiva(boolean)}) avisa o
+ * conjunto, que só a retira na próxima compactação: assim a lista vista por
+ * quem está percorrendo o conjunto não muda no meio de um passo. A
+ * compactação custa O(ativas) e só acontece quando houve desativações.</p>
+ *
+ * <p>
+ * A lista é somente leitura; depois de {@link #compactar()} contém apenas
+ * criaturas ativas.</p>
+ */
+final class CriaturasAtivas extends AbstractList<Criatura> implements RandomAccess {
+
+    private Criatura[] elementos;
+    private int tamanho;
+    private boolean pendente;
+    private long versao;
+
+    /**
+     * @param criaturas criaturas da simulação, na ordem dos ids; as ativas
+     * passam a notificar este conjunto
+     */
+    CriaturasAtivas(Iterable<Criatura> criaturas) {
+        this.elementos = new Criatura[8];
+        for (Criatura criatura : criaturas) {
+            criatura.registrarEm(this);
+            if (criatura.isAtiva()) {
+                if (tamanho == elementos.length) {
+                    elementos = Arrays.copyOf(elementos, tamanho * 2);
+                }
+                elementos[tamanho++] = criatura;
+            }
+        }
+    }
+
+    /**
+     * Retira as criaturas desativadas desde a última compactação.
+     */
+    void compactar() {
+        if (!pendente) {
+            return;
+        }
+        int destino = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (elementos[i].isAtiva()) {
+                elementos[destino++] = elementos[i];
+            }
+        }
+        Arrays.fill(elementos, destino, tamanho, null);
+        tamanho = destino;
+        pendente = false;
+    }
+
+    /**
+     * Número que muda a cada alteração do conjunto; permite saber se um índice
+     * construído sobre as ativas ainda corresponde a elas.
+     */
+    long getVersao() {
+        return versao;
+    }
+
+    void criaturaDesativada() {
+        pendente = true;
+        versao++;
+    }
+
+    /**
+     * Criatura reativada volta para o seu lugar na ordem dos ids. Custa O(n),
+     * mas só acontece por alteração externa.
+     */
+    void criaturaReativada(Criatura criatura) {
+        compactar();
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (elementos[meio].getId() < criatura.getId()) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        versao++;
+        if (baixo < tamanho && elementos[baixo] == criatura) {
+            return; // Reativada antes de ser retirada
+        }
+        if (tamanho == elementos.length) {
+            elementos = Arrays.copyOf(elementos, Math.max(8, tamanho * 2));
+        }
+        System.arraycopy(elementos, baixo, elementos, baixo + 1, tamanho - baixo);
+        elementos[baixo] = criatura;
+        tamanho++;
+    }
+
+    @Override
+    public Criatura get(int indice) {
+        if (indice < 0 || indice >= tamanho) {
+            throw new IndexOutOfBoundsException("Índice: " + indice + ", tamanho: " + tamanho);
+        }
+        return elementos[indice];
+    }
+
+    @Override
+    public int size() {
+        return tamanho;
+    }
+}
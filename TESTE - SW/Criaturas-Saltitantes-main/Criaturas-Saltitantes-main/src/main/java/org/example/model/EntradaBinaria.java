@@ -0,0 +1,184 @@
+package org.example.model;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Leitura bufferizada do formato gravado por {@link SaidaBinaria}, calculando
+ * o CRC32 dos bytes consumidos.
+ */
+final class EntradaBinaria {
+
+    private final ReadableByteChannel canal;
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    private int contabilizado; // Início dos bytes do buffer ainda fora do CRC
+    private long fimDoBuffer; // Posição no canal correspondente ao limite do buffer
+
+    EntradaBinaria(ReadableByteChannel canal) {
+        this(canal, SaidaBinaria.CAPACIDADE_PADRAO);
+    }
+
+    EntradaBinaria(ReadableByteChannel canal, int capacidade) {
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(capacidade);
+        buffer.limit(0);
+    }
+
+    int lerByte() throws IOException {
+        garantir(Byte.BYTES);
+        return buffer.get();
+    }
+
+    boolean lerBoolean() throws IOException {
+        return lerByte() != 0;
+    }
+
+    int lerShort() throws IOException {
+        garantir(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    int lerInt() throws IOException {
+        garantir(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    long lerLong() throws IOException {
+        garantir(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    double lerDouble() throws IOException {
+        garantir(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    String lerTexto() throws IOException {
+        int tamanho = lerInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            bytes[i] = (byte) lerByte();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    GeradorAleatorio lerGerador() throws IOException {
+        long semente = lerLong();
+        return new GeradorAleatorio(semente, lerLong());
+    }
+
+    void lerDoubles(double[] destino, int quantidade) throws IOException {
+        int lidos = 0;
+        while (lidos < quantidade) {
+            int disponiveis = Math.min(quantidade - lidos, buffer.remaining() / Double.BYTES);
+            if (disponiveis == 0) {
+                encher(Double.BYTES);
+                continue;
+            }
+            buffer.asDoubleBuffer().get(destino, lidos, disponiveis);
+            buffer.position(buffer.position() + disponiveis * Double.BYTES);
+            lidos += disponiveis;
+        }
+    }
+
+    void lerLongs(long[] destino, int quantidade) throws IOException {
+        int lidos = 0;
+        while (lidos < quantidade) {
+            int disponiveis = Math.min(quantidade - lidos, buffer.remaining() / Long.BYTES);
+            if (disponiveis == 0) {
+                encher(Long.BYTES);
+                continue;
+            }
+            buffer.asLongBuffer().get(destino, lidos, disponiveis);
+            buffer.position(buffer.position() + disponiveis * Long.BYTES);
+            lidos += disponiveis;
+        }
+    }
+
+    void lerInts(int[] destino, int quantidade) throws IOException {
+        int lidos = 0;
+        while (lidos < quantidade) {
+            int disponiveis = Math.min(quantidade - lidos, buffer.remaining() / Integer.BYTES);
+            if (disponiveis == 0) {
+                encher(Integer.BYTES);
+                continue;
+            }
+            buffer.asIntBuffer().get(destino, lidos, disponiveis);
+            buffer.position(buffer.position() + disponiveis * Integer.BYTES);
+            lidos += disponiveis;
+        }
+    }
+
+    /**
+     * Lê o CRC gravado por {@link SaidaBinaria#concluirComCrc()} e compara com
+     * o dos bytes consumidos até aqui.
+     *
+     * @return {@code true} se os dados estão íntegros
+     */
+    boolean verificarCrc() throws IOException {
+        contabilizar();
+        garantir(Integer.BYTES);
+        int esperado = buffer.getInt();
+        contabilizado = buffer.position();
+        return esperado == (int) crc.getValue();
+    }
+
+    /**
+     * @return posição no canal do próximo byte a ser lido, contada a partir da
+     * posição do canal na criação (ou da dada em {@link #reiniciar(long)})
+     */
+    long getPosicao() {
+        return fimDoBuffer - buffer.remaining();
+    }
+
+    /**
+     * Descarta o que está no buffer depois que o canal foi reposicionado, e
+     * recomeça o CRC.
+     *
+     * @param posicao nova posição do canal
+     */
+    void reiniciar(long posicao) {
+        buffer.clear().limit(0);
+        contabilizado = 0;
+        fimDoBuffer = posicao;
+        crc.reset();
+    }
+
+    /**
+     * Garante ao menos {@code bytes} no buffer, lendo do canal se preciso.
+     */
+    private void garantir(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            encher(bytes);
+        }
+    }
+
+    private void encher(int minimo) throws IOException {
+        contabilizar();
+        buffer.compact();
+        while (buffer.position() < minimo) {
+            int lidos = canal.read(buffer);
+            if (lidos < 0) {
+                throw new EOFException("Fim inesperado dos dados");
+            }
+            fimDoBuffer += lidos;
+        }
+        buffer.flip();
+        contabilizado = 0;
+    }
+
+    private void contabilizar() {
+        ByteBuffer consumidos = buffer.duplicate();
+        consumidos.limit(buffer.position()).position(contabilizado);
+        crc.update(consumidos);
+        contabilizado = buffer.position();
+    }
+}
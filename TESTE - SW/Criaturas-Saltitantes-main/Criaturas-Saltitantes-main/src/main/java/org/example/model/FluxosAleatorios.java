@@ -0,0 +1,93 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+/**
+ * Fluxos SplitMix64 independentes, um por entidade, guardados em dois arrays
+ * de {@code long} em vez de um {@link GeradorAleatorio} por entidade: 16 bytes
+ * por fluxo, sem cabeçalho de objeto nem referência.
+ *
+ * <p>
+ * Cada fluxo produz exatamente a mesma sequência do {@link GeradorAleatorio}
+ * que substitui, e o formato gravado é o mesmo (semente e gama de cada fluxo,
+ * em ordem). Os sorteios de uma iteração saem em lote com
+ * {@link #preencher(BitSet, int, int, double[], double)}. Não é thread-safe,
+ * mas tarefas que sorteiam de intervalos disjuntos de fluxos podem rodar em
+ * paralelo.</p>
+ */
+final class FluxosAleatorios {
+
+    private final long[] sementes;
+    private final long[] gamas;
+
+    private FluxosAleatorios(long[] sementes, long[] gamas) {
+        this.sementes = sementes;
+        this.gamas = gamas;
+    }
+
+    /**
+     * @param gerador gerador do qual cada fluxo é derivado, na ordem, com
+     * {@link GeradorAleatorio#split()}
+     * @param quantidade número de fluxos
+     */
+    static FluxosAleatorios derivados(GeradorAleatorio gerador, int quantidade) {
+        long[] sementes = new long[quantidade];
+        long[] gamas = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            GeradorAleatorio fluxo = gerador.split();
+            sementes[i] = fluxo.getSemente();
+            gamas[i] = fluxo.getGama();
+        }
+        return new FluxosAleatorios(sementes, gamas);
+    }
+
+    /**
+     * @return valor uniforme em [0, 1) do fluxo {@code i}
+     */
+    double nextDouble(int i) {
+        long semente = sementes[i] + gamas[i];
+        sementes[i] = semente;
+        return (GeradorAleatorio.misturar64(semente) >>> 11) * GeradorAleatorio.UNIDADE_DOUBLE;
+    }
+
+    /**
+     * Sorteia de uma vez os uniformes de um intervalo de fluxos:
+     * {@code uniformes[i - inicio]} recebe o próximo valor do fluxo {@code i}
+     * se {@code i} estiver em {@code selecionados}, ou {@code neutro} sem
+     * sortear.
+     *
+     * @return número de fluxos sorteados
+     */
+    int preencher(BitSet selecionados, int inicio, int fim, double[] uniformes, double neutro) {
+        int sorteados = 0;
+        int proximo = selecionados.nextSetBit(inicio);
+        for (int i = inicio; i < fim; i++) {
+            if (i == proximo) {
+                uniformes[i - inicio] = nextDouble(i);
+                proximo = selecionados.nextSetBit(i + 1);
+                sorteados++;
+            } else {
+                uniformes[i - inicio] = neutro;
+            }
+        }
+        return sorteados;
+    }
+
+    void escrever(SaidaBinaria saida) throws IOException {
+        for (int i = 0; i < sementes.length; i++) {
+            saida.escreverLong(sementes[i]);
+            saida.escreverLong(gamas[i]);
+        }
+    }
+
+    static FluxosAleatorios ler(EntradaBinaria entrada, int quantidade) throws IOException {
+        long[] sementes = new long[quantidade];
+        long[] gamas = new long[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            sementes[i] = entrada.lerLong();
+            gamas[i] = entrada.lerLong();
+        }
+        return new FluxosAleatorios(sementes, gamas);
+    }
+}
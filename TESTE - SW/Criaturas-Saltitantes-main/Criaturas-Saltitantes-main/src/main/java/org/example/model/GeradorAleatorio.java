@@ -0,0 +1,94 @@
+package org.example.model;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gerador SplitMix64, com o mesmo algoritmo e as mesmas sequências de
+ * {@link java.util.SplittableRandom}, mas com o estado acessível.
+ *
+ * <p>
+ * O estado são dois {@code long} ({@link #getSemente()} e {@link #getGama()});
+ * guardá-los e recriar o gerador com
+ * {@link #GeradorAleatorio(long, long)} continua a sequência exatamente de
+ * onde parou, o que permite salvar e retomar uma simulação.</p>
+ *
+ * <p>
+ * Não é thread-safe: cada entidade tem o seu.</p>
+ */
+final class GeradorAleatorio {
+
+    private static final long GAMA_DOURADA = 0x9e3779b97f4a7c15L;
+    static final double UNIDADE_DOUBLE = 0x1.0p-53;
+
+    private long semente;
+    private final long gama;
+
+    /**
+     * Mesma sequência de {@code new SplittableRandom(semente)}.
+     */
+    GeradorAleatorio(long semente) {
+        this(semente, GAMA_DOURADA);
+    }
+
+    /**
+     * Recria um gerador a partir do estado salvo.
+     *
+     * @param gama incremento do gerador (sempre ímpar)
+     */
+    GeradorAleatorio(long semente, long gama) {
+        this.semente = semente;
+        this.gama = gama;
+    }
+
+    /**
+     * Gerador com semente imprevisível, para entidades criadas sem semente.
+     */
+    static GeradorAleatorio comSementeAleatoria() {
+        return new GeradorAleatorio(ThreadLocalRandom.current().nextLong());
+    }
+
+    long nextLong() {
+        return misturar64(proximaSemente());
+    }
+
+    /**
+     * @return valor uniforme em [0, 1)
+     */
+    double nextDouble() {
+        return (nextLong() >>> 11) * UNIDADE_DOUBLE;
+    }
+
+    /**
+     * Novo gerador com fluxo independente, derivado deste (como
+     * {@link java.util.SplittableRandom#split()}).
+     */
+    GeradorAleatorio split() {
+        return new GeradorAleatorio(nextLong(), misturarGama(proximaSemente()));
+    }
+
+    long getSemente() {
+        return semente;
+    }
+
+    long getGama() {
+        return gama;
+    }
+
+    private long proximaSemente() {
+        return semente += gama;
+    }
+
+    static long misturar64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long misturarGama(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transicoes = Long.bitCount(z ^ (z >>> 1));
+        return transicoes < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+}
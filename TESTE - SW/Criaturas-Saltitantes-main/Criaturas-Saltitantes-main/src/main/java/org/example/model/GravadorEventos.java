@@ -0,0 +1,258 @@
+package org.example.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Grava a execução de uma simulação em um registro binário somente de
+ * acréscimo, que pode ser reproduzido depois com {@link ReprodutorEventos}.
+ *
+ * <p>
+ * Cada iteração gera os eventos de moedas (formações, absorções, roubos,
+ * fusões e eliminações, ver {@link OuvinteSimulacao}) seguidos das novas posições de
+ * quem se moveu: só as criaturas cuja posição mudou, lidas direto do estado da
+ * simulação, mais clusters e guardião. A cada {@code intervaloQuadrosChave} iterações é gravado
+ * também um quadro completo ({@link QuadroSimulacao}), para que a reprodução
+ * de uma iteração qualquer comece do quadro-chave anterior em vez do início.
+ * A escrita passa por um buffer direto sobre um {@link FileChannel} e o
+ * buffer é descarregado a cada quadro-chave.</p>
+ *
+ * <p>
+ * {@link #close()} grava ao final o índice dos quadros-chave. Um registro sem
+ * índice (por exemplo, interrompido por uma falha) continua legível até a
+ * última iteração completa.</p>
+ */
+public final class GravadorEventos implements OuvinteSimulacao, Closeable {
+
+    static final int MAGICO = 0x4353_4C47; // "CSLG"
+    static final int VERSAO = 2; // 2: só as criaturas que se moveram, com o índice
+    static final int MAGICO_INDICE = 0x4353_4958; // "CSIX"
+
+    // Tipos de registro
+    static final int QUADRO = 1;
+    static final int FORMACAO = 2;
+    static final int ABSORCAO = 3;
+    static final int ROUBO = 4;
+    static final int CRIATURA_ELIMINADA = 5;
+    static final int CLUSTER_ELIMINADO = 6;
+    static final int CONCLUSAO = 7;
+    static final int ITERACAO = 8;
+    static final int INDICE = 9;
+    static final int FUSAO = 10;
+    static final int ROUBO_CLUSTER = 11;
+
+    private final Simulacao simulacao;
+    private final FileChannel canal;
+    private final SaidaBinaria saida;
+    private final int intervaloQuadrosChave;
+
+    // Posições já gravadas, para gravar a cada iteração só as que mudaram
+    private double[] posicoesGravadas;
+    private int[] indicesMovidas;
+    private double[] posicoesMovidas;
+
+    private int[] iteracoesQuadros = new int[8];
+    private long[] posicoesQuadros = new long[8];
+    private int numQuadros;
+    private int ultimaIteracao;
+    private boolean fechado;
+
+    private GravadorEventos(Simulacao simulacao, FileChannel canal, int intervaloQuadrosChave) {
+        this.simulacao = simulacao;
+        this.canal = canal;
+        this.saida = new SaidaBinaria(canal);
+        this.intervaloQuadrosChave = intervaloQuadrosChave;
+    }
+
+    /**
+     * Começa a gravar uma simulação a partir do estado atual, que vira o
+     * primeiro quadro-chave. O gravador fica registrado como ouvinte até
+     * {@link #close()}.
+     *
+     * @param simulacao Simulação a gravar
+     * @param arquivo Arquivo do registro (sobrescrito se existir)
+     * @param intervaloQuadrosChave Iterações entre quadros-chave (positivo)
+     * @return gravador já registrado na simulação
+     * @throws IOException se o arquivo não puder ser criado
+     * @throws IllegalArgumentException se o intervalo não for positivo
+     */
+    public static GravadorEventos gravar(Simulacao simulacao, Path arquivo, int intervaloQuadrosChave)
+            throws IOException {
+        if (intervaloQuadrosChave < 1) {
+            throw new IllegalArgumentException("Intervalo entre quadros-chave deve ser positivo");
+        }
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        GravadorEventos gravador = new GravadorEventos(simulacao, canal, intervaloQuadrosChave);
+        try {
+            QuadroSimulacao inicial = simulacao.capturarQuadro();
+            gravador.saida.escreverInt(MAGICO);
+            gravador.saida.escreverShort(VERSAO);
+            gravador.saida.escreverInt(inicial.getNumCriaturas());
+            gravador.saida.escreverInt(intervaloQuadrosChave);
+            gravador.gravarQuadroChave(inicial);
+            int numCriaturas = inicial.getNumCriaturas();
+            gravador.posicoesGravadas = new double[numCriaturas];
+            for (int i = 0; i < numCriaturas; i++) {
+                gravador.posicoesGravadas[i] = inicial.getPosicaoCriatura(i);
+            }
+            gravador.indicesMovidas = new int[numCriaturas];
+            gravador.posicoesMovidas = new double[numCriaturas];
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        simulacao.adicionarOuvinte(gravador);
+        return gravador;
+    }
+
+    @Override
+    public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+        try {
+            saida.escreverByte(FORMACAO);
+            saida.escreverInt(idCluster);
+            saida.escreverInt(idCriatura1);
+            saida.escreverInt(idCriatura2);
+            saida.escreverLong(moedas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+        gravarEvento(ABSORCAO, idCluster, idCriatura, moedas);
+    }
+
+    @Override
+    public void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+        gravarEvento(ROUBO, idCluster, idCriatura, quantidade);
+    }
+
+    @Override
+    public void moedasRoubadasDeCluster(int idCluster, int idRoubado, long quantidade) {
+        gravarEvento(ROUBO_CLUSTER, idCluster, idRoubado, quantidade);
+    }
+
+    @Override
+    public void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+        gravarEvento(FUSAO, idCluster, idAbsorvido, moedas);
+    }
+
+    @Override
+    public void criaturaEliminada(int idCriatura, long moedas) {
+        gravarEvento(CRIATURA_ELIMINADA, idCriatura, moedas);
+    }
+
+    @Override
+    public void clusterEliminado(int idCluster, long moedas) {
+        gravarEvento(CLUSTER_ELIMINADO, idCluster, moedas);
+    }
+
+    @Override
+    public void simulacaoConcluida(int iteracoes, boolean bemSucedida, String motivo) {
+        try {
+            saida.escreverByte(CONCLUSAO);
+            saida.escreverBoolean(bemSucedida);
+            saida.escreverTexto(motivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava as posições ao final da iteração: índice e posição de cada
+     * criatura que se moveu (na ordem dos ids), clusters e guardião. O quadro
+     * completo só é capturado nos quadros-chave.
+     */
+    @Override
+    public void iteracaoExecutada(int iteracao) {
+        try {
+            int movidas = simulacao.posicoesAlteradas(posicoesGravadas, indicesMovidas, posicoesMovidas);
+            saida.escreverByte(ITERACAO);
+            saida.escreverInt(iteracao);
+            saida.escreverInt(movidas);
+            for (int k = 0; k < movidas; k++) {
+                saida.escreverInt(indicesMovidas[k]);
+                saida.escreverDouble(posicoesMovidas[k]);
+            }
+            double[] posicoesClusters = simulacao.getPosicoesClusters();
+            saida.escreverInt(posicoesClusters.length);
+            saida.escreverDoubles(posicoesClusters, posicoesClusters.length);
+            saida.escreverDouble(simulacao.getGuardiao().getPosicao());
+            ultimaIteracao = iteracao;
+
+            if (iteracao % intervaloQuadrosChave == 0) {
+                gravarQuadroChave(simulacao.capturarQuadro());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deixa de gravar, grava o índice dos quadros-chave e fecha o arquivo.
+     *
+     * @throws IOException se a escrita falhar
+     */
+    @Override
+    public void close() throws IOException {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        simulacao.removerOuvinte(this);
+        try (canal) {
+            long posicaoIndice = saida.getPosicao();
+            saida.escreverByte(INDICE);
+            saida.escreverInt(ultimaIteracao);
+            saida.escreverInt(numQuadros);
+            saida.escreverInts(iteracoesQuadros, numQuadros);
+            saida.escreverLongs(posicoesQuadros, numQuadros);
+            saida.escreverLong(posicaoIndice);
+            saida.escreverInt(MAGICO_INDICE);
+            saida.descarregar();
+        }
+    }
+
+    private void gravarQuadroChave(QuadroSimulacao quadro) throws IOException {
+        if (numQuadros == iteracoesQuadros.length) {
+            iteracoesQuadros = Arrays.copyOf(iteracoesQuadros, numQuadros * 2);
+            posicoesQuadros = Arrays.copyOf(posicoesQuadros, numQuadros * 2);
+        }
+        iteracoesQuadros[numQuadros] = quadro.getIteracao();
+        posicoesQuadros[numQuadros] = saida.getPosicao();
+        numQuadros++;
+        ultimaIteracao = quadro.getIteracao();
+
+        saida.escreverByte(QUADRO);
+        quadro.escrever(saida);
+        saida.descarregar();
+    }
+
+    private void gravarEvento(int tipo, int id, long moedas) {
+        try {
+            saida.escreverByte(tipo);
+            saida.escreverInt(id);
+            saida.escreverLong(moedas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void gravarEvento(int tipo, int idCluster, int idCriatura, long moedas) {
+        try {
+            saida.escreverByte(tipo);
+            saida.escreverInt(idCluster);
+            saida.escreverInt(idCriatura);
+            saida.escreverLong(moedas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
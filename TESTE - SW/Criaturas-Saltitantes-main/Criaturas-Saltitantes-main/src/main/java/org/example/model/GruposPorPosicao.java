@@ -0,0 +1,149 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+/**
+ * Agrupa índices pela posição exata em ponto fixo ({@code long}), com uma
+ * tabela de espalhamento de endereçamento aberto sobre arrays primitivos: uma
+ * passada, sem ordenação e sem boxing.
+ *
+ * <p>
+ * Os índices devem ser adicionados em ordem crescente; assim os grupos ficam
+ * numerados na ordem do seu menor índice, e os membros de cada grupo saem em
+ * ordem crescente. A mesma instância pode ser reaproveitada com
+ * {@link #reiniciar(int)} para evitar alocações a cada iteração.</p>
+ */
+final class GruposPorPosicao {
+
+    private static final int VAZIO = -1;
+
+    // Tabela: chave e grupo de cada posição; VAZIO marca posição livre
+    private long[] chaves = new long[0];
+    private int[] gruposDaTabela = new int[0];
+    private int mascara;
+
+    // Grupos: primeiro e último elemento e tamanho
+    private int[] primeiroElemento = new int[0];
+    private int[] ultimoElemento = new int[0];
+    private int[] tamanhos = new int[0];
+    private int numGrupos;
+
+    // Elementos na ordem de inserção, encadeados por grupo
+    private int[] indices = new int[0];
+    private int[] proximoElemento = new int[0];
+    private int numElementos;
+
+    /**
+     * Esvazia os grupos e prepara a tabela para até {@code capacidade}
+     * elementos.
+     */
+    void reiniciar(int capacidade) {
+        int tamanhoTabela = Integer.highestOneBit(Math.max(4, capacidade) * 2 - 1) << 1;
+        if (tamanhoTabela > chaves.length) {
+            chaves = new long[tamanhoTabela];
+            gruposDaTabela = new int[tamanhoTabela];
+        }
+        mascara = tamanhoTabela - 1;
+        Arrays.fill(gruposDaTabela, 0, tamanhoTabela, VAZIO);
+        if (capacidade > indices.length) {
+            primeiroElemento = new int[capacidade];
+            ultimoElemento = new int[capacidade];
+            tamanhos = new int[capacidade];
+            indices = new int[capacidade];
+            proximoElemento = new int[capacidade];
+        }
+        numGrupos = 0;
+        numElementos = 0;
+    }
+
+    /**
+     * @param chave posição em ponto fixo
+     * @param indice índice do elemento, maior que todos os já adicionados
+     * @return grupo do elemento
+     */
+    int adicionar(long chave, int indice) {
+        int posicao = localizar(chave);
+        int grupo = gruposDaTabela[posicao];
+        int elemento = numElementos++;
+        indices[elemento] = indice;
+        proximoElemento[elemento] = VAZIO;
+        if (grupo == VAZIO) {
+            grupo = numGrupos++;
+            chaves[posicao] = chave;
+            gruposDaTabela[posicao] = grupo;
+            primeiroElemento[grupo] = elemento;
+            tamanhos[grupo] = 0;
+        } else {
+            proximoElemento[ultimoElemento[grupo]] = elemento;
+        }
+        ultimoElemento[grupo] = elemento;
+        tamanhos[grupo]++;
+        return grupo;
+    }
+
+    /**
+     * Retira todos os elementos do grupo, que continua na tabela com tamanho
+     * 0 (sem {@link #getPrimeiro(int)}).
+     */
+    void esvaziar(int grupo) {
+        primeiroElemento[grupo] = VAZIO;
+        tamanhos[grupo] = 0;
+    }
+
+    /**
+     * @return grupo da chave, ou -1 se nenhum elemento tem essa posição
+     */
+    int grupo(long chave) {
+        return gruposDaTabela[localizar(chave)];
+    }
+
+    int getNumGrupos() {
+        return numGrupos;
+    }
+
+    int getTamanho(int grupo) {
+        return tamanhos[grupo];
+    }
+
+    /**
+     * @return menor índice do grupo
+     */
+    int getPrimeiro(int grupo) {
+        return indices[primeiroElemento[grupo]];
+    }
+
+    /**
+     * @return índices do grupo, em ordem crescente
+     */
+    int[] membros(int grupo) {
+        int[] membros = new int[tamanhos[grupo]];
+        int n = 0;
+        for (int e = primeiroElemento[grupo]; e != VAZIO; e = proximoElemento[e]) {
+            membros[n++] = indices[e];
+        }
+        return membros;
+    }
+
+    /**
+     * Sondagem linear a partir do espalhamento da chave.
+     *
+     * @return posição da chave na tabela, ou a posição livre onde ela entraria
+     */
+    private int localizar(long chave) {
+        int posicao = espalhar(chave) & mascara;
+        while (gruposDaTabela[posicao] != VAZIO && chaves[posicao] != chave) {
+            posicao = (posicao + 1) & mascara;
+        }
+        return posicao;
+    }
+
+    /**
+     * Finalizador do SplitMix64: chaves vizinhas caem em posições distantes.
+     */
+    private static int espalhar(long chave) {
+        long z = chave * 0x9E37_79B9_7F4A_7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+}
@@ -1,24 +1,40 @@
 package org.example.model;
 
-import java.util.Random;
-
 public class GuardiaoHorizonte {
 
     private double posicao;
-    private int moedas;
-    private final Random random;
+    private long moedas;
+    private final GeradorAleatorio random;
 
     public GuardiaoHorizonte(double posicaoInicial) {
+        this(posicaoInicial, System.nanoTime() + 999999); // Seed única para guardião
+    }
+
+    /**
+     * @param posicaoInicial Posição inicial no horizonte
+     * @param semente Semente do gerador de movimento do guardião
+     */
+    public GuardiaoHorizonte(double posicaoInicial, long semente) {
         this.posicao = posicaoInicial;
         this.moedas = 0;
-        this.random = new Random(System.nanoTime() + 999999); // Seed única para guardião
+        this.random = new GeradorAleatorio(semente);
+    }
+
+    /**
+     * Reconstrói um guardião salvo, com o gerador no estado em que estava.
+     */
+    GuardiaoHorizonte(double posicao, long moedas, GeradorAleatorio random) {
+        this.posicao = posicao;
+        this.moedas = moedas;
+        this.random = random;
+    }
+
+    GeradorAleatorio getGerador() {
+        return random;
     }
 
     public void mover() {
-        double r = (random.nextDouble() * 2) - 1; // Valor entre -1 e 1
-        posicao = posicao + (r * posicao);
-        // Garantir que a posição fica sempre entre 0 e 100
-        posicao = Math.max(0, Math.min(100, posicao));
+        posicao = NucleoMovimento.deslocar(posicao, random.nextDouble());
     }
 
     public void eliminarCluster(Cluster cluster) {
@@ -30,6 +46,10 @@ public class GuardiaoHorizonte {
         criatura.desativar();
     }
 
+    void coletarMoedas(long quantidade) {
+        this.moedas += quantidade;
+    }
+
     public boolean temMaisMoedasQue(Criatura criatura) {
         return this.moedas > criatura.getMoedas();
     }
@@ -47,11 +67,11 @@ public class GuardiaoHorizonte {
         this.posicao = posicao;
     }
 
-    public int getMoedas() {
+    public long getMoedas() {
         return moedas;
     }
 
-    public void setMoedas(int moedas) {
+    public void setMoedas(long moedas) {
         if (moedas < 0) {
             throw new IllegalArgumentException("Moedas não podem ser negativas");
         }
@@ -0,0 +1,988 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de simulação em estrutura de arrays (structure-of-arrays).
+ *
+ * <p>
+ * Em vez de um objeto {@link Criatura} por criatura, o estado fica em arrays
+ * primitivos indexados pela posição da criatura (índice {@code i} corresponde
+ * ao id {@code i + 1}). Os clusters seguem o mesmo modelo, e os membros de cada
+ * cluster formam uma lista encadeada de índices de criaturas.</p>
+ *
+ * <p>
+ * Cada criatura sorteia de um fluxo próprio derivado da semente da simulação,
+ * guardado em arrays primitivos ({@link FluxosAleatorios}) e sorteado em lote
+ * para o buffer do movimento. Como o resultado de uma criatura não depende da ordem
+ * em que as demais se movem, o movimento pode ser feito em paralelo no
+ * {@link java.util.concurrent.ForkJoinPool} comum a partir de um limiar de
+ * criaturas ativas, com resultado idêntico ao sequencial.</p>
+ *
+ * <p>
+ * A posição 0 é absorvente: uma criatura que chega a 0 sai da partição das que
+ * se movem ({@code moveis}) e o movimento deixa de visitá-la e de sortear por
+ * ela. Continua ativa, e portanto no índice de colisões, onde as paradas
+ * ocupam o início da ordem; o guardião as alcança com a mesma consulta de
+ * sempre.</p>
+ *
+ * <p>
+ * Em ponto fixo ({@link ConfiguracaoSimulacao#comPontoFixo()}), a posição de
+ * cada criatura é um {@code long} em unidades de {@value #QUANTUM}, e o array
+ * de {@code double} é só a sua leitura. Colidir passa a ser ter a mesma
+ * posição: as criaturas são agrupadas por posição em uma passada por uma tabela
+ * de espalhamento ({@link GruposPorPosicao}), sem a ordenação do índice, que só
+ * é construído quando um roubo precisa do vizinho mais próximo. O agrupamento é
+ * feito depois do movimento: o guardião encontra as suas vítimas com uma
+ * consulta, e a detecção da iteração seguinte usa os mesmos grupos. Clusters e
+ * guardião também ficam sobre a grade de ponto fixo.</p>
+ *
+ * <p>
+ * As regras de cada passo são as mesmas de {@link Simulacao}; o motor é usado
+ * pela fachada quando a simulação é criada com
+ * {@link Simulacao#comMotorVetorial(Usuario, int, int)}.</p>
+ */
+final class MotorVetorial {
+
+    private static final double TOLERANCIA = VarreduraColisoes.TOLERANCIA;
+    private static final double DISTANCIA_MINIMA_ROUBO = 0.01;
+    private static final int SEM_MEMBRO = -1;
+    private static final int TAMANHO_BLOCO_MOVIMENTO = 4096;
+    // Móveis por bloco (1 em cada 4) a partir das quais o núcleo percorre o bloco inteiro
+    private static final int DENSIDADE_MINIMA_NUCLEO = 4;
+    private static final ThreadLocal<double[]> UNIFORMES_POR_THREAD =
+            ThreadLocal.withInitial(() -> new double[TAMANHO_BLOCO_MOVIMENTO]);
+    private static final int[] SEM_PARADAS = new int[0];
+    static final double QUANTUM = 1e-9;
+    private static final double ESCALA = 1e9; // 1 / QUANTUM, exato em double
+
+    // Criaturas
+    private final int numCriaturas;
+    private final double[] posicoes;
+    private final long[] posicoesFixas; // Em unidades de QUANTUM; null fora do ponto fixo
+    private final long[] moedas;
+    private final BitSet ativas;
+    private final BitSet moveis; // Ativas fora de 0
+    private final int[] proximoMembro;
+    private int numAtivas;
+
+    // Clusters, na ordem de formação
+    private int numClusters;
+    private int[] idsClusters;
+    private double[] posicoesClusters;
+    private long[] moedasClusters;
+    private double[] somaPosicoesMembros;
+    private int[] tamanhosClusters;
+    private int[] primeiroMembro;
+    private int[] ultimoMembro;
+    private GeradorAleatorio[] geradoresClusters;
+    private int proximoIdCluster = Cluster.PRIMEIRO_ID;
+    private double[] uniformesClusters = new double[0]; // Buffer do movimento dos clusters
+
+    private final GuardiaoHorizonte guardiao;
+
+    // Fluxos aleatórios independentes, derivados do gerador mestre da simulação,
+    // que continua derivando o fluxo de cada cluster formado
+    private final FluxosAleatorios fluxosCriaturas;
+    private final GeradorAleatorio gerador;
+    private final int limiarParalelo;
+    private final boolean fusaoClusters;
+    private final boolean colisoesEmLote;
+    private final boolean rouboPorIteracao;
+    private final OuvinteSimulacao ouvinte;
+
+    // Tabelas do ponto fixo, reaproveitadas a cada iteração
+    private final GruposPorPosicao gruposCriaturas = new GruposPorPosicao();
+    private final GruposPorPosicao gruposClusters = new GruposPorPosicao();
+    private boolean criaturasAgrupadas; // gruposCriaturas corresponde às ativas e às suas posições
+
+    // Índice de posições das criaturas ativas, construído depois do movimento e
+    // reaproveitado na detecção da iteração seguinte
+    private VarreduraColisoes indicePosicoes;
+    private int[] indicesIndexados;
+
+    /**
+     * @param posicoesIniciais posições das criaturas (o motor passa a ser dono
+     * do array)
+     * @param moedasIniciais moedas de cada criatura
+     * @param fluxosCriaturas fluxo de cada criatura
+     * @param guardiao guardião da simulação, que sorteia do próprio gerador
+     * @param gerador gerador mestre, do qual é derivado o fluxo de cada cluster
+     * @param limiarParalelo criaturas ativas a partir das quais o movimento é
+     * paralelo
+     * @param fusaoClusters se clusters na mesma posição se fundem
+     * @param colisoesEmLote se cada iteração resolve todas as colisões
+     * @param rouboPorIteracao se os clusters roubam a cada iteração
+     * @param pontoFixo se as posições são guardadas em ponto fixo (as
+     * iniciais e a do guardião são arredondadas para a grade)
+     * @param ouvinte destino dos eventos da simulação
+     */
+    MotorVetorial(double[] posicoesIniciais, long moedasIniciais, FluxosAleatorios fluxosCriaturas,
+            GuardiaoHorizonte guardiao, GeradorAleatorio gerador, int limiarParalelo, boolean fusaoClusters, boolean colisoesEmLote,
+            boolean rouboPorIteracao, boolean pontoFixo, OuvinteSimulacao ouvinte) {
+        this.numCriaturas = posicoesIniciais.length;
+        this.posicoes = posicoesIniciais;
+        this.posicoesFixas = pontoFixo ? paraPontoFixo(posicoes) : null;
+        if (pontoFixo) {
+            guardiao.setPosicao(ajustarAGrade(guardiao.getPosicao()));
+        }
+        this.moedas = new long[numCriaturas];
+        Arrays.fill(moedas, moedasIniciais);
+        this.ativas = new BitSet(numCriaturas);
+        ativas.set(0, numCriaturas);
+        this.numAtivas = numCriaturas;
+        this.moveis = moveis(posicoes, ativas);
+        this.proximoMembro = new int[numCriaturas];
+        Arrays.fill(proximoMembro, SEM_MEMBRO);
+
+        int capacidade = 8;
+        this.idsClusters = new int[capacidade];
+        this.posicoesClusters = new double[capacidade];
+        this.moedasClusters = new long[capacidade];
+        this.somaPosicoesMembros = new double[capacidade];
+        this.tamanhosClusters = new int[capacidade];
+        this.primeiroMembro = new int[capacidade];
+        this.ultimoMembro = new int[capacidade];
+        this.geradoresClusters = new GeradorAleatorio[capacidade];
+
+        this.guardiao = guardiao;
+        this.fluxosCriaturas = fluxosCriaturas;
+        this.gerador = gerador;
+        this.limiarParalelo = limiarParalelo;
+        this.fusaoClusters = fusaoClusters;
+        this.colisoesEmLote = colisoesEmLote;
+        this.rouboPorIteracao = rouboPorIteracao;
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Reconstrói um motor salvo por {@link #escrever(SaidaBinaria)}.
+     */
+    private MotorVetorial(double[] posicoes, long[] moedas, BitSet ativas, int[] proximoMembro,
+            FluxosAleatorios fluxosCriaturas, GeradorAleatorio gerador, GuardiaoHorizonte guardiao,
+            int limiarParalelo,
+            boolean fusaoClusters, boolean colisoesEmLote, boolean rouboPorIteracao, boolean pontoFixo,
+            OuvinteSimulacao ouvinte) {
+        this.numCriaturas = posicoes.length;
+        this.posicoes = posicoes;
+        this.posicoesFixas = pontoFixo ? paraPontoFixo(posicoes) : null;
+        this.moedas = moedas;
+        this.ativas = ativas;
+        this.numAtivas = ativas.cardinality();
+        this.moveis = moveis(posicoes, ativas);
+        this.proximoMembro = proximoMembro;
+        this.guardiao = guardiao;
+        this.fluxosCriaturas = fluxosCriaturas;
+        this.gerador = gerador;
+        this.limiarParalelo = limiarParalelo;
+        this.fusaoClusters = fusaoClusters;
+        this.colisoesEmLote = colisoesEmLote;
+        this.rouboPorIteracao = rouboPorIteracao;
+        this.ouvinte = ouvinte;
+    }
+
+    /**
+     * Arredonda cada posição para a grade e devolve as posições em ponto fixo.
+     * Posições já na grade (como as de um checkpoint) não mudam.
+     */
+    private static long[] paraPontoFixo(double[] posicoes) {
+        long[] fixas = new long[posicoes.length];
+        for (int i = 0; i < posicoes.length; i++) {
+            fixas[i] = paraPontoFixo(posicoes[i]);
+            posicoes[i] = fixas[i] / ESCALA;
+        }
+        return fixas;
+    }
+
+    /**
+     * @return posição em unidades de {@link #QUANTUM}; exata para posições da
+     * grade, pois {@code (q / ESCALA) * ESCALA} erra bem menos de meia unidade
+     * em [0, 100]
+     */
+    private static long paraPontoFixo(double posicao) {
+        return Math.round(posicao * ESCALA);
+    }
+
+    /**
+     * @return a posição arredondada para a grade no ponto fixo, ou ela mesma
+     */
+    private double ajustarAGrade(double posicao) {
+        return posicoesFixas != null ? paraPontoFixo(posicao) / ESCALA : posicao;
+    }
+
+    /**
+     * Colisão entre duas posições: mesma posição no ponto fixo, ou dentro da
+     * tolerância.
+     */
+    private boolean coincidem(double a, double b) {
+        return posicoesFixas != null ? paraPontoFixo(a) == paraPontoFixo(b) : Math.abs(a - b) < TOLERANCIA;
+    }
+
+    private static BitSet moveis(double[] posicoes, BitSet ativas) {
+        BitSet moveis = (BitSet) ativas.clone();
+        for (int i = ativas.nextSetBit(0); i >= 0; i = ativas.nextSetBit(i + 1)) {
+            if (posicoes[i] == 0.0) {
+                moveis.clear(i);
+            }
+        }
+        return moveis;
+    }
+
+    /**
+     * Grava todo o estado do motor, incluindo os fluxos das criaturas e dos
+     * clusters (o gerador mestre e o do guardião ficam com a fachada). O índice
+     * de posições não é gravado: é reconstruído na restauração com o mesmo
+     * resultado.
+     */
+    void escrever(SaidaBinaria saida) throws IOException {
+        saida.escreverInt(numCriaturas);
+        saida.escreverInt(limiarParalelo);
+        saida.escreverDoubles(posicoes, numCriaturas);
+        saida.escreverLongs(moedas, numCriaturas);
+        long[] palavrasAtivas = ativas.toLongArray();
+        saida.escreverInt(palavrasAtivas.length);
+        saida.escreverLongs(palavrasAtivas, palavrasAtivas.length);
+        saida.escreverInts(proximoMembro, numCriaturas);
+        fluxosCriaturas.escrever(saida);
+
+        saida.escreverInt(proximoIdCluster);
+        saida.escreverInt(numClusters);
+        saida.escreverInts(idsClusters, numClusters);
+        saida.escreverDoubles(posicoesClusters, numClusters);
+        saida.escreverLongs(moedasClusters, numClusters);
+        saida.escreverDoubles(somaPosicoesMembros, numClusters);
+        saida.escreverInts(tamanhosClusters, numClusters);
+        saida.escreverInts(primeiroMembro, numClusters);
+        saida.escreverInts(ultimoMembro, numClusters);
+        for (int c = 0; c < numClusters; c++) {
+            saida.escreverGerador(geradoresClusters[c]);
+        }
+    }
+
+    /**
+     * Lê um motor gravado por {@link #escrever(SaidaBinaria)}.
+     *
+     * @param gerador gerador mestre restaurado pela fachada
+     */
+    static MotorVetorial ler(EntradaBinaria entrada, GeradorAleatorio gerador, GuardiaoHorizonte guardiao,
+            boolean fusaoClusters,
+            boolean colisoesEmLote, boolean rouboPorIteracao, boolean pontoFixo, OuvinteSimulacao ouvinte)
+            throws IOException {
+        int numCriaturas = entrada.lerInt();
+        int limiarParalelo = entrada.lerInt();
+        double[] posicoes = new double[numCriaturas];
+        entrada.lerDoubles(posicoes, numCriaturas);
+        long[] moedas = new long[numCriaturas];
+        entrada.lerLongs(moedas, numCriaturas);
+        long[] palavrasAtivas = new long[entrada.lerInt()];
+        entrada.lerLongs(palavrasAtivas, palavrasAtivas.length);
+        int[] proximoMembro = new int[numCriaturas];
+        entrada.lerInts(proximoMembro, numCriaturas);
+        FluxosAleatorios fluxosCriaturas = FluxosAleatorios.ler(entrada, numCriaturas);
+
+        int proximoIdCluster = entrada.lerInt();
+        int numClusters = entrada.lerInt();
+        int capacidade = Math.max(8, numClusters);
+        int[] idsClusters = new int[capacidade];
+        entrada.lerInts(idsClusters, numClusters);
+        double[] posicoesClusters = new double[capacidade];
+        entrada.lerDoubles(posicoesClusters, numClusters);
+        long[] moedasClusters = new long[capacidade];
+        entrada.lerLongs(moedasClusters, numClusters);
+        double[] somaPosicoesMembros = new double[capacidade];
+        entrada.lerDoubles(somaPosicoesMembros, numClusters);
+        int[] tamanhosClusters = new int[capacidade];
+        entrada.lerInts(tamanhosClusters, numClusters);
+        int[] primeiroMembro = new int[capacidade];
+        entrada.lerInts(primeiroMembro, numClusters);
+        int[] ultimoMembro = new int[capacidade];
+        entrada.lerInts(ultimoMembro, numClusters);
+        GeradorAleatorio[] geradoresClusters = new GeradorAleatorio[capacidade];
+        for (int c = 0; c < numClusters; c++) {
+            geradoresClusters[c] = entrada.lerGerador();
+        }
+
+        MotorVetorial motor = new MotorVetorial(posicoes, moedas, BitSet.valueOf(palavrasAtivas), proximoMembro,
+                fluxosCriaturas, gerador, guardiao, limiarParalelo, fusaoClusters, colisoesEmLote,
+                rouboPorIteracao, pontoFixo, ouvinte);
+        motor.numClusters = numClusters;
+        motor.idsClusters = idsClusters;
+        motor.posicoesClusters = posicoesClusters;
+        motor.moedasClusters = moedasClusters;
+        motor.somaPosicoesMembros = somaPosicoesMembros;
+        motor.tamanhosClusters = tamanhosClusters;
+        motor.primeiroMembro = primeiroMembro;
+        motor.ultimoMembro = ultimoMembro;
+        motor.geradoresClusters = geradoresClusters;
+        motor.proximoIdCluster = proximoIdCluster;
+        return motor;
+    }
+
+    /**
+     * Executa os passos 1 a 5 de uma iteração. A verificação de término fica a
+     * cargo da fachada.
+     */
+    void executarPasso() {
+        verificarFormacaoClusters();
+        moverCriaturas();
+        moverClusters();
+        if (fusaoClusters) {
+            fundirClusters();
+        }
+        if (rouboPorIteracao) {
+            processarRouboClusters();
+        }
+        moverGuardiao();
+        processarGuardiao();
+    }
+
+    /**
+     * Mesma condição da fachada: tudo o que resta está exatamente em 0, sem
+     * colisão pendente, e só o guardião ainda se move.
+     */
+    boolean isEstatico() {
+        if (numAtivas > 1) {
+            return false;
+        }
+        if (numAtivas == 1) {
+            return numClusters == 0 && posicoes[ativas.nextSetBit(0)] == 0.0;
+        }
+        if (fusaoClusters && numClusters > 1) {
+            return false;
+        }
+        for (int c = 0; c < numClusters; c++) {
+            if (posicoesClusters[c] != 0.0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Iteração de uma configuração estática ({@link #isEstatico()}): só o
+     * guardião se move e verifica colisões.
+     */
+    void executarPassoEstatico() {
+        indicePosicoes = null;
+        indicesIndexados = null;
+        moverGuardiao();
+        processarGuardiao();
+    }
+
+    private void verificarFormacaoClusters() {
+        if (posicoesFixas != null) {
+            verificarFormacaoClustersExata();
+            return;
+        }
+        if (indicePosicoes == null) {
+            indexarCriaturasAtivas(); // Primeira iteração
+        }
+        VarreduraColisoes varredura = indicePosicoes;
+        int[] indicesAtivos = indicesIndexados;
+        indicePosicoes = null;
+        indicesIndexados = null;
+
+        if (colisoesEmLote) {
+            resolverColisoesEmLote(varredura, indicesAtivos);
+            return;
+        }
+
+        int[] par = varredura.encontrarPrimeiroPar();
+        if (par != null) {
+            formarCluster(varredura, indicesAtivos, par, varredura.candidatosNaCadeia(par[0], par[1]));
+            return; // Processar apenas um cluster por iteração
+        }
+
+        // Colisões entre criaturas e clusters existentes (apenas uma junção por iteração)
+        int[] colisao = varredura.encontrarColisaoComClusters(posicoesClusters, numClusters);
+        if (colisao != null) {
+            adicionarAoCluster(colisao[1], indicesAtivos[colisao[0]]);
+            roubarDoVizinhoMaisProximo(colisao[1], varredura, indicesAtivos);
+        }
+    }
+
+    private void formarCluster(VarreduraColisoes varredura, int[] indicesAtivos, int[] par, int[] candidatos) {
+        int cluster = formarCluster(indicesAtivos[par[0]], indicesAtivos[par[1]]);
+
+        for (int k : candidatos) {
+            int criatura = indicesAtivos[k];
+            if (ativas.get(criatura) && coincidem(posicoes[criatura], posicoesClusters[cluster])) {
+                adicionarAoCluster(cluster, criatura);
+            }
+        }
+
+        roubarDoVizinhoMaisProximo(cluster, varredura, indicesAtivos);
+    }
+
+    /**
+     * Detecção no ponto fixo, com as mesmas regras da detecção com tolerância:
+     * uma passada agrupa as criaturas ativas por posição, e os grupos com mais
+     * de uma criatura, na ordem do menor id, são as colisões. Cada grupo vira
+     * um cluster inteiro, pois todos os membros estão na mesma posição.
+     */
+    private void verificarFormacaoClustersExata() {
+        indicePosicoes = null; // Construído sob demanda, só para os roubos
+        indicesIndexados = null;
+
+        if (!criaturasAgrupadas) {
+            agruparCriaturasAtivas(); // Primeira iteração
+        }
+        criaturasAgrupadas = false; // Formações e movimento vão alterá-los
+        boolean formou = false;
+        for (int g = 0; g < gruposCriaturas.getNumGrupos() && (colisoesEmLote || !formou); g++) {
+            if (gruposCriaturas.getTamanho(g) > 1) {
+                int[] membros = gruposCriaturas.membros(g);
+                int cluster = formarCluster(membros[0], membros[1]);
+                for (int k = 2; k < membros.length; k++) {
+                    adicionarAoCluster(cluster, membros[k]);
+                }
+                roubarDoVizinhoMaisProximo(cluster);
+                formou = true;
+            }
+        }
+
+        if (colisoesEmLote || !formou) {
+            entrarEmClustersExata();
+        }
+        indicePosicoes = null;
+        indicesIndexados = null;
+    }
+
+    /**
+     * Entrada das criaturas ativas nos clusters no ponto fixo, com a mesma
+     * regra de {@link VarreduraColisoes#entrarEmClusters}: cada criatura entra
+     * no primeiro cluster na sua posição atual, e a entrada atualiza a posição
+     * do cluster antes da criatura seguinte. Os clusters são agrupados pelas
+     * posições do início da fase; os que se deslocam com uma entrada saem dos
+     * grupos e passam a ser comparados diretamente.
+     */
+    private void entrarEmClustersExata() {
+        gruposClusters.reiniciar(numClusters);
+        long[] iniciais = new long[numClusters];
+        for (int c = 0; c < numClusters; c++) {
+            iniciais[c] = paraPontoFixo(posicoesClusters[c]);
+            gruposClusters.adicionar(iniciais[c], c);
+        }
+        boolean[] deslocados = new boolean[numClusters];
+        int[] listaDeslocados = new int[numClusters];
+        int numDeslocados = 0;
+
+        for (int i = ativas.nextSetBit(0); i >= 0; i = ativas.nextSetBit(i + 1)) {
+            long posicao = posicoesFixas[i];
+            int cluster = -1;
+            int g = gruposClusters.grupo(posicao);
+            if (g >= 0) {
+                for (int c : gruposClusters.membros(g)) {
+                    if (!deslocados[c]) {
+                        cluster = c;
+                        break;
+                    }
+                }
+            }
+            for (int d = 0; d < numDeslocados; d++) {
+                int deslocado = listaDeslocados[d];
+                if ((cluster < 0 || deslocado < cluster) && paraPontoFixo(posicoesClusters[deslocado]) == posicao) {
+                    cluster = deslocado;
+                }
+            }
+            if (cluster < 0) {
+                continue;
+            }
+            adicionarAoCluster(cluster, i);
+            roubarDoVizinhoMaisProximo(cluster);
+            if (!colisoesEmLote) {
+                return; // Apenas uma entrada por iteração
+            }
+            if (!deslocados[cluster] && paraPontoFixo(posicoesClusters[cluster]) != iniciais[cluster]) {
+                deslocados[cluster] = true;
+                listaDeslocados[numDeslocados++] = cluster;
+            }
+        }
+    }
+
+    /**
+     * Agrupa as criaturas ativas pela posição em ponto fixo, em uma passada.
+     */
+    private void agruparCriaturasAtivas() {
+        gruposCriaturas.reiniciar(numAtivas);
+        for (int i = ativas.nextSetBit(0); i >= 0; i = ativas.nextSetBit(i + 1)) {
+            gruposCriaturas.adicionar(posicoesFixas[i], i);
+        }
+        criaturasAgrupadas = true;
+    }
+
+    /**
+     * Roubo com o índice construído na primeira vez que a detecção exata
+     * precisa dele.
+     */
+    private void roubarDoVizinhoMaisProximo(int cluster) {
+        if (indicePosicoes == null) {
+            indexarCriaturasAtivas();
+        }
+        roubarDoVizinhoMaisProximo(cluster, indicePosicoes, indicesIndexados);
+    }
+
+    /**
+     * Mesma regra de {@link Simulacao} para as colisões em lote: um cluster
+     * por cadeia e depois a entrada das criaturas restantes nos clusters, cada
+     * uma vendo a posição atualizada pelas entradas anteriores.
+     */
+    private void resolverColisoesEmLote(VarreduraColisoes varredura, int[] indicesAtivos) {
+        for (int[] cadeia : varredura.cadeiasDeColisao()) {
+            int[] par = varredura.primeiroParNaCadeia(cadeia);
+            formarCluster(varredura, indicesAtivos, par, VarreduraColisoes.candidatosApos(cadeia, par[1]));
+        }
+
+        // adicionarAoCluster mantém posicoesClusters atualizado a cada entrada
+        varredura.entrarEmClusters(posicoesClusters, numClusters, k -> ativas.get(indicesAtivos[k]), (k, c) -> {
+            adicionarAoCluster(c, indicesAtivos[k]);
+            roubarDoVizinhoMaisProximo(c, varredura, indicesAtivos);
+        });
+    }
+
+    /**
+     * Rouba metade das moedas da criatura ativa mais próxima do cluster,
+     * usando o índice ordenado da iteração (O(log n)).
+     */
+    private void roubarDoVizinhoMaisProximo(int cluster, VarreduraColisoes varredura, int[] indicesAtivos) {
+        int k = varredura.vizinhoMaisProximo(posicoesClusters[cluster], DISTANCIA_MINIMA_ROUBO,
+                j -> ativas.get(indicesAtivos[j]));
+
+        if (k >= 0) {
+            int maisProximo = indicesAtivos[k];
+            long metadeMoedas = moedas[maisProximo] / 2;
+            moedas[maisProximo] -= metadeMoedas;
+            moedasClusters[cluster] += metadeMoedas;
+            ouvinte.moedasRoubadas(idsClusters[cluster], maisProximo + 1, metadeMoedas);
+        }
+    }
+
+    private int formarCluster(int criatura1, int criatura2) {
+        garantirCapacidadeClusters();
+        int cluster = numClusters++;
+
+        idsClusters[cluster] = proximoIdCluster++;
+        geradoresClusters[cluster] = gerador.split(); // Como o Cluster formado pela fachada
+        posicoesClusters[cluster] = posicoes[criatura1]; // Mesma posição onde se encontraram
+        moedasClusters[cluster] = moedas[criatura1] + moedas[criatura2];
+        somaPosicoesMembros[cluster] = posicoes[criatura1] + posicoes[criatura2];
+        tamanhosClusters[cluster] = 2;
+        primeiroMembro[cluster] = criatura1;
+        ultimoMembro[cluster] = criatura2;
+        proximoMembro[criatura1] = criatura2;
+
+        desativar(criatura1);
+        desativar(criatura2);
+        ouvinte.clusterFormado(idsClusters[cluster], criatura1 + 1, criatura2 + 1, moedasClusters[cluster]);
+        return cluster;
+    }
+
+    private void adicionarAoCluster(int cluster, int criatura) {
+        moedasClusters[cluster] += moedas[criatura];
+        somaPosicoesMembros[cluster] += posicoes[criatura];
+        tamanhosClusters[cluster]++;
+        proximoMembro[ultimoMembro[cluster]] = criatura;
+        ultimoMembro[cluster] = criatura;
+
+        // Posição média dos membros
+        posicoesClusters[cluster] = ajustarAGrade(somaPosicoesMembros[cluster] / tamanhosClusters[cluster]);
+        desativar(criatura);
+        ouvinte.criaturaAbsorvida(idsClusters[cluster], criatura + 1, moedas[criatura]);
+    }
+
+    private void desativar(int criatura) {
+        if (ativas.get(criatura)) {
+            ativas.clear(criatura);
+            moveis.clear(criatura);
+            numAtivas--;
+        }
+    }
+
+    /**
+     * Ordena as posições das criaturas ativas, compactadas na ordem dos ids.
+     */
+    private void indexarCriaturasAtivas() {
+        int[] indicesAtivos = new int[numAtivas];
+        double[] posicoesAtivas = new double[numAtivas];
+        int n = 0;
+        for (int i = ativas.nextSetBit(0); i >= 0; i = ativas.nextSetBit(i + 1)) {
+            indicesAtivos[n] = i;
+            posicoesAtivas[n++] = posicoes[i];
+        }
+        indicesIndexados = indicesAtivos;
+        indicePosicoes = new VarreduraColisoes(posicoesAtivas, n);
+    }
+
+    private void moverCriaturas() {
+        int numBlocos = (numCriaturas + TAMANHO_BLOCO_MOVIMENTO - 1) / TAMANHO_BLOCO_MOVIMENTO;
+        if (numAtivas >= limiarParalelo) {
+            // Blocos disjuntos de índices: cada posição e cada fluxo são tocados por uma única tarefa.
+            // As tarefas só leem a partição; as que pararam em 0 saem dela depois, em sequência.
+            int[][] paradasPorBloco = IntStream.range(0, numBlocos).parallel()
+                    .mapToObj(this::moverBloco)
+                    .toArray(int[][]::new);
+            for (int[] paradas : paradasPorBloco) {
+                pararCriaturas(paradas);
+            }
+        } else {
+            for (int bloco = 0; bloco < numBlocos; bloco++) {
+                pararCriaturas(moverBloco(bloco));
+            }
+        }
+    }
+
+    /**
+     * Move as criaturas da partição {@code moveis} em um bloco. Primeiro o
+     * sorteio em lote: cada criatura móvel tira o seu uniforme do próprio fluxo
+     * para o buffer, e as demais ficam com o uniforme neutro. Depois o
+     * {@link NucleoMovimento} percorre o bloco inteiro, sem desvios; num bloco
+     * com poucas móveis, só elas são deslocadas.
+     *
+     * @return índices das que pararam em 0 neste movimento
+     */
+    private int[] moverBloco(int bloco) {
+        int inicio = bloco * TAMANHO_BLOCO_MOVIMENTO;
+        int fim = Math.min(numCriaturas, inicio + TAMANHO_BLOCO_MOVIMENTO);
+        int primeira = moveis.nextSetBit(inicio);
+        if (primeira < 0 || primeira >= fim) {
+            return SEM_PARADAS;
+        }
+
+        int quantidade = fim - inicio;
+        double[] uniformes = UNIFORMES_POR_THREAD.get();
+        int numMoveis = fluxosCriaturas.preencher(moveis, inicio, fim, uniformes, NucleoMovimento.UNIFORME_NEUTRO);
+        if (numMoveis * DENSIDADE_MINIMA_NUCLEO >= quantidade) {
+            NucleoMovimento.deslocar(posicoes, inicio, uniformes, quantidade);
+        } else {
+            for (int i = primeira; i >= 0 && i < fim; i = moveis.nextSetBit(i + 1)) {
+                posicoes[i] = NucleoMovimento.deslocar(posicoes[i], uniformes[i - inicio]);
+            }
+        }
+
+        int[] paradas = SEM_PARADAS;
+        int numParadas = 0;
+        for (int i = primeira; i >= 0 && i < fim; i = moveis.nextSetBit(i + 1)) {
+            if (posicoesFixas != null) {
+                posicoesFixas[i] = paraPontoFixo(posicoes[i]);
+                posicoes[i] = posicoesFixas[i] / ESCALA;
+            }
+            if (posicoes[i] == 0.0) {
+                if (numParadas == paradas.length) {
+                    paradas = Arrays.copyOf(paradas, Math.max(4, numParadas * 2));
+                }
+                paradas[numParadas++] = i;
+            }
+        }
+        return numParadas == paradas.length ? paradas : Arrays.copyOf(paradas, numParadas);
+    }
+
+    private void pararCriaturas(int[] paradas) {
+        for (int i : paradas) {
+            moveis.clear(i);
+        }
+    }
+
+    /**
+     * Mesmo esquema das criaturas: cada cluster sorteia do próprio fluxo, e os
+     * parados em 0 (como em {@link Cluster#mover()}) não sorteiam e ficam com o
+     * uniforme neutro.
+     */
+    private void moverClusters() {
+        if (uniformesClusters.length < numClusters) {
+            uniformesClusters = new double[idsClusters.length];
+        }
+        for (int c = 0; c < numClusters; c++) {
+            uniformesClusters[c] = posicoesClusters[c] != 0.0 ? geradoresClusters[c].nextDouble()
+                    : NucleoMovimento.UNIFORME_NEUTRO;
+        }
+        NucleoMovimento.deslocar(posicoesClusters, 0, uniformesClusters, numClusters);
+        if (posicoesFixas != null) {
+            for (int c = 0; c < numClusters; c++) {
+                posicoesClusters[c] = ajustarAGrade(posicoesClusters[c]);
+            }
+        }
+    }
+
+    /**
+     * Mesma regra de fusão da fachada: os membros do cluster absorvido são
+     * encadeados ao final da lista do que permanece, em O(1).
+     */
+    private void fundirClusters() {
+        if (numClusters < 2) {
+            return;
+        }
+        ConjuntosDisjuntos conjuntos;
+        if (posicoesFixas != null) {
+            long[] chaves = new long[numClusters];
+            for (int c = 0; c < numClusters; c++) {
+                chaves[c] = paraPontoFixo(posicoesClusters[c]);
+            }
+            conjuntos = ConjuntosDisjuntos.porChave(chaves, tamanhosClusters, numClusters);
+        } else {
+            conjuntos = ConjuntosDisjuntos.porProximidade(posicoesClusters, tamanhosClusters, numClusters,
+                    TOLERANCIA);
+        }
+        if (conjuntos.getNumUnioes() == 0) {
+            return;
+        }
+
+        // Primeiro as fusões, na ordem de formação; depois a compactação
+        for (int c = 0; c < numClusters; c++) {
+            int sobrevivente = conjuntos.representante(c);
+            if (sobrevivente != c) {
+                fundirCluster(sobrevivente, c);
+            }
+        }
+        int destino = 0;
+        for (int c = 0; c < numClusters; c++) {
+            if (conjuntos.representante(c) == c) {
+                if (destino != c) {
+                    copiarCluster(c, destino);
+                }
+                destino++;
+            }
+        }
+        numClusters = destino;
+    }
+
+    private void fundirCluster(int cluster, int absorvido) {
+        moedasClusters[cluster] += moedasClusters[absorvido];
+        somaPosicoesMembros[cluster] += somaPosicoesMembros[absorvido];
+        tamanhosClusters[cluster] += tamanhosClusters[absorvido];
+        proximoMembro[ultimoMembro[cluster]] = primeiroMembro[absorvido];
+        ultimoMembro[cluster] = ultimoMembro[absorvido];
+        ouvinte.clustersFundidos(idsClusters[cluster], idsClusters[absorvido], moedasClusters[absorvido]);
+    }
+
+    /**
+     * Mesma regra de {@link Simulacao} para o roubo por iteração. O índice das
+     * criaturas fica para a colisão com o guardião, pois o roubo não altera
+     * posições nem o conjunto de ativas.
+     */
+    private void processarRouboClusters() {
+        if (numClusters == 0) {
+            return;
+        }
+        indexarCriaturasAtivas();
+        VarreduraColisoes indiceCriaturas = indicePosicoes;
+        int[] indicesAtivos = indicesIndexados;
+        double[] posicoesAtuais = Arrays.copyOf(posicoesClusters, numClusters);
+        VarreduraColisoes indiceClusters = new VarreduraColisoes(posicoesAtuais, numClusters);
+
+        for (int c = 0; c < numClusters; c++) {
+            double posicao = posicoesAtuais[c];
+            int atual = c;
+            int k = indiceCriaturas.vizinhoMaisProximo(posicao, DISTANCIA_MINIMA_ROUBO, j -> true);
+            int vizinho = indiceClusters.vizinhoMaisProximo(posicao, DISTANCIA_MINIMA_ROUBO, j -> j != atual);
+            if (vizinho >= 0 && (k < 0 || Math.abs(posicoesAtuais[vizinho] - posicao)
+                    < Math.abs(indiceCriaturas.getPosicao(k) - posicao))) {
+                long metadeMoedas = moedasClusters[vizinho] / 2;
+                moedasClusters[vizinho] -= metadeMoedas;
+                moedasClusters[c] += metadeMoedas;
+                ouvinte.moedasRoubadasDeCluster(idsClusters[c], idsClusters[vizinho], metadeMoedas);
+            } else if (k >= 0) {
+                int criatura = indicesAtivos[k];
+                long metadeMoedas = moedas[criatura] / 2;
+                moedas[criatura] -= metadeMoedas;
+                moedasClusters[c] += metadeMoedas;
+                ouvinte.moedasRoubadas(idsClusters[c], criatura + 1, metadeMoedas);
+            }
+        }
+    }
+
+    private void moverGuardiao() {
+        guardiao.mover();
+        guardiao.setPosicao(ajustarAGrade(guardiao.getPosicao()));
+    }
+
+    private void processarGuardiao() {
+        double posicaoGuardiao = guardiao.getPosicao();
+
+        // Colisão com clusters, removendo-os sem alterar a ordem dos demais
+        int destino = 0;
+        for (int c = 0; c < numClusters; c++) {
+            if (coincidem(posicaoGuardiao, posicoesClusters[c])) {
+                guardiao.coletarMoedas(moedasClusters[c]);
+                ouvinte.clusterEliminado(idsClusters[c], moedasClusters[c]);
+            } else {
+                if (destino != c) {
+                    copiarCluster(c, destino);
+                }
+                destino++;
+            }
+        }
+        numClusters = destino;
+
+        if (posicoesFixas != null) {
+            eliminarCriaturasNaPosicao(paraPontoFixo(posicaoGuardiao));
+            return;
+        }
+
+        // Colisão com criaturas: consulta ao índice pós-movimento, O(log n + k)
+        if (indicePosicoes == null) {
+            indexarCriaturasAtivas(); // O roubo por iteração já indexou as mesmas posições
+        }
+        int[] eliminadas = indicePosicoes.dentroDaTolerancia(posicaoGuardiao);
+        if (eliminadas.length == 0) {
+            return;
+        }
+        int[] restantes = new int[indicesIndexados.length - eliminadas.length];
+        int n = 0;
+        int proxima = 0;
+        for (int k = 0; k < indicesIndexados.length; k++) {
+            if (proxima < eliminadas.length && eliminadas[proxima] == k) {
+                int criatura = indicesIndexados[k];
+                guardiao.coletarMoedas(moedas[criatura]);
+                desativar(criatura);
+                ouvinte.criaturaEliminada(criatura + 1, moedas[criatura]);
+                proxima++;
+            } else {
+                restantes[n++] = indicesIndexados[k];
+            }
+        }
+        indicesIndexados = restantes;
+        indicePosicoes = indicePosicoes.sem(eliminadas);
+    }
+
+    /**
+     * Colisão do guardião no ponto fixo: as criaturas são agrupadas pelas
+     * posições depois do movimento, e as vítimas são o grupo da posição do
+     * guardião, encontrado com uma consulta. O grupo eliminado é esvaziado, e
+     * os grupos restantes servem à detecção da próxima iteração.
+     */
+    private void eliminarCriaturasNaPosicao(long posicaoGuardiao) {
+        if (!criaturasAgrupadas) {
+            agruparCriaturasAtivas();
+        }
+        int grupo = gruposCriaturas.grupo(posicaoGuardiao);
+        if (grupo < 0 || gruposCriaturas.getTamanho(grupo) == 0) {
+            return;
+        }
+        for (int i : gruposCriaturas.membros(grupo)) {
+            guardiao.coletarMoedas(moedas[i]);
+            desativar(i);
+            ouvinte.criaturaEliminada(i + 1, moedas[i]);
+        }
+        gruposCriaturas.esvaziar(grupo);
+    }
+
+    private void copiarCluster(int origem, int destino) {
+        idsClusters[destino] = idsClusters[origem];
+        posicoesClusters[destino] = posicoesClusters[origem];
+        moedasClusters[destino] = moedasClusters[origem];
+        somaPosicoesMembros[destino] = somaPosicoesMembros[origem];
+        tamanhosClusters[destino] = tamanhosClusters[origem];
+        primeiroMembro[destino] = primeiroMembro[origem];
+        ultimoMembro[destino] = ultimoMembro[origem];
+        geradoresClusters[destino] = geradoresClusters[origem];
+    }
+
+    private void garantirCapacidadeClusters() {
+        if (numClusters < idsClusters.length) {
+            return;
+        }
+        int novaCapacidade = idsClusters.length * 2;
+        idsClusters = Arrays.copyOf(idsClusters, novaCapacidade);
+        posicoesClusters = Arrays.copyOf(posicoesClusters, novaCapacidade);
+        moedasClusters = Arrays.copyOf(moedasClusters, novaCapacidade);
+        somaPosicoesMembros = Arrays.copyOf(somaPosicoesMembros, novaCapacidade);
+        tamanhosClusters = Arrays.copyOf(tamanhosClusters, novaCapacidade);
+        primeiroMembro = Arrays.copyOf(primeiroMembro, novaCapacidade);
+        ultimoMembro = Arrays.copyOf(ultimoMembro, novaCapacidade);
+        geradoresClusters = Arrays.copyOf(geradoresClusters, novaCapacidade);
+    }
+
+    // Consultas usadas pela fachada
+    int getNumeroCriaturas() {
+        return numCriaturas;
+    }
+
+    int getNumeroCriaturasAtivas() {
+        return numAtivas;
+    }
+
+    int getNumeroClusters() {
+        return numClusters;
+    }
+
+    /**
+     * @return moedas da primeira criatura ativa, ou -1 se não houver nenhuma
+     */
+    long getMoedasPrimeiraAtiva() {
+        int i = ativas.nextSetBit(0);
+        return i >= 0 ? moedas[i] : -1;
+    }
+
+    /**
+     * Fotografa o estado do motor copiando os arrays, sem materializar
+     * criaturas.
+     */
+    QuadroSimulacao capturarQuadro(int iteracao, boolean concluida, boolean bemSucedida, String motivo) {
+        long[] moedasAtivas = new long[numCriaturas];
+        for (int i = ativas.nextSetBit(0); i >= 0; i = ativas.nextSetBit(i + 1)) {
+            moedasAtivas[i] = moedas[i];
+        }
+        return new QuadroSimulacao(iteracao, posicoes.clone(), moedasAtivas, (BitSet) ativas.clone(),
+                Arrays.copyOf(idsClusters, numClusters), Arrays.copyOf(posicoesClusters, numClusters),
+                Arrays.copyOf(moedasClusters, numClusters), Arrays.copyOf(tamanhosClusters, numClusters),
+                guardiao.getPosicao(), guardiao.getMoedas(), concluida, bemSucedida, motivo);
+    }
+
+    /**
+     * @see Simulacao#posicoesAlteradas(double[], int[], double[])
+     */
+    int posicoesAlteradas(double[] referencia, int[] indices, double[] novas) {
+        int alteradas = 0;
+        for (int i = 0; i < numCriaturas; i++) {
+            if (Double.doubleToRawLongBits(posicoes[i]) != Double.doubleToRawLongBits(referencia[i])) {
+                referencia[i] = posicoes[i];
+                indices[alteradas] = i;
+                novas[alteradas++] = posicoes[i];
+            }
+        }
+        return alteradas;
+    }
+
+    double[] getPosicoesClusters() {
+        return Arrays.copyOf(posicoesClusters, numClusters);
+    }
+
+    /**
+     * Cria cópias desacopladas das criaturas. Alterações nas cópias não afetam o
+     * motor.
+     */
+    List<Criatura> materializarCriaturas() {
+        List<Criatura> resultado = new ArrayList<>(numCriaturas);
+        for (int i = 0; i < numCriaturas; i++) {
+            resultado.add(materializarCriatura(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Cria cópias desacopladas dos clusters, com seus membros.
+     */
+    List<Cluster> materializarClusters() {
+        List<Cluster> resultado = new ArrayList<>(numClusters);
+        for (int c = 0; c < numClusters; c++) {
+            List<Criatura> membros = new ArrayList<>(tamanhosClusters[c]);
+            for (int m = primeiroMembro[c]; m != SEM_MEMBRO; m = proximoMembro[m]) {
+                membros.add(materializarCriatura(m));
+            }
+            resultado.add(new Cluster(idsClusters[c], posicoesClusters[c], moedasClusters[c], membros));
+        }
+        return resultado;
+    }
+
+    private Criatura materializarCriatura(int i) {
+        Criatura criatura = new Criatura(i + 1, posicoes[i]);
+        criatura.setMoedas(Math.toIntExact(moedas[i]));
+        criatura.setAtiva(ativas.get(i));
+        return criatura;
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.model;
+
+/**
+ * Regra de movimento comum a criaturas, clusters e guardião: {@code r}
+ * uniforme em [-1, 1), nova posição {@code posicao + r * posicao}, limitada ao
+ * intervalo [0, 100].
+ *
+ * <p>
+ * A versão em lote aplica a regra a um trecho de um array de posições, com os
+ * uniformes já sorteados em um buffer: um laço sem desvios, sem chamadas e sem
+ * objetos, que o compilador JIT pode vetorizar. O resultado de cada elemento é
+ * idêntico ao da versão escalar. Entidades que não devem se mover recebem
+ * {@link #UNIFORME_NEUTRO} no buffer, que dá {@code r = 0} e mantém a posição
+ * exatamente.</p>
+ */
+final class NucleoMovimento {
+
+    static final double POSICAO_MAXIMA = 100;
+
+    /**
+     * Uniforme que não move: {@code r = 0.5 * 2 - 1 = 0}, exato.
+     */
+    static final double UNIFORME_NEUTRO = 0.5;
+
+    private NucleoMovimento() {
+    }
+
+    /**
+     * @param uniforme valor uniforme em [0, 1)
+     * @return nova posição
+     */
+    static double deslocar(double posicao, double uniforme) {
+        double r = (uniforme * 2) - 1; // Valor entre -1 e 1
+        double novaPosicao = posicao + (r * posicao);
+        // Garantir que a posição fica sempre entre 0 e 100
+        return Math.max(0, Math.min(POSICAO_MAXIMA, novaPosicao));
+    }
+
+    /**
+     * Desloca {@code posicoes[inicio .. inicio + quantidade)} com
+     * {@code uniformes[0 .. quantidade)}.
+     */
+    static void deslocar(double[] posicoes, int inicio, double[] uniformes, int quantidade) {
+        for (int k = 0; k < quantidade; k++) {
+            double posicao = posicoes[inicio + k];
+            double r = (uniformes[k] * 2) - 1;
+            posicoes[inicio + k] = Math.max(0, Math.min(POSICAO_MAXIMA, posicao + (r * posicao)));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.model;
+
+/**
+ * Recebe os eventos de uma {@link Simulacao} no momento em que acontecem.
+ *
+ * <p>
+ * Todo movimento de moedas entre criaturas, clusters e guardião gera um
+ * evento com a quantidade movida, então um ouvinte pode manter contagens e
+ * totais atualizados com custo proporcional ao número de eventos, sem
+ * percorrer a população a cada iteração. Os ids de criaturas e clusters são
+ * os mesmos de {@link Criatura#getId()} e {@link Cluster#getId()}.</p>
+ *
+ * <p>
+ * Todos os métodos têm implementação vazia; basta sobrescrever os de
+ * interesse. Os eventos são entregues na thread que executa a iteração.</p>
+ */
+public interface OuvinteSimulacao {
+
+    /**
+     * Duas criaturas se encontraram e formaram um cluster.
+     *
+     * @param idCluster id do novo cluster
+     * @param idCriatura1 primeira criatura do encontro
+     * @param idCriatura2 segunda criatura do encontro
+     * @param moedas moedas das duas criaturas, agora do cluster
+     */
+    default void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+    }
+
+    /**
+     * Uma criatura foi absorvida por um cluster.
+     *
+     * @param idCluster id do cluster
+     * @param idCriatura id da criatura, agora inativa
+     * @param moedas moedas da criatura, agora do cluster
+     */
+    default void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+    }
+
+    /**
+     * Um cluster roubou moedas da criatura mais próxima.
+     *
+     * @param idCluster id do cluster
+     * @param idCriatura id da criatura roubada (continua ativa)
+     * @param quantidade moedas roubadas
+     */
+    default void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+    }
+
+    /**
+     * Um cluster roubou moedas do cluster mais próximo (apenas com
+     * {@link ConfiguracaoSimulacao#comRouboPorIteracao()}).
+     *
+     * @param idCluster id do cluster que roubou
+     * @param idRoubado id do cluster roubado
+     * @param quantidade moedas roubadas
+     */
+    default void moedasRoubadasDeCluster(int idCluster, int idRoubado, long quantidade) {
+    }
+
+    /**
+     * Dois clusters na mesma posição se fundiram (apenas com
+     * {@link ConfiguracaoSimulacao#comFusaoClusters()}).
+     *
+     * @param idCluster id do cluster que permanece
+     * @param idAbsorvido id do cluster absorvido, que deixa a simulação
+     * @param moedas moedas do cluster absorvido, agora do que permanece
+     */
+    default void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+    }
+
+    /**
+     * O guardião eliminou uma criatura.
+     *
+     * @param idCriatura id da criatura, agora inativa
+     * @param moedas moedas da criatura, agora do guardião
+     */
+    default void criaturaEliminada(int idCriatura, long moedas) {
+    }
+
+    /**
+     * O guardião eliminou um cluster.
+     *
+     * @param idCluster id do cluster, que deixa a simulação
+     * @param moedas moedas do cluster, agora do guardião
+     */
+    default void clusterEliminado(int idCluster, long moedas) {
+    }
+
+    /**
+     * A simulação terminou.
+     *
+     * @param iteracoes iterações executadas
+     * @param bemSucedida resultado da simulação
+     * @param motivo motivo da conclusão
+     */
+    default void simulacaoConcluida(int iteracoes, boolean bemSucedida, String motivo) {
+    }
+
+    /**
+     * Uma iteração terminou; é o último evento da iteração.
+     *
+     * @param iteracao número da iteração (a primeira é 1)
+     */
+    default void iteracaoExecutada(int iteracao) {
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repassa cada evento a todos os ouvintes registrados, na ordem de registro.
+ * Sem ouvintes, cada evento custa apenas a verificação da lista vazia.
+ */
+final class OuvintesSimulacao implements OuvinteSimulacao {
+
+    private final List<OuvinteSimulacao> ouvintes = new ArrayList<>();
+
+    void adicionar(OuvinteSimulacao ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    boolean remover(OuvinteSimulacao ouvinte) {
+        return ouvintes.remove(ouvinte);
+    }
+
+    @Override
+    public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).clusterFormado(idCluster, idCriatura1, idCriatura2, moedas);
+        }
+    }
+
+    @Override
+    public void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).criaturaAbsorvida(idCluster, idCriatura, moedas);
+        }
+    }
+
+    @Override
+    public void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).moedasRoubadas(idCluster, idCriatura, quantidade);
+        }
+    }
+
+    @Override
+    public void moedasRoubadasDeCluster(int idCluster, int idRoubado, long quantidade) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).moedasRoubadasDeCluster(idCluster, idRoubado, quantidade);
+        }
+    }
+
+    @Override
+    public void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).clustersFundidos(idCluster, idAbsorvido, moedas);
+        }
+    }
+
+    @Override
+    public void criaturaEliminada(int idCriatura, long moedas) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).criaturaEliminada(idCriatura, moedas);
+        }
+    }
+
+    @Override
+    public void clusterEliminado(int idCluster, long moedas) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).clusterEliminado(idCluster, moedas);
+        }
+    }
+
+    @Override
+    public void simulacaoConcluida(int iteracoes, boolean bemSucedida, String motivo) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).simulacaoConcluida(iteracoes, bemSucedida, motivo);
+        }
+    }
+
+    @Override
+    public void iteracaoExecutada(int iteracao) {
+        for (int i = 0; i < ouvintes.size(); i++) {
+            ouvintes.get(i).iteracaoExecutada(iteracao);
+        }
+    }
+}
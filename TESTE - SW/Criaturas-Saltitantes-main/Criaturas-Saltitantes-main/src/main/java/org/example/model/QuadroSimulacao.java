@@ -0,0 +1,227 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Fotografia do estado de uma simulação ao final de uma iteração, em arrays
+ * primitivos: posições e moedas das criaturas, clusters, guardião e situação
+ * da simulação.
+ *
+ * <p>
+ * As criaturas são indexadas de 0 a {@code getNumCriaturas() - 1}; a criatura
+ * de índice {@code i} tem id {@code i + 1}. Criaturas inativas mantêm a última
+ * posição e aparecem com zero moedas, já que as moedas passaram a um cluster
+ * ou ao guardião. Os clusters aparecem na ordem da simulação.</p>
+ *
+ * <p>
+ * Instâncias são imutáveis.</p>
+ */
+public final class QuadroSimulacao {
+
+    private final int iteracao;
+    private final double[] posicoesCriaturas;
+    private final long[] moedasCriaturas;
+    private final BitSet ativas;
+    private final int[] idsClusters;
+    private final double[] posicoesClusters;
+    private final long[] moedasClusters;
+    private final int[] tamanhosClusters;
+    private final double posicaoGuardiao;
+    private final long moedasGuardiao;
+    private final boolean concluida;
+    private final boolean bemSucedida;
+    private final String motivoConclusao;
+
+    /**
+     * Os arrays passam a pertencer ao quadro e não devem mais ser alterados.
+     */
+    QuadroSimulacao(int iteracao, double[] posicoesCriaturas, long[] moedasCriaturas, BitSet ativas,
+            int[] idsClusters, double[] posicoesClusters, long[] moedasClusters, int[] tamanhosClusters,
+            double posicaoGuardiao, long moedasGuardiao, boolean concluida, boolean bemSucedida,
+            String motivoConclusao) {
+        this.iteracao = iteracao;
+        this.posicoesCriaturas = posicoesCriaturas;
+        this.moedasCriaturas = moedasCriaturas;
+        this.ativas = ativas;
+        this.idsClusters = idsClusters;
+        this.posicoesClusters = posicoesClusters;
+        this.moedasClusters = moedasClusters;
+        this.tamanhosClusters = tamanhosClusters;
+        this.posicaoGuardiao = posicaoGuardiao;
+        this.moedasGuardiao = moedasGuardiao;
+        this.concluida = concluida;
+        this.bemSucedida = bemSucedida;
+        this.motivoConclusao = motivoConclusao;
+    }
+
+    /**
+     * Fotografa o estado atual de uma simulação.
+     *
+     * @param simulacao Simulação a fotografar
+     * @return quadro com o estado ao final da última iteração executada
+     */
+    public static QuadroSimulacao capturar(Simulacao simulacao) {
+        return simulacao.capturarQuadro();
+    }
+
+    void escrever(SaidaBinaria saida) throws IOException {
+        int numCriaturas = posicoesCriaturas.length;
+        int numClusters = idsClusters.length;
+        saida.escreverInt(iteracao);
+        saida.escreverInt(numCriaturas);
+        saida.escreverDoubles(posicoesCriaturas, numCriaturas);
+        saida.escreverLongs(moedasCriaturas, numCriaturas);
+        long[] palavrasAtivas = ativas.toLongArray();
+        saida.escreverInt(palavrasAtivas.length);
+        saida.escreverLongs(palavrasAtivas, palavrasAtivas.length);
+        saida.escreverInt(numClusters);
+        saida.escreverInts(idsClusters, numClusters);
+        saida.escreverDoubles(posicoesClusters, numClusters);
+        saida.escreverLongs(moedasClusters, numClusters);
+        saida.escreverInts(tamanhosClusters, numClusters);
+        saida.escreverDouble(posicaoGuardiao);
+        saida.escreverLong(moedasGuardiao);
+        saida.escreverBoolean(concluida);
+        saida.escreverBoolean(bemSucedida);
+        saida.escreverTexto(motivoConclusao);
+    }
+
+    static QuadroSimulacao ler(EntradaBinaria entrada) throws IOException {
+        int iteracao = entrada.lerInt();
+        int numCriaturas = entrada.lerInt();
+        double[] posicoesCriaturas = new double[numCriaturas];
+        entrada.lerDoubles(posicoesCriaturas, numCriaturas);
+        long[] moedasCriaturas = new long[numCriaturas];
+        entrada.lerLongs(moedasCriaturas, numCriaturas);
+        long[] palavrasAtivas = new long[entrada.lerInt()];
+        entrada.lerLongs(palavrasAtivas, palavrasAtivas.length);
+        int numClusters = entrada.lerInt();
+        int[] idsClusters = new int[numClusters];
+        entrada.lerInts(idsClusters, numClusters);
+        double[] posicoesClusters = new double[numClusters];
+        entrada.lerDoubles(posicoesClusters, numClusters);
+        long[] moedasClusters = new long[numClusters];
+        entrada.lerLongs(moedasClusters, numClusters);
+        int[] tamanhosClusters = new int[numClusters];
+        entrada.lerInts(tamanhosClusters, numClusters);
+        double posicaoGuardiao = entrada.lerDouble();
+        long moedasGuardiao = entrada.lerLong();
+        boolean concluida = entrada.lerBoolean();
+        boolean bemSucedida = entrada.lerBoolean();
+        String motivoConclusao = entrada.lerTexto();
+        return new QuadroSimulacao(iteracao, posicoesCriaturas, moedasCriaturas, BitSet.valueOf(palavrasAtivas),
+                idsClusters, posicoesClusters, moedasClusters, tamanhosClusters, posicaoGuardiao, moedasGuardiao,
+                concluida, bemSucedida, motivoConclusao);
+    }
+
+    /**
+     * @return iteração ao final da qual o quadro foi tirado (0 antes da
+     * primeira)
+     */
+    public int getIteracao() {
+        return iteracao;
+    }
+
+    public int getNumCriaturas() {
+        return posicoesCriaturas.length;
+    }
+
+    public int getNumCriaturasAtivas() {
+        return ativas.cardinality();
+    }
+
+    public double getPosicaoCriatura(int indice) {
+        return posicoesCriaturas[indice];
+    }
+
+    public long getMoedasCriatura(int indice) {
+        return moedasCriaturas[indice];
+    }
+
+    public boolean isCriaturaAtiva(int indice) {
+        Objects.checkIndex(indice, posicoesCriaturas.length);
+        return ativas.get(indice);
+    }
+
+    public int getNumClusters() {
+        return idsClusters.length;
+    }
+
+    public int getIdCluster(int indice) {
+        return idsClusters[indice];
+    }
+
+    public double getPosicaoCluster(int indice) {
+        return posicoesClusters[indice];
+    }
+
+    public long getMoedasCluster(int indice) {
+        return moedasClusters[indice];
+    }
+
+    public int getTamanhoCluster(int indice) {
+        return tamanhosClusters[indice];
+    }
+
+    public double getPosicaoGuardiao() {
+        return posicaoGuardiao;
+    }
+
+    public long getMoedasGuardiao() {
+        return moedasGuardiao;
+    }
+
+    public boolean isConcluida() {
+        return concluida;
+    }
+
+    public boolean isBemSucedida() {
+        return bemSucedida;
+    }
+
+    /**
+     * @return motivo da conclusão, ou {@code null} se a simulação continuava
+     */
+    public String getMotivoConclusao() {
+        return motivoConclusao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuadroSimulacao)) {
+            return false;
+        }
+        QuadroSimulacao outro = (QuadroSimulacao) o;
+        return iteracao == outro.iteracao
+                && Double.compare(posicaoGuardiao, outro.posicaoGuardiao) == 0
+                && moedasGuardiao == outro.moedasGuardiao
+                && concluida == outro.concluida
+                && bemSucedida == outro.bemSucedida
+                && Objects.equals(motivoConclusao, outro.motivoConclusao)
+                && ativas.equals(outro.ativas)
+                && Arrays.equals(posicoesCriaturas, outro.posicoesCriaturas)
+                && Arrays.equals(moedasCriaturas, outro.moedasCriaturas)
+                && Arrays.equals(idsClusters, outro.idsClusters)
+                && Arrays.equals(posicoesClusters, outro.posicoesClusters)
+                && Arrays.equals(moedasClusters, outro.moedasClusters)
+                && Arrays.equals(tamanhosClusters, outro.tamanhosClusters);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(iteracao, Arrays.hashCode(posicoesCriaturas), Arrays.hashCode(moedasCriaturas),
+                ativas, Arrays.hashCode(idsClusters), posicaoGuardiao, moedasGuardiao);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QuadroSimulacao[iteracao=%d, ativas=%d, clusters=%d, moedasGuardiao=%d]",
+                iteracao, getNumCriaturasAtivas(), getNumClusters(), moedasGuardiao);
+    }
+}
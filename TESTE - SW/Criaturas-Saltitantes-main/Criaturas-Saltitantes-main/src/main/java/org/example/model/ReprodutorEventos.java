@@ -0,0 +1,480 @@
+package org.example.model;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reconstrói o estado de uma simulação em qualquer iteração a partir de um
+ * registro gravado por {@link GravadorEventos}, sem executar a simulação de
+ * novo.
+ *
+ * <p>
+ * Para chegar à iteração pedida, a reprodução salta para o quadro-chave
+ * anterior mais próximo e aplica apenas os eventos e posições gravados
+ * depois dele. Se o registro não tiver o índice final (gravação
+ * interrompida), o índice é montado percorrendo o arquivo uma vez na
+ * abertura, até a última iteração completa.</p>
+ */
+public final class ReprodutorEventos implements Closeable {
+
+    private static final int TAMANHO_FINAL_INDICE = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel canal;
+    private final EntradaBinaria entrada;
+    private final int numCriaturas;
+    private final int versao;
+    private int[] iteracoesQuadros = new int[8];
+    private long[] posicoesQuadros = new long[8];
+    private int numQuadros;
+    private int ultimaIteracao;
+
+    private ReprodutorEventos(FileChannel canal) throws IOException {
+        this.canal = canal;
+        this.entrada = new EntradaBinaria(canal);
+        if (entrada.lerInt() != GravadorEventos.MAGICO) {
+            throw new IOException("Arquivo não é um registro de eventos de simulação");
+        }
+        this.versao = entrada.lerShort();
+        if (versao < 1 || versao > GravadorEventos.VERSAO) {
+            throw new IOException("Versão de registro não suportada: " + versao);
+        }
+        this.numCriaturas = entrada.lerInt();
+        entrada.lerInt(); // Intervalo entre quadros-chave, informativo
+        long inicioRegistros = entrada.getPosicao();
+        if (!lerIndice()) {
+            montarIndice(inicioRegistros);
+        }
+        if (numQuadros == 0) {
+            throw new IOException("Registro de eventos sem quadro inicial");
+        }
+    }
+
+    /**
+     * Abre um registro para reprodução.
+     *
+     * @param arquivo Registro gravado por {@link GravadorEventos}
+     * @return reprodutor pronto para consultas
+     * @throws IOException se o arquivo não puder ser lido ou não for um
+     * registro de eventos
+     */
+    public static ReprodutorEventos abrir(Path arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ);
+        try {
+            return new ReprodutorEventos(canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return iteração em que a gravação começou
+     */
+    public int getPrimeiraIteracao() {
+        return iteracoesQuadros[0];
+    }
+
+    /**
+     * @return última iteração completa no registro
+     */
+    public int getUltimaIteracao() {
+        return ultimaIteracao;
+    }
+
+    /**
+     * Reconstrói o estado ao final de uma iteração.
+     *
+     * @param iteracao Iteração desejada, entre {@link #getPrimeiraIteracao()}
+     * e {@link #getUltimaIteracao()}
+     * @return quadro igual ao que {@link QuadroSimulacao#capturar(Simulacao)}
+     * devolveria naquela iteração
+     * @throws IOException se o registro não puder ser lido
+     * @throws IllegalArgumentException se a iteração estiver fora do registro
+     */
+    public QuadroSimulacao quadroNaIteracao(int iteracao) throws IOException {
+        if (iteracao < getPrimeiraIteracao() || iteracao > ultimaIteracao) {
+            throw new IllegalArgumentException(String.format("Iteração %d fora do registro (%d-%d)",
+                    iteracao, getPrimeiraIteracao(), ultimaIteracao));
+        }
+        int busca = Arrays.binarySearch(iteracoesQuadros, 0, numQuadros, iteracao);
+        int quadro = busca >= 0 ? busca : -busca - 2;
+        posicionar(posicoesQuadros[quadro]);
+
+        Estado estado = new Estado(numCriaturas);
+        lerRegistro(estado, null);
+        while (estado.iteracao < iteracao) {
+            lerRegistro(estado, null);
+        }
+        return estado.paraQuadro();
+    }
+
+    /**
+     * Entrega a um ouvinte todos os eventos do registro, na ordem em que
+     * aconteceram.
+     *
+     * @param ouvinte Ouvinte que recebe os eventos
+     * @throws IOException se o registro não puder ser lido
+     */
+    public void reproduzir(OuvinteSimulacao ouvinte) throws IOException {
+        posicionar(posicoesQuadros[0]);
+        Estado estado = new Estado(numCriaturas);
+        lerRegistro(estado, ouvinte);
+        while (estado.iteracao < ultimaIteracao) {
+            lerRegistro(estado, ouvinte);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private boolean lerIndice() throws IOException {
+        long tamanho = canal.size();
+        if (tamanho < entrada.getPosicao() + TAMANHO_FINAL_INDICE) {
+            return false;
+        }
+        posicionar(tamanho - TAMANHO_FINAL_INDICE);
+        long posicaoIndice = entrada.lerLong();
+        if (entrada.lerInt() != GravadorEventos.MAGICO_INDICE) {
+            return false;
+        }
+        posicionar(posicaoIndice);
+        if (entrada.lerByte() != GravadorEventos.INDICE) {
+            throw new IOException("Índice do registro de eventos corrompido");
+        }
+        ultimaIteracao = entrada.lerInt();
+        numQuadros = entrada.lerInt();
+        iteracoesQuadros = new int[Math.max(1, numQuadros)];
+        posicoesQuadros = new long[Math.max(1, numQuadros)];
+        entrada.lerInts(iteracoesQuadros, numQuadros);
+        entrada.lerLongs(posicoesQuadros, numQuadros);
+        return true;
+    }
+
+    /**
+     * Percorre o registro inteiro anotando os quadros-chave, até o fim ou até
+     * um registro incompleto.
+     */
+    private void montarIndice(long inicioRegistros) throws IOException {
+        posicionar(inicioRegistros);
+        Estado estado = new Estado(numCriaturas);
+        try {
+            while (true) {
+                long posicao = entrada.getPosicao();
+                int tipo = lerRegistro(estado, null);
+                if (tipo == GravadorEventos.QUADRO) {
+                    adicionarQuadro(estado.iteracao, posicao);
+                    ultimaIteracao = estado.iteracao;
+                } else if (tipo == GravadorEventos.ITERACAO) {
+                    ultimaIteracao = estado.iteracao;
+                } else if (tipo == GravadorEventos.INDICE) {
+                    return;
+                }
+            }
+        } catch (EOFException e) {
+            // Gravação interrompida: vale até a última iteração completa
+        }
+    }
+
+    private void adicionarQuadro(int iteracao, long posicao) {
+        if (numQuadros == iteracoesQuadros.length) {
+            iteracoesQuadros = Arrays.copyOf(iteracoesQuadros, numQuadros * 2);
+            posicoesQuadros = Arrays.copyOf(posicoesQuadros, numQuadros * 2);
+        }
+        iteracoesQuadros[numQuadros] = iteracao;
+        posicoesQuadros[numQuadros] = posicao;
+        numQuadros++;
+    }
+
+    private void posicionar(long posicao) throws IOException {
+        canal.position(posicao);
+        entrada.reiniciar(posicao);
+    }
+
+    /**
+     * Lê um registro e o aplica ao estado.
+     *
+     * @return tipo do registro lido
+     */
+    private int lerRegistro(Estado estado, OuvinteSimulacao ouvinte) throws IOException {
+        int tipo = entrada.lerByte();
+        switch (tipo) {
+            case GravadorEventos.QUADRO:
+                estado.carregar(QuadroSimulacao.ler(entrada));
+                break;
+            case GravadorEventos.FORMACAO: {
+                int idCluster = entrada.lerInt();
+                int idCriatura1 = entrada.lerInt();
+                int idCriatura2 = entrada.lerInt();
+                long moedas = entrada.lerLong();
+                estado.formarCluster(idCluster, idCriatura1, idCriatura2, moedas);
+                if (ouvinte != null) {
+                    ouvinte.clusterFormado(idCluster, idCriatura1, idCriatura2, moedas);
+                }
+                break;
+            }
+            case GravadorEventos.ABSORCAO: {
+                int idCluster = entrada.lerInt();
+                int idCriatura = entrada.lerInt();
+                long moedas = entrada.lerLong();
+                estado.absorver(idCluster, idCriatura, moedas);
+                if (ouvinte != null) {
+                    ouvinte.criaturaAbsorvida(idCluster, idCriatura, moedas);
+                }
+                break;
+            }
+            case GravadorEventos.ROUBO: {
+                int idCluster = entrada.lerInt();
+                int idCriatura = entrada.lerInt();
+                long quantidade = entrada.lerLong();
+                estado.roubar(idCluster, idCriatura, quantidade);
+                if (ouvinte != null) {
+                    ouvinte.moedasRoubadas(idCluster, idCriatura, quantidade);
+                }
+                break;
+            }
+            case GravadorEventos.CRIATURA_ELIMINADA: {
+                int idCriatura = entrada.lerInt();
+                long moedas = entrada.lerLong();
+                estado.eliminarCriatura(idCriatura, moedas);
+                if (ouvinte != null) {
+                    ouvinte.criaturaEliminada(idCriatura, moedas);
+                }
+                break;
+            }
+            case GravadorEventos.ROUBO_CLUSTER: {
+                int idCluster = entrada.lerInt();
+                int idRoubado = entrada.lerInt();
+                long quantidade = entrada.lerLong();
+                estado.roubarCluster(idCluster, idRoubado, quantidade);
+                if (ouvinte != null) {
+                    ouvinte.moedasRoubadasDeCluster(idCluster, idRoubado, quantidade);
+                }
+                break;
+            }
+            case GravadorEventos.FUSAO: {
+                int idCluster = entrada.lerInt();
+                int idAbsorvido = entrada.lerInt();
+                long moedas = entrada.lerLong();
+                estado.fundir(idCluster, idAbsorvido, moedas);
+                if (ouvinte != null) {
+                    ouvinte.clustersFundidos(idCluster, idAbsorvido, moedas);
+                }
+                break;
+            }
+            case GravadorEventos.CLUSTER_ELIMINADO: {
+                int idCluster = entrada.lerInt();
+                long moedas = entrada.lerLong();
+                estado.eliminarCluster(idCluster, moedas);
+                if (ouvinte != null) {
+                    ouvinte.clusterEliminado(idCluster, moedas);
+                }
+                break;
+            }
+            case GravadorEventos.CONCLUSAO:
+                estado.concluida = true;
+                estado.bemSucedida = entrada.lerBoolean();
+                estado.motivoConclusao = entrada.lerTexto();
+                if (ouvinte != null) {
+                    ouvinte.simulacaoConcluida(estado.iteracao + 1, estado.bemSucedida, estado.motivoConclusao);
+                }
+                break;
+            case GravadorEventos.ITERACAO:
+                estado.iteracao = entrada.lerInt();
+                estado.lerPosicoes(entrada, versao);
+                if (ouvinte != null) {
+                    ouvinte.iteracaoExecutada(estado.iteracao);
+                }
+                break;
+            case GravadorEventos.INDICE:
+                break;
+            default:
+                throw new IOException("Registro de eventos corrompido: tipo " + tipo);
+        }
+        return tipo;
+    }
+
+    /**
+     * Estado reconstruído durante a reprodução.
+     */
+    private static final class Estado {
+
+        private int iteracao;
+        private final double[] posicoes;
+        private final long[] moedas;
+        private final BitSet ativas = new BitSet();
+        private final BitSet eliminadas = new BitSet();
+        private final Map<Integer, EstadoCluster> clusters = new LinkedHashMap<>();
+        private double posicaoGuardiao;
+        private long moedasGuardiao;
+        private boolean concluida;
+        private boolean bemSucedida;
+        private String motivoConclusao;
+
+        Estado(int numCriaturas) {
+            this.posicoes = new double[numCriaturas];
+            this.moedas = new long[numCriaturas];
+        }
+
+        void carregar(QuadroSimulacao quadro) {
+            iteracao = quadro.getIteracao();
+            ativas.clear();
+            eliminadas.clear();
+            for (int i = 0; i < posicoes.length; i++) {
+                posicoes[i] = quadro.getPosicaoCriatura(i);
+                moedas[i] = quadro.getMoedasCriatura(i);
+                if (quadro.isCriaturaAtiva(i)) {
+                    ativas.set(i);
+                }
+            }
+            clusters.clear();
+            for (int c = 0; c < quadro.getNumClusters(); c++) {
+                clusters.put(quadro.getIdCluster(c), new EstadoCluster(quadro.getPosicaoCluster(c),
+                        quadro.getMoedasCluster(c), quadro.getTamanhoCluster(c)));
+            }
+            posicaoGuardiao = quadro.getPosicaoGuardiao();
+            moedasGuardiao = quadro.getMoedasGuardiao();
+            concluida = quadro.isConcluida();
+            bemSucedida = quadro.isBemSucedida();
+            motivoConclusao = quadro.getMotivoConclusao();
+        }
+
+        void formarCluster(int idCluster, int idCriatura1, int idCriatura2, long moedasCluster) {
+            desativar(idCriatura1 - 1);
+            desativar(idCriatura2 - 1);
+            clusters.put(idCluster, new EstadoCluster(posicoes[idCriatura1 - 1], moedasCluster, 2));
+        }
+
+        void absorver(int idCluster, int idCriatura, long moedasCriatura) throws IOException {
+            EstadoCluster cluster = cluster(idCluster);
+            cluster.moedas += moedasCriatura;
+            cluster.tamanho++;
+            desativar(idCriatura - 1);
+        }
+
+        void roubar(int idCluster, int idCriatura, long quantidade) throws IOException {
+            cluster(idCluster).moedas += quantidade;
+            moedas[idCriatura - 1] -= quantidade;
+        }
+
+        void eliminarCriatura(int idCriatura, long moedasCriatura) {
+            moedasGuardiao += moedasCriatura;
+            desativar(idCriatura - 1);
+            eliminadas.set(idCriatura - 1);
+        }
+
+        void roubarCluster(int idCluster, int idRoubado, long quantidade) throws IOException {
+            cluster(idCluster).moedas += quantidade;
+            cluster(idRoubado).moedas -= quantidade;
+        }
+
+        void fundir(int idCluster, int idAbsorvido, long moedasAbsorvido) throws IOException {
+            EstadoCluster cluster = cluster(idCluster);
+            EstadoCluster absorvido = cluster(idAbsorvido);
+            cluster.moedas += moedasAbsorvido;
+            cluster.tamanho += absorvido.tamanho;
+            clusters.remove(idAbsorvido);
+        }
+
+        void eliminarCluster(int idCluster, long moedasCluster) throws IOException {
+            cluster(idCluster);
+            clusters.remove(idCluster);
+            moedasGuardiao += moedasCluster;
+        }
+
+        /**
+         * Aplica as posições gravadas ao final da iteração, na mesma ordem
+         * usada por {@link GravadorEventos#iteracaoExecutada(int)}. Na versão
+         * 1, a posição de toda criatura ativa ou eliminada na iteração, sem
+         * índice; a partir da 2, índice e posição só das que se moveram.
+         */
+        void lerPosicoes(EntradaBinaria entrada, int versao) throws IOException {
+            int movidas = entrada.lerInt();
+            if (versao == 1) {
+                if (movidas != ativas.cardinality() + eliminadas.cardinality()) {
+                    throw new IOException("Registro de eventos inconsistente na iteração " + iteracao);
+                }
+                for (int i = 0; i < posicoes.length; i++) {
+                    if (ativas.get(i) || eliminadas.get(i)) {
+                        posicoes[i] = entrada.lerDouble();
+                    }
+                }
+            } else {
+                if (movidas < 0 || movidas > posicoes.length) {
+                    throw new IOException("Registro de eventos inconsistente na iteração " + iteracao);
+                }
+                for (int k = 0; k < movidas; k++) {
+                    int indice = entrada.lerInt();
+                    if (indice < 0 || indice >= posicoes.length) {
+                        throw new IOException("Registro de eventos inconsistente na iteração " + iteracao);
+                    }
+                    posicoes[indice] = entrada.lerDouble();
+                }
+            }
+            eliminadas.clear();
+
+            if (entrada.lerInt() != clusters.size()) {
+                throw new IOException("Registro de eventos inconsistente na iteração " + iteracao);
+            }
+            for (EstadoCluster cluster : clusters.values()) {
+                cluster.posicao = entrada.lerDouble();
+            }
+            posicaoGuardiao = entrada.lerDouble();
+        }
+
+        QuadroSimulacao paraQuadro() {
+            int numClusters = clusters.size();
+            int[] ids = new int[numClusters];
+            double[] posicoesClusters = new double[numClusters];
+            long[] moedasClusters = new long[numClusters];
+            int[] tamanhos = new int[numClusters];
+            Iterator<Map.Entry<Integer, EstadoCluster>> it = clusters.entrySet().iterator();
+            for (int c = 0; c < numClusters; c++) {
+                Map.Entry<Integer, EstadoCluster> entrada = it.next();
+                ids[c] = entrada.getKey();
+                posicoesClusters[c] = entrada.getValue().posicao;
+                moedasClusters[c] = entrada.getValue().moedas;
+                tamanhos[c] = entrada.getValue().tamanho;
+            }
+            return new QuadroSimulacao(iteracao, posicoes.clone(), moedas.clone(), (BitSet) ativas.clone(), ids,
+                    posicoesClusters, moedasClusters, tamanhos, posicaoGuardiao, moedasGuardiao, concluida,
+                    bemSucedida, motivoConclusao);
+        }
+
+        private void desativar(int indice) {
+            ativas.clear(indice);
+            moedas[indice] = 0;
+        }
+
+        private EstadoCluster cluster(int idCluster) throws IOException {
+            EstadoCluster cluster = clusters.get(idCluster);
+            if (cluster == null) {
+                throw new IOException("Registro de eventos inconsistente: cluster " + idCluster + " desconhecido");
+            }
+            return cluster;
+        }
+    }
+
+    private static final class EstadoCluster {
+
+        private double posicao;
+        private long moedas;
+        private int tamanho;
+
+        EstadoCluster(double posicao, long moedas, int tamanho) {
+            this.posicao = posicao;
+            this.moedas = moedas;
+            this.tamanho = tamanho;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.model;
+
+/**
+ * Resumo de um bloco de iterações executado de uma vez por
+ * {@link Simulacao#executarIteracoes(int)} e métodos relacionados: quanto a
+ * simulação avançou, por que o bloco parou e o estado ao final, sem precisar
+ * consultar a simulação a cada passo.
+ *
+ * <p>
+ * Instâncias são imutáveis.</p>
+ */
+public final class ResumoExecucao {
+
+    /**
+     * Motivo pelo qual o bloco de iterações parou.
+     */
+    public enum Parada {
+        /**
+         * A simulação terminou (ver {@link ResumoExecucao#getMotivoConclusao()}).
+         */
+        CONCLUIDA,
+        /**
+         * O número de iterações pedido foi executado.
+         */
+        ITERACOES,
+        /**
+         * A condição de parada foi satisfeita.
+         */
+        CONDICAO,
+        /**
+         * O tempo disponível se esgotou.
+         */
+        TEMPO
+    }
+
+    private final int iteracoesExecutadas;
+    private final int iteracaoAtual;
+    private final Parada parada;
+    private final boolean bemSucedida;
+    private final String motivoConclusao;
+    private final int numCriaturasAtivas;
+    private final int numClusters;
+    private final long moedasGuardiao;
+
+    ResumoExecucao(int iteracoesExecutadas, Parada parada, Simulacao simulacao) {
+        this.iteracoesExecutadas = iteracoesExecutadas;
+        this.iteracaoAtual = simulacao.getIteracoes();
+        this.parada = parada;
+        this.bemSucedida = simulacao.isBemSucedida();
+        this.motivoConclusao = simulacao.getMotivoConclusao();
+        this.numCriaturasAtivas = simulacao.getNumeroCriaturasAtivas();
+        this.numClusters = simulacao.getNumeroClusters();
+        this.moedasGuardiao = simulacao.getGuardiao().getMoedas();
+    }
+
+    /**
+     * @return iterações executadas neste bloco
+     */
+    public int getIteracoesExecutadas() {
+        return iteracoesExecutadas;
+    }
+
+    /**
+     * @return total de iterações da simulação ao final do bloco
+     */
+    public int getIteracaoAtual() {
+        return iteracaoAtual;
+    }
+
+    public Parada getParada() {
+        return parada;
+    }
+
+    public boolean isConcluida() {
+        return parada == Parada.CONCLUIDA;
+    }
+
+    public boolean isBemSucedida() {
+        return bemSucedida;
+    }
+
+    /**
+     * @return motivo da conclusão, ou {@code null} se a simulação continua
+     */
+    public String getMotivoConclusao() {
+        return motivoConclusao;
+    }
+
+    public int getNumCriaturasAtivas() {
+        return numCriaturasAtivas;
+    }
+
+    public int getNumClusters() {
+        return numClusters;
+    }
+
+    public long getMoedasGuardiao() {
+        return moedasGuardiao;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResumoExecucao[executadas=%d, iteracao=%d, parada=%s, ativas=%d, clusters=%d, "
+                + "moedasGuardiao=%d]",
+                iteracoesExecutadas, iteracaoAtual, parada, numCriaturasAtivas, numClusters, moedasGuardiao);
+    }
+}
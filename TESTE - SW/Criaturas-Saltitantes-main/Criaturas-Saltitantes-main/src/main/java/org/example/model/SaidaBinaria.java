@@ -0,0 +1,174 @@
+package org.example.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Escrita binária bufferizada sobre um canal NIO, com CRC32 de tudo o que é
+ * escrito.
+ *
+ * <p>
+ * Os valores são acumulados em um buffer direto de tamanho fixo e enviados
+ * ao canal quando ele enche, então o custo de memória não depende do volume
+ * escrito. Arrays primitivos são copiados em bloco.</p>
+ */
+final class SaidaBinaria {
+
+    static final int CAPACIDADE_PADRAO = 1 << 20;
+
+    private final WritableByteChannel canal;
+    private final ByteBuffer buffer;
+    private final CRC32 crc = new CRC32();
+    private long bytesEscritos;
+
+    SaidaBinaria(WritableByteChannel canal) {
+        this(canal, CAPACIDADE_PADRAO);
+    }
+
+    SaidaBinaria(WritableByteChannel canal, int capacidade) {
+        this.canal = canal;
+        this.buffer = ByteBuffer.allocateDirect(capacidade);
+    }
+
+    void escreverByte(int valor) throws IOException {
+        garantir(Byte.BYTES);
+        buffer.put((byte) valor);
+    }
+
+    void escreverBoolean(boolean valor) throws IOException {
+        escreverByte(valor ? 1 : 0);
+    }
+
+    void escreverShort(int valor) throws IOException {
+        garantir(Short.BYTES);
+        buffer.putShort((short) valor);
+    }
+
+    void escreverInt(int valor) throws IOException {
+        garantir(Integer.BYTES);
+        buffer.putInt(valor);
+    }
+
+    void escreverLong(long valor) throws IOException {
+        garantir(Long.BYTES);
+        buffer.putLong(valor);
+    }
+
+    void escreverDouble(double valor) throws IOException {
+        garantir(Double.BYTES);
+        buffer.putDouble(valor);
+    }
+
+    /**
+     * Texto em UTF-8 precedido do tamanho; {@code null} é gravado como -1.
+     */
+    void escreverTexto(String texto) throws IOException {
+        if (texto == null) {
+            escreverInt(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverInt(bytes.length);
+        for (byte b : bytes) {
+            escreverByte(b);
+        }
+    }
+
+    void escreverGerador(GeradorAleatorio gerador) throws IOException {
+        escreverLong(gerador.getSemente());
+        escreverLong(gerador.getGama());
+    }
+
+    void escreverDoubles(double[] valores, int quantidade) throws IOException {
+        int escritos = 0;
+        while (escritos < quantidade) {
+            int cabem = Math.min(quantidade - escritos, buffer.remaining() / Double.BYTES);
+            if (cabem == 0) {
+                descarregar();
+                continue;
+            }
+            buffer.asDoubleBuffer().put(valores, escritos, cabem);
+            buffer.position(buffer.position() + cabem * Double.BYTES);
+            escritos += cabem;
+        }
+    }
+
+    void escreverLongs(long[] valores, int quantidade) throws IOException {
+        int escritos = 0;
+        while (escritos < quantidade) {
+            int cabem = Math.min(quantidade - escritos, buffer.remaining() / Long.BYTES);
+            if (cabem == 0) {
+                descarregar();
+                continue;
+            }
+            buffer.asLongBuffer().put(valores, escritos, cabem);
+            buffer.position(buffer.position() + cabem * Long.BYTES);
+            escritos += cabem;
+        }
+    }
+
+    void escreverInts(int[] valores, int quantidade) throws IOException {
+        int escritos = 0;
+        while (escritos < quantidade) {
+            int cabem = Math.min(quantidade - escritos, buffer.remaining() / Integer.BYTES);
+            if (cabem == 0) {
+                descarregar();
+                continue;
+            }
+            buffer.asIntBuffer().put(valores, escritos, cabem);
+            buffer.position(buffer.position() + cabem * Integer.BYTES);
+            escritos += cabem;
+        }
+    }
+
+    /**
+     * Envia ao canal tudo o que está no buffer.
+     */
+    void descarregar() throws IOException {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        bytesEscritos += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Descarrega o buffer e grava o CRC32 de tudo o que foi escrito (o CRC
+     * não entra no próprio cálculo).
+     */
+    void concluirComCrc() throws IOException {
+        descarregar();
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * @return posição do próximo byte a ser escrito, contando também o que
+     * ainda está no buffer
+     */
+    long getPosicao() {
+        return bytesEscritos + buffer.position();
+    }
+
+    /**
+     * @return bytes já enviados ao canal
+     */
+    long getBytesEscritos() {
+        return bytesEscritos;
+    }
+
+    private void garantir(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            descarregar();
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package org.example.model;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 public class Simulacao {
 
+    private static final double DISTANCIA_MINIMA_ROUBO = 0.01;
+
+    // Opções gravadas no checkpoint, uma por bit
+    private static final int OPCAO_FUSAO_CLUSTERS = 1;
+    private static final int OPCAO_COLISOES_EM_LOTE = 2;
+    private static final int OPCAO_ROUBO_POR_ITERACAO = 4;
+    private static final int OPCAO_PONTO_FIXO = 8;
+
     private List<Criatura> criaturas;
+    private CriaturasAtivas criaturasAtivas;
     private List<Cluster> clusters;
     private GuardiaoHorizonte guardiao;
     private Usuario usuario;
@@ -14,6 +30,20 @@ public class Simulacao {
     private boolean bemSucedida;
     private int maxIteracoes;
     private String motivoConclusao;
+    private MotorVetorial motor;
+    private final OuvintesSimulacao ouvintes = new OuvintesSimulacao();
+    private final long semente;
+    private final GeradorAleatorio gerador;
+    private boolean fusaoClusters;
+    private boolean colisoesEmLote;
+    private boolean rouboPorIteracao;
+    private boolean pontoFixo; // Só no motor vetorial
+    private int proximoIdCluster; // Ids dos clusters, próprios desta simulação
+
+    // Índice de posições construído depois do movimento (passo 5), reaproveitado
+    // na detecção da iteração seguinte se as criaturas não forem alteradas
+    private VarreduraColisoes indicePosicoes;
+    private long versaoIndexada;
 
     /**
      * Inicializa uma nova simulação com criaturas contendo 1.000.000 de moedas
@@ -25,33 +55,343 @@ public class Simulacao {
      * @throws IllegalArgumentException se parâmetros forem inválidos
      */
     public Simulacao(Usuario usuario, int numCriaturas, int maxIteracoes) {
-        if (numCriaturas < 1 || numCriaturas > 100) {
-            throw new IllegalArgumentException("Número de criaturas deve estar entre 1 e 100");
-        }
-        if (maxIteracoes < 1 || maxIteracoes > 10000) {
-            throw new IllegalArgumentException("Máximo de iterações deve estar entre 1 e 10000");
-        }
+        this(usuario, ConfiguracaoSimulacao.padrao(numCriaturas, maxIteracoes));
+    }
+
+    /**
+     * Inicializa uma simulação reproduzível: posições iniciais e todos os
+     * movimentos são derivados da semente mestre.
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param numCriaturas Número de criaturas (1-100)
+     * @param maxIteracoes Número máximo de iterações (1-10000)
+     * @param semente Semente mestre da simulação
+     * @throws IllegalArgumentException se parâmetros forem inválidos
+     */
+    public Simulacao(Usuario usuario, int numCriaturas, int maxIteracoes, long semente) {
+        this(usuario, ConfiguracaoSimulacao.padrao(numCriaturas, maxIteracoes).comSemente(semente));
+    }
+
+    /**
+     * Cria uma simulação executada pelo motor em estrutura de arrays
+     * ({@link MotorVetorial}). A API pública é a mesma, mas
+     * {@link #getCriaturas()} e {@link #getClusters()} devolvem cópias
+     * desacopladas do estado do motor.
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param numCriaturas Número de criaturas (1-100)
+     * @param maxIteracoes Número máximo de iterações (1-10000)
+     * @return simulação com motor vetorial
+     * @throws IllegalArgumentException se parâmetros forem inválidos
+     */
+    public static Simulacao comMotorVetorial(Usuario usuario, int numCriaturas, int maxIteracoes) {
+        return new Simulacao(usuario, ConfiguracaoSimulacao.padrao(numCriaturas, maxIteracoes).comMotorVetorial());
+    }
+
+    /**
+     * Inicializa uma simulação a partir de uma configuração já validada (modo
+     * padrão ou grande escala).
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param configuracao Parâmetros da simulação
+     */
+    public Simulacao(Usuario usuario, ConfiguracaoSimulacao configuracao) {
+        int numCriaturas = configuracao.getNumCriaturas();
+        boolean motorVetorial = configuracao.isMotorVetorial();
 
         this.usuario = usuario;
-        this.maxIteracoes = maxIteracoes;
+        this.maxIteracoes = configuracao.getMaxIteracoes();
         this.iteracoes = 0;
         this.concluida = false;
         this.bemSucedida = false;
+        this.fusaoClusters = configuracao.isFusaoClusters();
+        this.colisoesEmLote = configuracao.isColisoesEmLote();
+        this.rouboPorIteracao = configuracao.isRouboPorIteracao();
+        this.pontoFixo = configuracao.isPontoFixo();
+
+        // Todos os sorteios derivam da semente mestre da configuração, na mesma
+        // ordem nos dois motores: posições das criaturas e do guardião, um fluxo
+        // por criatura e o fluxo do guardião. Depois disso o gerador mestre só
+        // deriva o fluxo de cada cluster que se forma.
+        this.semente = configuracao.getSemente();
+        this.gerador = new GeradorAleatorio(semente);
+        double[] posicoesIniciais = new double[numCriaturas];
+        for (int i = 0; i < numCriaturas; i++) {
+            posicoesIniciais[i] = gerador.nextDouble() * 100;
+        }
+        double posicaoGuardiao = gerador.nextDouble() * 100;
 
         // Inicializar criaturas com 1.000.000 de moedas cada (corrigido)
         this.criaturas = new ArrayList<>();
-        for (int i = 1; i <= numCriaturas; i++) {
-            double posicao = Math.random() * 100;
-            Criatura criatura = new Criatura(i, posicao);
-            criaturas.add(criatura);
+        FluxosAleatorios fluxosCriaturas = null;
+        if (motorVetorial) {
+            fluxosCriaturas = FluxosAleatorios.derivados(gerador, numCriaturas);
+        } else {
+            for (int i = 1; i <= numCriaturas; i++) {
+                criaturas.add(new Criatura(i, posicoesIniciais[i - 1], gerador.split()));
+            }
         }
 
+        this.criaturasAtivas = new CriaturasAtivas(criaturas);
+
         // Inicializar clusters (vazio no início)
         this.clusters = new ArrayList<>();
+        this.proximoIdCluster = Cluster.PRIMEIRO_ID;
 
         // Inicializar guardião
-        double posicaoGuardiao = Math.random() * 100;
-        this.guardiao = new GuardiaoHorizonte(posicaoGuardiao);
+        this.guardiao = new GuardiaoHorizonte(posicaoGuardiao, 0, gerador.split());
+
+        if (motorVetorial) {
+            this.motor = new MotorVetorial(posicoesIniciais, 1_000_000, fluxosCriaturas, guardiao, gerador,
+                    configuracao.getLimiarParalelo(), fusaoClusters, colisoesEmLote, rouboPorIteracao, pontoFixo,
+                    ouvintes);
+        }
+    }
+
+    /**
+     * Simulação restaurada de um checkpoint; o restante do estado é preenchido
+     * por {@link #ler(EntradaBinaria, Usuario)}.
+     */
+    private Simulacao(Usuario usuario, int maxIteracoes, long semente, GeradorAleatorio gerador) {
+        this.usuario = usuario;
+        this.maxIteracoes = maxIteracoes;
+        this.semente = semente;
+        this.gerador = gerador;
+    }
+
+    /**
+     * Grava o estado completo da simulação, incluindo o estado de todos os
+     * geradores, em um checkpoint binário. Uma simulação restaurada com
+     * {@link #restaurarCheckpoint(Path, Usuario)} continua exatamente como esta
+     * continuaria.
+     *
+     * <p>
+     * O arquivo é escrito ao lado do destino e movido para o lugar só depois
+     * de completo, então um checkpoint anterior no mesmo caminho nunca fica
+     * pela metade. Ouvintes registrados não fazem parte do checkpoint.</p>
+     *
+     * @param arquivo Arquivo de destino
+     * @throws IOException se a escrita falhar
+     */
+    public void salvarCheckpoint(Path arquivo) throws IOException {
+        CheckpointSimulacao.salvar(this, arquivo);
+    }
+
+    /**
+     * Restaura uma simulação gravada por {@link #salvarCheckpoint(Path)}.
+     *
+     * @param arquivo Arquivo do checkpoint
+     * @param usuario Usuário responsável pela simulação restaurada
+     * @return simulação no estado em que foi salva, sem ouvintes
+     * @throws IOException se o arquivo não puder ser lido, estiver corrompido
+     * ou for de uma versão desconhecida
+     */
+    public static Simulacao restaurarCheckpoint(Path arquivo, Usuario usuario) throws IOException {
+        return CheckpointSimulacao.restaurar(arquivo, usuario);
+    }
+
+    private int getOpcoes() {
+        return (fusaoClusters ? OPCAO_FUSAO_CLUSTERS : 0) | (colisoesEmLote ? OPCAO_COLISOES_EM_LOTE : 0)
+                | (rouboPorIteracao ? OPCAO_ROUBO_POR_ITERACAO : 0) | (pontoFixo ? OPCAO_PONTO_FIXO : 0);
+    }
+
+    /**
+     * Grava o estado da simulação (o envelope do checkpoint fica a cargo de
+     * {@link CheckpointSimulacao}).
+     */
+    void escrever(SaidaBinaria saida) throws IOException {
+        saida.escreverLong(semente);
+        saida.escreverInt(maxIteracoes);
+        saida.escreverInt(iteracoes);
+        saida.escreverBoolean(concluida);
+        saida.escreverBoolean(bemSucedida);
+        saida.escreverTexto(motivoConclusao);
+        saida.escreverGerador(gerador);
+        saida.escreverInt(getOpcoes());
+
+        saida.escreverDouble(guardiao.getPosicao());
+        saida.escreverLong(guardiao.getMoedas());
+        saida.escreverGerador(guardiao.getGerador());
+
+        saida.escreverBoolean(motor != null);
+        if (motor != null) {
+            motor.escrever(saida);
+            return;
+        }
+
+        saida.escreverInt(proximoIdCluster);
+        Map<Criatura, Integer> indices = new IdentityHashMap<>();
+        saida.escreverInt(criaturas.size());
+        for (Criatura criatura : criaturas) {
+            indices.put(criatura, indices.size());
+            saida.escreverInt(criatura.getId());
+            saida.escreverDouble(criatura.getPosicao());
+            saida.escreverInt(criatura.getMoedas());
+            saida.escreverBoolean(criatura.isAtiva());
+            saida.escreverGerador(criatura.getGerador());
+        }
+
+        saida.escreverInt(clusters.size());
+        for (Cluster cluster : clusters) {
+            saida.escreverInt(cluster.getId());
+            saida.escreverDouble(cluster.getPosicao());
+            saida.escreverLong(cluster.getTotalMoedas());
+            saida.escreverGerador(cluster.getGerador());
+            List<Criatura> membros = cluster.getCriaturas();
+            saida.escreverInt(membros.size());
+            for (Criatura membro : membros) {
+                saida.escreverInt(indices.get(membro));
+            }
+        }
+    }
+
+    /**
+     * Lê uma simulação gravada por {@link #escrever(SaidaBinaria)}.
+     *
+     * @param versao versão do formato do checkpoint (a 1 não tem opções; a 3
+     * grava o contador de ids dos clusters e os fluxos do motor por cluster)
+     */
+    static Simulacao ler(EntradaBinaria entrada, Usuario usuario, int versao) throws IOException {
+        long semente = entrada.lerLong();
+        int maxIteracoes = entrada.lerInt();
+        int iteracoes = entrada.lerInt();
+        boolean concluida = entrada.lerBoolean();
+        boolean bemSucedida = entrada.lerBoolean();
+        String motivoConclusao = entrada.lerTexto();
+        Simulacao simulacao = new Simulacao(usuario, maxIteracoes, semente, entrada.lerGerador());
+        simulacao.iteracoes = iteracoes;
+        simulacao.concluida = concluida;
+        simulacao.bemSucedida = bemSucedida;
+        simulacao.motivoConclusao = motivoConclusao;
+        int opcoes = versao >= 2 ? entrada.lerInt() : 0;
+        simulacao.fusaoClusters = (opcoes & OPCAO_FUSAO_CLUSTERS) != 0;
+        simulacao.colisoesEmLote = (opcoes & OPCAO_COLISOES_EM_LOTE) != 0;
+        simulacao.rouboPorIteracao = (opcoes & OPCAO_ROUBO_POR_ITERACAO) != 0;
+        simulacao.pontoFixo = (opcoes & OPCAO_PONTO_FIXO) != 0;
+
+        double posicaoGuardiao = entrada.lerDouble();
+        long moedasGuardiao = entrada.lerLong();
+        simulacao.guardiao = new GuardiaoHorizonte(posicaoGuardiao, moedasGuardiao, entrada.lerGerador());
+
+        simulacao.criaturas = new ArrayList<>();
+        simulacao.clusters = new ArrayList<>();
+        if (entrada.lerBoolean()) {
+            if (versao < 3) {
+                // O motor sorteava de outros fluxos: a continuação não seria a mesma
+                throw new IOException("Checkpoint do motor vetorial anterior à versão 3 não suportado");
+            }
+            simulacao.motor = MotorVetorial.ler(entrada, simulacao.gerador, simulacao.guardiao,
+                    simulacao.fusaoClusters,
+                    simulacao.colisoesEmLote, simulacao.rouboPorIteracao, simulacao.pontoFixo, simulacao.ouvintes);
+            simulacao.criaturasAtivas = new CriaturasAtivas(simulacao.criaturas);
+            return simulacao;
+        }
+
+        // Até a versão 2 os ids vinham de um contador global, e só os maiores importam
+        simulacao.proximoIdCluster = versao >= 3 ? entrada.lerInt() : Cluster.PRIMEIRO_ID;
+        int numCriaturas = entrada.lerInt();
+        for (int i = 0; i < numCriaturas; i++) {
+            int id = entrada.lerInt();
+            double posicao = entrada.lerDouble();
+            int moedas = entrada.lerInt();
+            boolean ativa = entrada.lerBoolean();
+            simulacao.criaturas.add(new Criatura(id, posicao, moedas, ativa, entrada.lerGerador()));
+        }
+        simulacao.criaturasAtivas = new CriaturasAtivas(simulacao.criaturas);
+
+        int numClusters = entrada.lerInt();
+        for (int c = 0; c < numClusters; c++) {
+            int id = entrada.lerInt();
+            double posicao = entrada.lerDouble();
+            long totalMoedas = entrada.lerLong();
+            GeradorAleatorio geradorCluster = entrada.lerGerador();
+            int tamanho = entrada.lerInt();
+            List<Criatura> membros = new ArrayList<>(tamanho);
+            for (int m = 0; m < tamanho; m++) {
+                int indice = entrada.lerInt();
+                if (indice < 0 || indice >= numCriaturas) {
+                    throw new IOException("Checkpoint corrompido: membro de cluster inválido");
+                }
+                membros.add(simulacao.criaturas.get(indice));
+            }
+            simulacao.clusters.add(new Cluster(id, posicao, totalMoedas, membros, geradorCluster));
+            simulacao.proximoIdCluster = Math.max(simulacao.proximoIdCluster, id + 1);
+        }
+        return simulacao;
+    }
+
+    /**
+     * @see QuadroSimulacao#capturar(Simulacao)
+     */
+    QuadroSimulacao capturarQuadro() {
+        if (motor != null) {
+            return motor.capturarQuadro(iteracoes, concluida, bemSucedida, motivoConclusao);
+        }
+        int numCriaturas = criaturas.size();
+        double[] posicoes = new double[numCriaturas];
+        long[] moedas = new long[numCriaturas];
+        BitSet ativas = new BitSet(numCriaturas);
+        for (int i = 0; i < numCriaturas; i++) {
+            Criatura criatura = criaturas.get(i);
+            posicoes[i] = criatura.getPosicao();
+            if (criatura.isAtiva()) {
+                moedas[i] = criatura.getMoedas();
+                ativas.set(i);
+            }
+        }
+        int numClusters = clusters.size();
+        int[] ids = new int[numClusters];
+        double[] posicoesClusters = new double[numClusters];
+        long[] moedasClusters = new long[numClusters];
+        int[] tamanhos = new int[numClusters];
+        for (int c = 0; c < numClusters; c++) {
+            Cluster cluster = clusters.get(c);
+            ids[c] = cluster.getId();
+            posicoesClusters[c] = cluster.getPosicao();
+            moedasClusters[c] = cluster.getTotalMoedas();
+            tamanhos[c] = cluster.getTamanho();
+        }
+        return new QuadroSimulacao(iteracoes, posicoes, moedas, ativas, ids, posicoesClusters, moedasClusters,
+                tamanhos, guardiao.getPosicao(), guardiao.getMoedas(), concluida, bemSucedida, motivoConclusao);
+    }
+
+    /**
+     * Criaturas cuja posição mudou desde {@code referencia}, lidas direto do
+     * estado, sem fotografar a simulação: o índice de cada uma vai para
+     * {@code indices} e a nova posição para {@code novas} e para
+     * {@code referencia}. Usado pelo {@link GravadorEventos} para gravar só
+     * quem se moveu.
+     *
+     * @return número de criaturas cuja posição mudou
+     */
+    int posicoesAlteradas(double[] referencia, int[] indices, double[] novas) {
+        if (motor != null) {
+            return motor.posicoesAlteradas(referencia, indices, novas);
+        }
+        int alteradas = 0;
+        for (int i = 0; i < criaturas.size(); i++) {
+            double posicao = criaturas.get(i).getPosicao();
+            if (Double.doubleToRawLongBits(posicao) != Double.doubleToRawLongBits(referencia[i])) {
+                referencia[i] = posicao;
+                indices[alteradas] = i;
+                novas[alteradas++] = posicao;
+            }
+        }
+        return alteradas;
+    }
+
+    /**
+     * @return posições dos clusters, na ordem da simulação
+     */
+    double[] getPosicoesClusters() {
+        if (motor != null) {
+            return motor.getPosicoesClusters();
+        }
+        double[] posicoes = new double[clusters.size()];
+        for (int c = 0; c < posicoes.length; c++) {
+            posicoes[c] = clusters.get(c).getPosicao();
+        }
+        return posicoes;
     }
 
     public boolean executarIteracao() {
@@ -61,6 +401,19 @@ public class Simulacao {
 
         iteracoes++;
 
+        if (configuracaoEstatica()) {
+            executarPassoEstatico();
+            concluirIteracao();
+            return !concluida;
+        }
+
+        if (motor != null) {
+            // Passos 1 a 5 executados sobre os arrays do motor
+            motor.executarPasso();
+            concluirIteracao();
+            return !concluida;
+        }
+
         // 1. Verificar formação de novos clusters ANTES do movimento
         verificarFormacaoClusters();
 
@@ -75,6 +428,11 @@ public class Simulacao {
             cluster.mover();
         }
 
+        // 3.1. Fundir clusters que terminaram o movimento na mesma posição
+        if (fusaoClusters) {
+            fundirClusters();
+        }
+
         // 4. Processar roubo de moedas pelos clusters
         processarRouboClusters();
 
@@ -83,141 +441,479 @@ public class Simulacao {
         processarGuardiao();
 
         // 6. Verificar condições de término
-        verificarCondicaoTermino();
+        concluirIteracao();
 
         return !concluida;
     }
 
-    private List<Criatura> getCriaturasAtivas() {
-        return criaturas.stream()
-                .filter(Criatura::isAtiva)
-                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    private void concluirIteracao() {
+        verificarCondicaoTermino();
+        notificarSeConcluida();
+        ouvintes.iteracaoExecutada(iteracoes);
     }
 
-    private void verificarFormacaoClusters() {
+    /**
+     * Indica se a configuração é estática: toda criatura ativa e todo cluster
+     * estão exatamente na posição 0, que é absorvente ({@code posicao + r *
+     * posicao} continua 0), e nenhuma colisão está pendente (no máximo uma
+     * criatura e, nesse caso, nenhum cluster; com fusão, no máximo um
+     * cluster). Daí em diante nada se forma, se move ou é roubado: só o
+     * guardião se move, até coletar tudo ao passar a menos da tolerância de 0
+     * ou até o máximo de iterações.
+     *
+     * <p>
+     * Verificada no início de cada iteração, pois criaturas e clusters podem
+     * ser alterados por fora entre iterações.</p>
+     */
+    private boolean configuracaoEstatica() {
+        if (motor != null) {
+            return motor.isEstatico();
+        }
         List<Criatura> criaturasAtivas = getCriaturasAtivas();
-        List<Criatura> processadas = new ArrayList<>();
-
-        for (int i = 0; i < criaturasAtivas.size(); i++) {
-            Criatura c1 = criaturasAtivas.get(i);
-            if (processadas.contains(c1)) {
-                continue;
+        if (criaturasAtivas.size() > 1) {
+            return false;
+        }
+        if (criaturasAtivas.size() == 1) {
+            return clusters.isEmpty() && criaturasAtivas.get(0).getPosicao() == 0.0;
+        }
+        if (fusaoClusters && clusters.size() > 1) {
+            return false;
+        }
+        for (Cluster cluster : clusters) {
+            if (cluster.getPosicao() != 0.0) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            for (int j = i + 1; j < criaturasAtivas.size(); j++) {
-                Criatura c2 = criaturasAtivas.get(j);
-                if (processadas.contains(c2)) {
-                    continue;
-                }
+    /**
+     * Iteração de uma configuração estática: apenas o movimento do guardião e
+     * a sua colisão com o que está em 0. Os geradores das entidades paradas
+     * não são avançados, pois nenhum sorteio as tira de 0.
+     */
+    private void executarPassoEstatico() {
+        if (motor != null) {
+            motor.executarPassoEstatico();
+        } else {
+            guardiao.mover();
+            processarGuardiao();
+        }
+    }
 
-                // Verificar se estão na mesma posição (com pequena tolerância)
-                if (Math.abs(c1.getPosicao() - c2.getPosicao()) < 0.000000001) {
-                    // Formar novo cluster
-                    Cluster novoCluster = new Cluster(c1, c2);
-                    clusters.add(novoCluster);
-
-                    processadas.add(c1);
-                    processadas.add(c2);
-
-                    // Verificar se há mais criaturas na mesma posição
-                    for (int k = j + 1; k < criaturasAtivas.size(); k++) {
-                        Criatura c3 = criaturasAtivas.get(k);
-                        if (!processadas.contains(c3) && c3.isAtiva()
-                                && Math.abs(c3.getPosicao() - novoCluster.getPosicao()) < 0.000000001) {
-                            novoCluster.adicionarCriatura(c3);
-                            processadas.add(c3);
-                        }
-                    }
-
-                    // Após formar o cluster, roubar metade das moedas da criatura mais próxima
-                    Criatura vizinhoMaisProximo = encontrarVizinhoMaisProximoParaCluster(novoCluster, processadas);
-                    if (vizinhoMaisProximo != null) {
-                        int metadeMoedas = vizinhoMaisProximo.getMoedas() / 2;
-                        int moedasRoubadas = vizinhoMaisProximo.removerMoedas(metadeMoedas);
-                        novoCluster.setTotalMoedas(novoCluster.getTotalMoedas() + moedasRoubadas);
-                    }
-
-                    return; // Processar apenas um cluster por iteração
-                }
-            }
+    /**
+     * Registra um ouvinte para os eventos desta simulação.
+     *
+     * @param ouvinte Ouvinte a registrar
+     */
+    public void adicionarOuvinte(OuvinteSimulacao ouvinte) {
+        if (ouvinte == null) {
+            throw new NullPointerException("Ouvinte não pode ser nulo");
         }
+        ouvintes.adicionar(ouvinte);
+    }
 
-        // Verificar também colisões entre criaturas e clusters existentes
-        verificarColisoesCriaturasComClusters();
+    /**
+     * @param ouvinte Ouvinte a remover
+     * @return {@code true} se o ouvinte estava registrado
+     */
+    public boolean removerOuvinte(OuvinteSimulacao ouvinte) {
+        return ouvintes.remover(ouvinte);
     }
 
-    private void verificarColisoesCriaturasComClusters() {
-        List<Criatura> criaturasAtivas = getCriaturasAtivas();
+    private void notificarSeConcluida() {
+        if (concluida) {
+            ouvintes.simulacaoConcluida(iteracoes, bemSucedida, motivoConclusao);
+        }
+    }
 
-        for (Criatura criatura : criaturasAtivas) {
-            for (Cluster cluster : new ArrayList<>(clusters)) {
-                if (Math.abs(criatura.getPosicao() - cluster.getPosicao()) < 0.000000001) {
-                    // Criatura se junta ao cluster existente
-                    cluster.adicionarCriatura(criatura);
-
-                    // Roubar metade das moedas da criatura mais próxima
-                    Criatura vizinhoMaisProximo = encontrarVizinhoMaisProximoParaCluster(cluster, List.of(criatura));
-                    if (vizinhoMaisProximo != null) {
-                        int metadeMoedas = vizinhoMaisProximo.getMoedas() / 2;
-                        int moedasRoubadas = vizinhoMaisProximo.removerMoedas(metadeMoedas);
-                        cluster.setTotalMoedas(cluster.getTotalMoedas() + moedasRoubadas);
-                    }
-                    return; // Processar apenas uma junção por iteração
+    /**
+     * Executa até {@code quantidade} iterações seguidas, parando antes se a
+     * simulação terminar.
+     *
+     * @param quantidade Número máximo de iterações (não negativo)
+     * @return resumo do bloco executado
+     * @throws IllegalArgumentException se quantidade for negativa
+     */
+    public ResumoExecucao executarIteracoes(int quantidade) {
+        if (quantidade < 0) {
+            throw new IllegalArgumentException("Quantidade de iterações não pode ser negativa");
+        }
+        return executarBloco(quantidade, null, Long.MAX_VALUE);
+    }
+
+    /**
+     * Executa iterações até que a condição seja satisfeita (verificada após
+     * cada iteração), a simulação termine ou {@code maxIteracoes} sejam
+     * executadas.
+     *
+     * @param condicao Condição de parada, avaliada sobre esta simulação
+     * @param maxIteracoes Número máximo de iterações do bloco (não negativo)
+     * @return resumo do bloco executado
+     */
+    public ResumoExecucao executarAte(Predicate<Simulacao> condicao, int maxIteracoes) {
+        if (condicao == null) {
+            throw new NullPointerException("Condição não pode ser nula");
+        }
+        if (maxIteracoes < 0) {
+            throw new IllegalArgumentException("Quantidade de iterações não pode ser negativa");
+        }
+        return executarBloco(maxIteracoes, condicao, Long.MAX_VALUE);
+    }
+
+    /**
+     * Executa iterações até esgotar o tempo disponível ou a simulação
+     * terminar. A iteração em andamento quando o tempo acaba é concluída.
+     *
+     * @param tempo Tempo disponível para o bloco
+     * @return resumo do bloco executado
+     */
+    public ResumoExecucao executarPor(Duration tempo) {
+        if (tempo == null) {
+            throw new NullPointerException("Tempo não pode ser nulo");
+        }
+        long nanos = tempo.isNegative() ? 0 : saturarNanos(tempo);
+        return executarBloco(Integer.MAX_VALUE, null, nanos);
+    }
+
+    private static long saturarNanos(Duration tempo) {
+        try {
+            return tempo.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private ResumoExecucao executarBloco(int quantidade, Predicate<Simulacao> condicao, long tempoNanos) {
+        long inicio = tempoNanos == Long.MAX_VALUE ? 0 : System.nanoTime();
+        int executadas = 0;
+        ResumoExecucao.Parada parada = null;
+        while (parada == null) {
+            if (!concluida && condicao == null && tempoNanos == Long.MAX_VALUE
+                    && executadas < quantidade && configuracaoEstatica()) {
+                // A configuração continua estática até o fim: avança direto, sem reverificá-la
+                while (!concluida && executadas < quantidade) {
+                    iteracoes++;
+                    executarPassoEstatico();
+                    concluirIteracao();
+                    executadas++;
+                }
+            }
+            if (concluida) {
+                parada = ResumoExecucao.Parada.CONCLUIDA;
+            } else if (executadas >= quantidade) {
+                parada = ResumoExecucao.Parada.ITERACOES;
+            } else if (tempoNanos != Long.MAX_VALUE && System.nanoTime() - inicio >= tempoNanos) {
+                parada = ResumoExecucao.Parada.TEMPO;
+            } else {
+                executarIteracao();
+                executadas++;
+                if (!concluida && condicao != null && condicao.test(this)) {
+                    parada = ResumoExecucao.Parada.CONDICAO;
                 }
             }
         }
+        return new ResumoExecucao(executadas, parada, this);
     }
 
-    private Criatura encontrarVizinhoMaisProximoParaCluster(Cluster cluster, List<Criatura> excluir) {
+    /**
+     * Conjunto vivo das criaturas ativas, sem cópia. Criaturas desativadas
+     * durante um passo continuam na lista (inativas) até a próxima chamada.
+     */
+    private List<Criatura> getCriaturasAtivas() {
+        criaturasAtivas.compactar();
+        return criaturasAtivas;
+    }
+
+    private void verificarFormacaoClusters() {
         List<Criatura> criaturasAtivas = getCriaturasAtivas();
-        Criatura maisProximo = null;
-        double menorDistancia = Double.MAX_VALUE;
+        VarreduraColisoes varredura = indicePosicoes;
+        if (!indiceValidoPara(criaturasAtivas)) {
+            // Ordena as posições uma vez e encontra o mesmo par que a comparação de todos os pares
+            varredura = indexar(criaturasAtivas);
+        }
+        indicePosicoes = null;
 
-        for (Criatura criatura : criaturasAtivas) {
-            if (excluir.contains(criatura)) {
-                continue;
-            }
+        if (colisoesEmLote) {
+            resolverColisoesEmLote(criaturasAtivas, varredura);
+            return;
+        }
+
+        int[] par = varredura.encontrarPrimeiroPar();
+        if (par != null) {
+            formarCluster(criaturasAtivas, varredura, par, varredura.candidatosNaCadeia(par[0], par[1]));
+            return; // Processar apenas um cluster por iteração
+        }
+
+        // Verificar também colisões entre criaturas e clusters existentes
+        verificarColisoesCriaturasComClusters(criaturasAtivas, varredura);
+    }
+
+    /**
+     * Forma um cluster com o par, absorve os candidatos na mesma posição e
+     * rouba do vizinho mais próximo.
+     */
+    private void formarCluster(List<Criatura> criaturasAtivas, VarreduraColisoes varredura, int[] par,
+            int[] candidatos) {
+        Criatura c1 = criaturasAtivas.get(par[0]);
+        Criatura c2 = criaturasAtivas.get(par[1]);
+
+        // Formar novo cluster
+        Cluster novoCluster = new Cluster(proximoIdCluster++, c1, c2, gerador.split());
+        clusters.add(novoCluster);
+        ouvintes.clusterFormado(novoCluster.getId(), c1.getId(), c2.getId(), novoCluster.getTotalMoedas());
 
-            double distancia = Math.abs(criatura.getPosicao() - cluster.getPosicao());
-            if (distancia > 0.01 && distancia < menorDistancia) {
-                menorDistancia = distancia;
-                maisProximo = criatura;
+        // Verificar se há mais criaturas na mesma posição
+        for (int k : candidatos) {
+            Criatura c3 = criaturasAtivas.get(k);
+            if (c3.isAtiva()
+                    && Math.abs(c3.getPosicao() - novoCluster.getPosicao()) < VarreduraColisoes.TOLERANCIA) {
+                absorver(novoCluster, c3);
             }
         }
 
-        return maisProximo;
+        // Após formar o cluster, roubar metade das moedas da criatura mais próxima
+        // (as criaturas absorvidas já estão inativas e ficam de fora da busca)
+        roubarDoVizinhoMaisProximo(novoCluster, criaturasAtivas, varredura);
+    }
+
+    /**
+     * Resolve todas as colisões da varredura de uma vez: um cluster por cadeia
+     * de criaturas na mesma posição, na ordem em que as iterações as
+     * resolveriam uma a uma, e depois a entrada de cada criatura que continua
+     * ativa no primeiro cluster com que colide. Cada entrada atualiza a
+     * posição do cluster antes de testar a criatura seguinte, como se as
+     * entradas fossem resolvidas uma a uma.
+     */
+    private void resolverColisoesEmLote(List<Criatura> criaturasAtivas, VarreduraColisoes varredura) {
+        for (int[] cadeia : varredura.cadeiasDeColisao()) {
+            int[] par = varredura.primeiroParNaCadeia(cadeia);
+            formarCluster(criaturasAtivas, varredura, par, VarreduraColisoes.candidatosApos(cadeia, par[1]));
+        }
+
+        double[] posicoesClusters = new double[clusters.size()];
+        for (int c = 0; c < posicoesClusters.length; c++) {
+            posicoesClusters[c] = clusters.get(c).getPosicao();
+        }
+        varredura.entrarEmClusters(posicoesClusters, posicoesClusters.length,
+                k -> criaturasAtivas.get(k).isAtiva(), (k, c) -> {
+                    Cluster cluster = clusters.get(c);
+                    absorver(cluster, criaturasAtivas.get(k));
+                    posicoesClusters[c] = cluster.getPosicao();
+                    roubarDoVizinhoMaisProximo(cluster, criaturasAtivas, varredura);
+                });
+    }
+
+    private void verificarColisoesCriaturasComClusters(List<Criatura> criaturasAtivas,
+            VarreduraColisoes varredura) {
+        double[] posicoesClusters = new double[clusters.size()];
+        for (int c = 0; c < posicoesClusters.length; c++) {
+            posicoesClusters[c] = clusters.get(c).getPosicao();
+        }
+
+        int[] colisao = varredura.encontrarColisaoComClusters(posicoesClusters, posicoesClusters.length);
+        if (colisao == null) {
+            return;
+        }
+
+        // Criatura se junta ao cluster existente (apenas uma junção por iteração)
+        Criatura criatura = criaturasAtivas.get(colisao[0]);
+        Cluster cluster = clusters.get(colisao[1]);
+        absorver(cluster, criatura);
+
+        // Roubar metade das moedas da criatura mais próxima
+        roubarDoVizinhoMaisProximo(cluster, criaturasAtivas, varredura);
+    }
+
+    private void absorver(Cluster cluster, Criatura criatura) {
+        int moedas = criatura.getMoedas();
+        cluster.adicionarCriatura(criatura);
+        ouvintes.criaturaAbsorvida(cluster.getId(), criatura.getId(), moedas);
     }
 
+    private void roubarDoVizinhoMaisProximo(Cluster cluster, List<Criatura> criaturasAtivas,
+            VarreduraColisoes varredura) {
+        Criatura vizinhoMaisProximo = encontrarVizinhoMaisProximoParaCluster(cluster, criaturasAtivas, varredura);
+        if (vizinhoMaisProximo != null) {
+            roubar(cluster, vizinhoMaisProximo);
+        }
+    }
+
+    private void roubar(Cluster cluster, Criatura vizinho) {
+        int metadeMoedas = vizinho.getMoedas() / 2;
+        int moedasRoubadas = vizinho.removerMoedas(metadeMoedas);
+        cluster.setTotalMoedas(cluster.getTotalMoedas() + moedasRoubadas);
+        ouvintes.moedasRoubadas(cluster.getId(), vizinho.getId(), moedasRoubadas);
+    }
+
+    /**
+     * Criatura ativa mais próxima do cluster (a mais de 0.01), consultando o
+     * índice ordenado da iteração em vez de percorrer todas as criaturas.
+     */
+    private Criatura encontrarVizinhoMaisProximoParaCluster(Cluster cluster, List<Criatura> criaturasAtivas,
+            VarreduraColisoes varredura) {
+        int indice = varredura.vizinhoMaisProximo(cluster.getPosicao(), DISTANCIA_MINIMA_ROUBO,
+                k -> criaturasAtivas.get(k).isAtiva());
+        return indice >= 0 ? criaturasAtivas.get(indice) : null;
+    }
+
+    /**
+     * Une, com conjuntos disjuntos, os clusters em posições coincidentes
+     * (inclusive em cadeia). Em cada grupo permanece o cluster com mais
+     * membros (no empate, o mais antigo), e os demais são fundidos nele na
+     * ordem de formação.
+     */
+    private void fundirClusters() {
+        int numClusters = clusters.size();
+        if (numClusters < 2) {
+            return;
+        }
+        double[] posicoesClusters = new double[numClusters];
+        int[] tamanhos = new int[numClusters];
+        for (int c = 0; c < numClusters; c++) {
+            posicoesClusters[c] = clusters.get(c).getPosicao();
+            tamanhos[c] = clusters.get(c).getTamanho();
+        }
+        ConjuntosDisjuntos conjuntos = ConjuntosDisjuntos.porProximidade(posicoesClusters, tamanhos, numClusters,
+                VarreduraColisoes.TOLERANCIA);
+        if (conjuntos.getNumUnioes() == 0) {
+            return;
+        }
+
+        List<Cluster> restantes = new ArrayList<>(numClusters - conjuntos.getNumUnioes());
+        for (int c = 0; c < numClusters; c++) {
+            Cluster cluster = clusters.get(c);
+            int sobrevivente = conjuntos.representante(c);
+            if (sobrevivente == c) {
+                restantes.add(cluster);
+            } else {
+                Cluster destino = clusters.get(sobrevivente);
+                long moedas = cluster.getTotalMoedas();
+                destino.fundir(cluster);
+                ouvintes.clustersFundidos(destino.getId(), cluster.getId(), moedas);
+            }
+        }
+        clusters = restantes;
+    }
+
+    /**
+     * Com o roubo por iteração, cada cluster, na ordem da lista, rouba metade
+     * das moedas do vizinho mais próximo (a mais de 0.01), seja criatura ou
+     * cluster; no empate, a criatura. As posições de criaturas e de clusters
+     * são ordenadas uma vez para a fase inteira, e cada busca é binária:
+     * O((n + m) log(n + m)) em vez de clusters × criaturas. O roubo não altera
+     * posições nem o conjunto de ativas, então o índice das criaturas fica
+     * para a colisão com o guardião. Sem a opção, o roubo acontece apenas na
+     * formação e na entrada de criaturas.
+     */
     private void processarRouboClusters() {
-        // Esta funcionalidade agora é feita quando o cluster é formado
-        // Mantendo o método por compatibilidade, mas sem lógica adicional
+        if (!rouboPorIteracao || clusters.isEmpty()) {
+            return;
+        }
+        List<Criatura> criaturasAtivas = getCriaturasAtivas();
+        VarreduraColisoes indiceCriaturas = indexar(criaturasAtivas);
+        indicePosicoes = indiceCriaturas;
+        versaoIndexada = this.criaturasAtivas.getVersao();
+        int numClusters = clusters.size();
+        double[] posicoesClusters = new double[numClusters];
+        for (int c = 0; c < numClusters; c++) {
+            posicoesClusters[c] = clusters.get(c).getPosicao();
+        }
+        VarreduraColisoes indiceClusters = new VarreduraColisoes(posicoesClusters, numClusters);
+
+        for (int c = 0; c < numClusters; c++) {
+            Cluster cluster = clusters.get(c);
+            double posicao = posicoesClusters[c];
+            int atual = c;
+            int criatura = indiceCriaturas.vizinhoMaisProximo(posicao, DISTANCIA_MINIMA_ROUBO, k -> true);
+            int vizinho = indiceClusters.vizinhoMaisProximo(posicao, DISTANCIA_MINIMA_ROUBO, k -> k != atual);
+            if (vizinho >= 0 && (criatura < 0 || Math.abs(posicoesClusters[vizinho] - posicao)
+                    < Math.abs(indiceCriaturas.getPosicao(criatura) - posicao))) {
+                Cluster roubado = clusters.get(vizinho);
+                long metadeMoedas = roubado.getTotalMoedas() / 2;
+                cluster.roubarMoedasDeVizinho(roubado);
+                ouvintes.moedasRoubadasDeCluster(cluster.getId(), roubado.getId(), metadeMoedas);
+            } else if (criatura >= 0) {
+                roubar(cluster, criaturasAtivas.get(criatura));
+            }
+        }
     }
 
     private void processarGuardiao() {
         // Verificar colisão com clusters
         List<Cluster> clustersParaRemover = new ArrayList<>();
         for (Cluster cluster : clusters) {
-            if (Math.abs(guardiao.getPosicao() - cluster.getPosicao()) < 0.000000001) {
+            if (Math.abs(guardiao.getPosicao() - cluster.getPosicao()) < VarreduraColisoes.TOLERANCIA) {
                 guardiao.eliminarCluster(cluster);
                 clustersParaRemover.add(cluster);
+                ouvintes.clusterEliminado(cluster.getId(), cluster.getTotalMoedas());
             }
         }
         clusters.removeAll(clustersParaRemover);
 
-        // Verificar colisão com criaturas
+        // Verificar colisão com criaturas: consulta ao índice pós-movimento, O(log n + k)
         List<Criatura> criaturasAtivas = getCriaturasAtivas();
-        for (Criatura criatura : criaturasAtivas) {
-            if (Math.abs(guardiao.getPosicao() - criatura.getPosicao()) < 0.000000001) {
-                guardiao.eliminarCriatura(criatura);
+        VarreduraColisoes indice = indicePosicoes;
+        if (!indiceValidoPara(criaturasAtivas)) {
+            indice = indexar(criaturasAtivas); // O roubo por iteração, se houve, já indexou as mesmas posições
+        }
+        int[] eliminadas = indice.dentroDaTolerancia(guardiao.getPosicao());
+        for (int k : eliminadas) {
+            Criatura criatura = criaturasAtivas.get(k);
+            int moedas = criatura.getMoedas();
+            guardiao.eliminarCriatura(criatura);
+            ouvintes.criaturaEliminada(criatura.getId(), moedas);
+        }
+
+        // O mesmo índice, sem as eliminadas, serve à detecção da próxima iteração
+        this.criaturasAtivas.compactar();
+        indicePosicoes = indice.sem(eliminadas);
+        versaoIndexada = this.criaturasAtivas.getVersao();
+    }
+
+    private static VarreduraColisoes indexar(List<Criatura> criaturasAtivas) {
+        double[] posicoes = new double[criaturasAtivas.size()];
+        for (int i = 0; i < posicoes.length; i++) {
+            posicoes[i] = criaturasAtivas.get(i).getPosicao();
+        }
+        return new VarreduraColisoes(posicoes, posicoes.length);
+    }
+
+    /**
+     * As criaturas são objetos públicos e podem ser alteradas entre iterações;
+     * o índice só é reaproveitado se o conjunto de ativas não mudou e as
+     * posições são as mesmas da indexação (verificação O(n), sem ordenar).
+     */
+    private boolean indiceValidoPara(List<Criatura> criaturasAtivas) {
+        if (indicePosicoes == null || versaoIndexada != this.criaturasAtivas.getVersao()) {
+            return false;
+        }
+        for (int k = 0; k < criaturasAtivas.size(); k++) {
+            if (Double.doubleToLongBits(criaturasAtivas.get(k).getPosicao())
+                    != Double.doubleToLongBits(indicePosicoes.getPosicao(k))) {
+                return false;
             }
         }
+        return true;
     }
 
     private void verificarCondicaoTermino() {
-        List<Criatura> criaturasAtivas = getCriaturasAtivas();
+        int numAtivas;
+        int numClusters;
+        long moedasUltimaCriatura;
+        if (motor != null) {
+            numAtivas = motor.getNumeroCriaturasAtivas();
+            numClusters = motor.getNumeroClusters();
+            moedasUltimaCriatura = motor.getMoedasPrimeiraAtiva();
+        } else {
+            List<Criatura> criaturasAtivas = getCriaturasAtivas();
+            numAtivas = criaturasAtivas.size();
+            numClusters = clusters.size();
+            moedasUltimaCriatura = criaturasAtivas.isEmpty() ? -1 : criaturasAtivas.get(0).getMoedas();
+        }
 
         // Condição 1: Apenas guardião sobrevive
-        if (criaturasAtivas.isEmpty() && clusters.isEmpty()) {
+        if (numAtivas == 0 && numClusters == 0) {
             concluida = true;
             bemSucedida = true;
             motivoConclusao = "todas criaturas desativadas";
@@ -231,11 +927,9 @@ public class Simulacao {
             motivoConclusao = "máximo de iterações atingido";
 
             // Verifica condição de vitória do guardião apenas no final
-            if (criaturasAtivas.size() == 1 && clusters.isEmpty()) {
-                Criatura ultimaCriatura = criaturasAtivas.get(0);
-                if (guardiao.temMaisMoedasQue(ultimaCriatura)) {
-                    motivoConclusao = "guardião venceu";
-                }
+            if (numAtivas == 1 && numClusters == 0
+                    && guardiao.getMoedas() > moedasUltimaCriatura) {
+                motivoConclusao = "guardião venceu";
             }
         }
     }
@@ -250,10 +944,16 @@ public class Simulacao {
 
     // Getters
     public List<Criatura> getCriaturas() {
+        if (motor != null) {
+            return motor.materializarCriaturas();
+        }
         return new ArrayList<>(criaturas);
     }
 
     public List<Cluster> getClusters() {
+        if (motor != null) {
+            return motor.materializarClusters();
+        }
         return new ArrayList<>(clusters);
     }
 
@@ -281,6 +981,42 @@ public class Simulacao {
         return maxIteracoes;
     }
 
+    /**
+     * @return semente mestre da qual todos os sorteios da simulação derivam
+     */
+    public long getSemente() {
+        return semente;
+    }
+
+    /**
+     * @return número total de criaturas (ativas ou não), sem materializá-las
+     */
+    public int getNumeroCriaturas() {
+        return motor != null ? motor.getNumeroCriaturas() : criaturas.size();
+    }
+
+    /**
+     * @return motivo da conclusão (por exemplo {@code "guardião venceu"}), ou
+     * {@code null} se a simulação ainda não terminou
+     */
+    public String getMotivoConclusao() {
+        return motivoConclusao;
+    }
+
+    /**
+     * @return número de criaturas ativas, sem materializá-las
+     */
+    public int getNumeroCriaturasAtivas() {
+        return motor != null ? motor.getNumeroCriaturasAtivas() : getCriaturasAtivas().size();
+    }
+
+    /**
+     * @return número de clusters, sem materializá-los
+     */
+    public int getNumeroClusters() {
+        return motor != null ? motor.getNumeroClusters() : clusters.size();
+    }
+
     public String getStatus() {
         if (!concluida) {
             return String.format("Iteração %d/%d - Em andamento", iteracoes, maxIteracoes);
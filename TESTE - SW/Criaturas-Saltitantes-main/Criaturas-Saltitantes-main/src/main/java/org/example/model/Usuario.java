@@ -21,6 +21,10 @@ import java.security.NoSuchAlgorithmException;
  * <li>taxaSucesso está entre 0.0 e 1.0</li>
  * </ul>
  *
+ * <p>
+ * Pontuação e total de simulações são thread-safe: simulações do mesmo
+ * usuário podem terminar ao mesmo tempo em sessões diferentes.</p>
+ *
  * @author Sistema de Simulação
  * @version 2.0
  * @since 1.0
@@ -132,7 +136,7 @@ public class Usuario implements Serializable {
      * Este método deve ser chamado quando uma simulação é completada com
      * sucesso. Incrementa tanto a pontuação quanto o total de simulações.</p>
      */
-    public void incrementarSimulacaoBemSucedida() {
+    public synchronized void incrementarSimulacaoBemSucedida() {
         this.pontuacao++;
         this.totalSimulacoes++;
     }
@@ -145,7 +149,7 @@ public class Usuario implements Serializable {
      * Este método deve ser chamado quando uma simulação falha ou é
      * interrompida.</p>
      */
-    public void incrementarTotalSimulacoes() {
+    public synchronized void incrementarTotalSimulacoes() {
         this.totalSimulacoes++;
     }
 
@@ -169,7 +173,7 @@ public class Usuario implements Serializable {
      * @return Taxa de sucesso entre 0.0 e 1.0, ou 0.0 se nenhuma simulação foi
      * realizada
      */
-    public double getTaxaSucesso() {
+    public synchronized double getTaxaSucesso() {
         if (totalSimulacoes == 0) {
             return 0.0;
         }
@@ -199,15 +203,15 @@ public class Usuario implements Serializable {
         this.avatar = avatar;
     }
 
-    public int getPontuacao() {
+    public synchronized int getPontuacao() {
         return pontuacao;
     }
 
-    public int getTotalSimulacoes() {
+    public synchronized int getTotalSimulacoes() {
         return totalSimulacoes;
     }
 
-    public void setPontuacao(int pontuacao) {
+    public synchronized void setPontuacao(int pontuacao) {
         this.pontuacao = pontuacao;
     }
 
@@ -223,7 +227,7 @@ public class Usuario implements Serializable {
         this.senhaHash = senhaHash;
     }
 
-    public void setTotalSimulacoes(int totalSimulacoes) {
+    public synchronized void setTotalSimulacoes(int totalSimulacoes) {
         this.totalSimulacoes = totalSimulacoes;
     }
 
@@ -0,0 +1,507 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Detecção de colisões por ordenação e varredura (sort-and-sweep).
+ *
+ * <p>
+ * As posições são ordenadas uma vez por iteração; entidades a menos de
+ * {@link #TOLERANCIA} umas das outras ficam então adjacentes na ordem, e
+ * cada consulta examina apenas a vizinhança imediata. Os resultados são os
+ * mesmos da comparação de todos os pares: o "primeiro" par é sempre o de
+ * menor índice, como no laço duplo original.</p>
+ *
+ * <p>
+ * A mesma ordem serve de índice de posições para a busca do vizinho mais
+ * próximo ({@link #vizinhoMaisProximo(double, double, IntPredicate)}), feita
+ * por busca binária, e para a consulta de entidades na posição do guardião
+ * ({@link #dentroDaTolerancia(double)}). Um índice construído depois do
+ * movimento pode ser reaproveitado na detecção da iteração seguinte, retirando
+ * as entidades eliminadas com {@link #sem(int[])} sem reordenar.</p>
+ *
+ * <p>
+ * Os índices usados aqui são posições no array recebido, que deve estar na
+ * ordem de prioridade das entidades (ordem dos ids).</p>
+ */
+final class VarreduraColisoes {
+
+    /**
+     * Distância abaixo da qual duas entidades ocupam a mesma posição.
+     */
+    static final double TOLERANCIA = 0.000000001;
+
+    private final double[] posicoes;
+    private final int tamanho;
+    private final int[] ordem;
+
+    /**
+     * @param posicoes posições das entidades, na ordem de prioridade
+     * @param tamanho quantidade de posições válidas no array
+     */
+    VarreduraColisoes(double[] posicoes, int tamanho) {
+        this.posicoes = posicoes;
+        this.tamanho = tamanho;
+        this.ordem = ordenarPorPosicao(posicoes, tamanho);
+    }
+
+    private VarreduraColisoes(double[] posicoes, int tamanho, int[] ordem) {
+        this.posicoes = posicoes;
+        this.tamanho = tamanho;
+        this.ordem = ordem;
+    }
+
+    int getTamanho() {
+        return tamanho;
+    }
+
+    double getPosicao(int indice) {
+        return posicoes[indice];
+    }
+
+    /**
+     * Encontra o par {@code (i, j)}, com {@code i < j}, que o laço duplo
+     * original encontraria primeiro: menor {@code i} que tenha algum par e,
+     * para ele, o menor {@code j}.
+     *
+     * @return {@code {i, j}} ou {@code null} se não houver colisão
+     */
+    int[] encontrarPrimeiroPar() {
+        int menorI = -1;
+        int posicaoNaOrdem = -1;
+        for (int t = 0; t < tamanho; t++) {
+            int indice = ordem[t];
+            if ((menorI < 0 || indice < menorI) && temVizinhoNaTolerancia(t)) {
+                menorI = indice;
+                posicaoNaOrdem = t;
+            }
+        }
+        if (menorI < 0) {
+            return null;
+        }
+
+        // Todos os pares de menorI estão na sua vizinhança imediata na ordem
+        double referencia = posicoes[menorI];
+        int menorJ = Integer.MAX_VALUE;
+        for (int l = posicaoNaOrdem - 1; l >= 0 && referencia - posicoes[ordem[l]] < TOLERANCIA; l--) {
+            menorJ = Math.min(menorJ, ordem[l]);
+        }
+        for (int r = posicaoNaOrdem + 1; r < tamanho && posicoes[ordem[r]] - referencia < TOLERANCIA; r++) {
+            menorJ = Math.min(menorJ, ordem[r]);
+        }
+        return new int[]{menorI, menorJ};
+    }
+
+    /**
+     * Índices maiores que {@code minimoExclusivo} na cadeia de entidades
+     * encadeadas a {@code indice} (vizinhos consecutivos a menos da
+     * tolerância), em ordem crescente. Um cluster formado em {@code indice}
+     * só pode absorver entidades desta cadeia, pois sua posição média nunca
+     * sai dela.
+     */
+    int[] candidatosNaCadeia(int indice, int minimoExclusivo) {
+        int t = localizar(indice);
+        int inicio = t;
+        while (inicio > 0 && posicoes[ordem[inicio]] - posicoes[ordem[inicio - 1]] < TOLERANCIA) {
+            inicio--;
+        }
+        int fim = t;
+        while (fim + 1 < tamanho && posicoes[ordem[fim + 1]] - posicoes[ordem[fim]] < TOLERANCIA) {
+            fim++;
+        }
+
+        int[] candidatos = new int[fim - inicio + 1];
+        int quantidade = 0;
+        for (int k = inicio; k <= fim; k++) {
+            if (ordem[k] > minimoExclusivo) {
+                candidatos[quantidade++] = ordem[k];
+            }
+        }
+        candidatos = Arrays.copyOf(candidatos, quantidade);
+        Arrays.sort(candidatos);
+        return candidatos;
+    }
+
+    /**
+     * Todas as cadeias de colisão (entidades consecutivas na ordem a menos da
+     * tolerância) com pelo menos duas entidades, em uma única varredura. Cada
+     * cadeia traz seus índices em ordem crescente, e as cadeias vêm ordenadas
+     * pelo menor índice, a ordem em que o laço original as encontraria uma a
+     * uma.
+     */
+    List<int[]> cadeiasDeColisao() {
+        List<int[]> cadeias = new ArrayList<>();
+        int inicio = 0;
+        for (int t = 1; t <= tamanho; t++) {
+            if (t < tamanho && posicoes[ordem[t]] - posicoes[ordem[t - 1]] < TOLERANCIA) {
+                continue;
+            }
+            if (t - inicio >= 2) {
+                int[] cadeia = Arrays.copyOfRange(ordem, inicio, t);
+                Arrays.sort(cadeia);
+                cadeias.add(cadeia);
+            }
+            inicio = t;
+        }
+        cadeias.sort(Comparator.comparingInt(cadeia -> cadeia[0]));
+        return cadeias;
+    }
+
+    /**
+     * Par que {@link #encontrarPrimeiroPar()} encontraria se esta fosse a
+     * única cadeia: o menor índice e, para ele, o menor índice a menos da
+     * tolerância.
+     *
+     * @param cadeia cadeia devolvida por {@link #cadeiasDeColisao()}
+     */
+    int[] primeiroParNaCadeia(int[] cadeia) {
+        int i = cadeia[0];
+        for (int k = 1; k < cadeia.length; k++) {
+            if (Math.abs(posicoes[cadeia[k]] - posicoes[i]) < TOLERANCIA) {
+                return new int[]{i, cadeia[k]};
+            }
+        }
+        throw new IllegalArgumentException("Cadeia sem colisão");
+    }
+
+    /**
+     * Índices da cadeia maiores que {@code minimoExclusivo}, os candidatos a
+     * entrar no cluster formado pelo par (ver
+     * {@link #candidatosNaCadeia(int, int)}).
+     */
+    static int[] candidatosApos(int[] cadeia, int minimoExclusivo) {
+        int inicio = 0;
+        while (inicio < cadeia.length && cadeia[inicio] <= minimoExclusivo) {
+            inicio++;
+        }
+        return Arrays.copyOfRange(cadeia, inicio, cadeia.length);
+    }
+
+    /**
+     * Primeira colisão entre uma entidade desta varredura e um cluster, na
+     * ordem do laço original: menor índice de entidade e, para ela, o primeiro
+     * cluster da lista.
+     *
+     * @param posicoesClusters posições dos clusters, na ordem da lista
+     * @param numClusters quantidade de clusters
+     * @return {@code {entidade, cluster}} ou {@code null}
+     */
+    int[] encontrarColisaoComClusters(double[] posicoesClusters, int numClusters) {
+        if (numClusters == 0) {
+            return null;
+        }
+        int[] ordemClusters = ordenarPorPosicao(posicoesClusters, numClusters);
+
+        for (int i = 0; i < tamanho; i++) {
+            int cluster = primeiroClusterEmColisao(posicoes[i], posicoesClusters, ordemClusters, numClusters);
+            if (cluster >= 0) {
+                return new int[]{i, cluster};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Executa uma entrada de entidade em cluster durante
+     * {@link #entrarEmClusters(double[], int, IntPredicate, EntradaEmCluster)}.
+     */
+    @FunctionalInterface
+    interface EntradaEmCluster {
+
+        /**
+         * Coloca a entidade no cluster. Ao retornar, a nova posição do
+         * cluster deve estar no array de posições dos clusters.
+         */
+        void entrar(int entidade, int cluster);
+    }
+
+    /**
+     * Entrada em lote das entidades desta varredura nos clusters, com o mesmo
+     * resultado de resolvê-las uma a uma: na ordem dos índices, cada entidade
+     * elegível entra no primeiro cluster da lista com que colide nas posições
+     * atuais, e a posição do cluster que a recebeu é relida antes de testar a
+     * entidade seguinte.
+     *
+     * <p>
+     * Os clusters são ordenados uma vez, pelas posições do início da fase, e
+     * cada entidade faz uma busca binária. Um cluster que se desloca com uma
+     * entrada sai dessa ordem e passa a ser comparado diretamente: O((n + m)
+     * log m) mais, por entidade, os clusters já deslocados na fase, que são no
+     * máximo as entradas feitas.</p>
+     *
+     * @param posicoesClusters posições dos clusters, na ordem da lista,
+     * mantidas atualizadas por {@code entrada}
+     * @param numClusters quantidade de clusters
+     * @param elegivel entidades que ainda podem entrar em um cluster
+     * @param entrada executa cada entrada
+     */
+    void entrarEmClusters(double[] posicoesClusters, int numClusters, IntPredicate elegivel,
+            EntradaEmCluster entrada) {
+        if (numClusters == 0) {
+            return;
+        }
+        double[] iniciais = Arrays.copyOf(posicoesClusters, numClusters);
+        int[] ordemClusters = ordenarPorPosicao(iniciais, numClusters);
+        boolean[] deslocados = new boolean[numClusters];
+        int[] listaDeslocados = new int[numClusters];
+        int numDeslocados = 0;
+
+        for (int i = 0; i < tamanho; i++) {
+            if (!elegivel.test(i)) {
+                continue;
+            }
+            double posicao = posicoes[i];
+            int cluster = primeiroClusterEmColisao(posicao, iniciais, ordemClusters, numClusters, deslocados);
+            for (int d = 0; d < numDeslocados; d++) {
+                int deslocado = listaDeslocados[d];
+                if ((cluster < 0 || deslocado < cluster)
+                        && Math.abs(posicoesClusters[deslocado] - posicao) < TOLERANCIA) {
+                    cluster = deslocado;
+                }
+            }
+            if (cluster < 0) {
+                continue;
+            }
+            entrada.entrar(i, cluster);
+            if (!deslocados[cluster] && posicoesClusters[cluster] != iniciais[cluster]) {
+                deslocados[cluster] = true;
+                listaDeslocados[numDeslocados++] = cluster;
+            }
+        }
+    }
+
+    private static int primeiroClusterEmColisao(double posicao, double[] posicoesClusters, int[] ordemClusters,
+            int numClusters) {
+        return primeiroClusterEmColisao(posicao, posicoesClusters, ordemClusters, numClusters, null);
+    }
+
+    /**
+     * @param ignorados clusters fora da ordem, ou {@code null}
+     */
+    private static int primeiroClusterEmColisao(double posicao, double[] posicoesClusters, int[] ordemClusters,
+            int numClusters, boolean[] ignorados) {
+        int t = limiteInferior(posicoesClusters, ordemClusters, numClusters, posicao);
+
+        int primeiroCluster = Integer.MAX_VALUE;
+        for (int l = t - 1; l >= 0 && posicao - posicoesClusters[ordemClusters[l]] < TOLERANCIA; l--) {
+            if (ignorados == null || !ignorados[ordemClusters[l]]) {
+                primeiroCluster = Math.min(primeiroCluster, ordemClusters[l]);
+            }
+        }
+        for (int r = t; r < numClusters && posicoesClusters[ordemClusters[r]] - posicao < TOLERANCIA; r++) {
+            if (ignorados == null || !ignorados[ordemClusters[r]]) {
+                primeiroCluster = Math.min(primeiroCluster, ordemClusters[r]);
+            }
+        }
+        return primeiroCluster != Integer.MAX_VALUE ? primeiroCluster : -1;
+    }
+
+    /**
+     * Vizinho mais próximo de {@code posicao} a uma distância estritamente
+     * maior que {@code distanciaMinima}, entre as entidades aceitas por
+     * {@code elegivel}. Em caso de empate vence o menor índice, como na busca
+     * linear original.
+     *
+     * <p>
+     * As entidades a até {@code distanciaMinima} são puladas por busca binária;
+     * o custo é O(log n) mais as entidades inelegíveis encontradas.</p>
+     *
+     * @return índice do vizinho ou -1 se não houver nenhum
+     */
+    int vizinhoMaisProximo(double posicao, double distanciaMinima, IntPredicate elegivel) {
+        // Primeira posição na ordem que não está mais "longe à esquerda"
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (posicao - posicoes[ordem[meio]] > distanciaMinima) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        int fimEsquerda = baixo;
+
+        // Primeira posição na ordem que já está "longe à direita"
+        baixo = fimEsquerda;
+        alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (posicoes[ordem[meio]] - posicao > distanciaMinima) {
+                alto = meio;
+            } else {
+                baixo = meio + 1;
+            }
+        }
+        int inicioDireita = baixo;
+
+        int esquerda = -1;
+        double distanciaEsquerda = Double.MAX_VALUE;
+        for (int t = fimEsquerda - 1; t >= 0; t--) {
+            int indice = ordem[t];
+            double distancia = Math.abs(posicoes[indice] - posicao);
+            if (esquerda >= 0 && distancia != distanciaEsquerda) {
+                break;
+            }
+            if (elegivel.test(indice) && (esquerda < 0 || indice < esquerda)) {
+                esquerda = indice;
+                distanciaEsquerda = distancia;
+            }
+        }
+
+        int direita = -1;
+        double distanciaDireita = Double.MAX_VALUE;
+        for (int t = inicioDireita; t < tamanho; t++) {
+            int indice = ordem[t];
+            double distancia = Math.abs(posicoes[indice] - posicao);
+            if (direita >= 0 && distancia != distanciaDireita) {
+                break;
+            }
+            if (elegivel.test(indice) && (direita < 0 || indice < direita)) {
+                direita = indice;
+                distanciaDireita = distancia;
+            }
+        }
+
+        if (esquerda < 0 || direita < 0) {
+            return Math.max(esquerda, direita);
+        }
+        if (distanciaEsquerda != distanciaDireita) {
+            return distanciaEsquerda < distanciaDireita ? esquerda : direita;
+        }
+        return Math.min(esquerda, direita);
+    }
+
+    /**
+     * Índices das entidades a menos de {@link #TOLERANCIA} de
+     * {@code posicao}, em ordem crescente. Custa O(log n + k), sendo k o
+     * número de entidades encontradas.
+     */
+    int[] dentroDaTolerancia(double posicao) {
+        // Primeira posição na ordem que não está abaixo da janela
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (posicao - posicoes[ordem[meio]] >= TOLERANCIA) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+
+        int fim = baixo;
+        while (fim < tamanho && posicoes[ordem[fim]] - posicao < TOLERANCIA) {
+            fim++;
+        }
+        int[] encontrados = Arrays.copyOfRange(ordem, baixo, fim);
+        Arrays.sort(encontrados);
+        return encontrados;
+    }
+
+    /**
+     * Cópia deste índice sem as entidades informadas, com os índices
+     * restantes renumerados de forma compacta (a ordem relativa é mantida, sem
+     * nova ordenação). Custa O(n log k).
+     *
+     * @param removidos índices a retirar, em ordem crescente
+     */
+    VarreduraColisoes sem(int[] removidos) {
+        if (removidos.length == 0) {
+            return this;
+        }
+        int novoTamanho = tamanho - removidos.length;
+        double[] novasPosicoes = new double[novoTamanho];
+        int n = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (Arrays.binarySearch(removidos, i) < 0) {
+                novasPosicoes[n++] = posicoes[i];
+            }
+        }
+
+        int[] novaOrdem = new int[novoTamanho];
+        n = 0;
+        for (int t = 0; t < tamanho; t++) {
+            int busca = Arrays.binarySearch(removidos, ordem[t]);
+            if (busca < 0) {
+                // -(ponto de inserção) - 1: quantos removidos são menores que o índice
+                novaOrdem[n++] = ordem[t] - (-busca - 1);
+            }
+        }
+        return new VarreduraColisoes(novasPosicoes, novoTamanho, novaOrdem);
+    }
+
+    private boolean temVizinhoNaTolerancia(int t) {
+        double posicao = posicoes[ordem[t]];
+        return (t > 0 && posicao - posicoes[ordem[t - 1]] < TOLERANCIA)
+                || (t + 1 < tamanho && posicoes[ordem[t + 1]] - posicao < TOLERANCIA);
+    }
+
+    private int localizar(int indice) {
+        for (int t = 0; t < tamanho; t++) {
+            if (ordem[t] == indice) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Índice fora da varredura: " + indice);
+    }
+
+    /**
+     * Primeira posição na ordem cuja posição é maior ou igual a
+     * {@code valor}.
+     */
+    private static int limiteInferior(double[] valores, int[] ordem, int tamanho, double valor) {
+        int baixo = 0;
+        int alto = tamanho;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (valores[ordem[meio]] < valor) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    /**
+     * Ordenação estável (merge sort) de índices pela posição, sem boxing. Em
+     * caso de empate, o menor índice vem primeiro.
+     */
+    static int[] ordenarPorPosicao(double[] valores, int tamanho) {
+        int[] ordem = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            ordem[i] = i;
+        }
+        int[] auxiliar = new int[tamanho];
+        for (int largura = 1; largura < tamanho; largura *= 2) {
+            for (int inicio = 0; inicio < tamanho - largura; inicio += 2 * largura) {
+                int meio = inicio + largura;
+                int fim = Math.min(inicio + 2 * largura, tamanho);
+                intercalar(valores, ordem, auxiliar, inicio, meio, fim);
+            }
+        }
+        return ordem;
+    }
+
+    private static void intercalar(double[] valores, int[] ordem, int[] auxiliar,
+            int inicio, int meio, int fim) {
+        if (valores[ordem[meio - 1]] <= valores[ordem[meio]]) {
+            return; // Já ordenado
+        }
+        System.arraycopy(ordem, inicio, auxiliar, inicio, fim - inicio);
+        int a = inicio;
+        int b = meio;
+        for (int k = inicio; k < fim; k++) {
+            if (a < meio && (b >= fim || valores[auxiliar[a]] <= valores[auxiliar[b]])) {
+                ordem[k] = auxiliar[a++];
+            } else {
+                ordem[k] = auxiliar[b++];
+            }
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package org.example.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Armazém em disco de resultados de simulações, com linhas de tamanho fixo
+ * em um arquivo mapeado em memória.
+ *
+ * <p>
+ * Cada {@link RegistroSimulacao} ocupa {@value #LARGURA_LINHA} bytes; textos
+ * (logins e motivos de conclusão) ficam em um dicionário ao lado do arquivo
+ * e as linhas guardam só o índice deles. O arquivo é mapeado em segmentos de
+ * tamanho fixo criados à medida que crescem, então o número de linhas não é
+ * limitado pelo heap nem pelo tamanho máximo de um buffer mapeado. Os
+ * registros são lidos sob demanda direto do mapeamento.</p>
+ *
+ * <p>
+ * Na abertura, o arquivo é percorrido uma vez para montar dois índices
+ * pequenos em memória: as linhas de cada usuário (4 bytes por linha) e o
+ * resultado de cada linha (1 bit por linha). Os totais ficam no cabeçalho.
+ * Thread-safe.</p>
+ *
+ * <p>
+ * As gravações só são garantidas no disco após {@link #sincronizar()} ou
+ * {@link #close()}, que gravam as linhas antes do cabeçalho. Entre uma
+ * sincronização e outra o sistema pode levar as páginas mapeadas ao disco
+ * em qualquer ordem: após uma queda, a contagem reaberta pode cobrir linhas
+ * zeradas ou incompletas acrescentadas depois da última sincronização.</p>
+ */
+public final class ArmazemResultados implements Closeable {
+
+    static final int MAGICO = 0x4353_5253; // "CSRS"
+    static final int VERSAO = 1;
+    static final int LARGURA_LINHA = 64;
+    static final int TAMANHO_CABECALHO = 64;
+    static final int LINHAS_POR_SEGMENTO_PADRAO = 1 << 20;
+    private static final int SEM_TEXTO = -1;
+
+    // Deslocamentos no cabeçalho
+    private static final int CAB_NUM_LINHAS = 8;
+    private static final int CAB_NUM_SUCESSOS = 16;
+
+    // Deslocamentos na linha
+    private static final int LIN_LOGIN = 0;
+    private static final int LIN_NUM_CRIATURAS = 4;
+    private static final int LIN_MAX_ITERACOES = 8;
+    private static final int LIN_ITERACOES = 12;
+    private static final int LIN_SEMENTE = 16;
+    private static final int LIN_MOEDAS_GUARDIAO = 24;
+    private static final int LIN_INICIO = 32;
+    private static final int LIN_FIM = 40;
+    private static final int LIN_MOTIVO = 48;
+    private static final int LIN_BEM_SUCEDIDA = 52;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer cabecalho;
+    private final int linhasPorSegmento;
+    private final List<MappedByteBuffer> segmentos = new ArrayList<>();
+
+    private final Path arquivoTextos;
+    private final List<String> textos = new ArrayList<>();
+    private final Map<String, Integer> idsTextos = new HashMap<>();
+
+    private int numLinhas;
+    private int numSucessos;
+    private final Map<Integer, LinhasDoUsuario> linhasPorUsuario = new HashMap<>();
+    private final BitSet sucessos = new BitSet();
+
+    private ArmazemResultados(FileChannel canal, Path arquivoTextos, int linhasPorSegmento) throws IOException {
+        this.canal = canal;
+        this.arquivoTextos = arquivoTextos;
+        this.linhasPorSegmento = linhasPorSegmento;
+
+        boolean novo = canal.size() == 0;
+        this.cabecalho = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANHO_CABECALHO);
+        if (novo) {
+            cabecalho.putInt(0, MAGICO);
+            cabecalho.putShort(4, (short) VERSAO);
+            cabecalho.putShort(6, (short) LARGURA_LINHA);
+            cabecalho.putInt(CAB_NUM_LINHAS, 0);
+            cabecalho.putInt(CAB_NUM_SUCESSOS, 0);
+        } else if (cabecalho.getInt(0) != MAGICO) {
+            throw new IOException("Arquivo não é um armazém de resultados");
+        } else if (cabecalho.getShort(4) != VERSAO || cabecalho.getShort(6) != LARGURA_LINHA) {
+            throw new IOException("Versão de armazém de resultados não suportada: " + cabecalho.getShort(4));
+        }
+        this.numLinhas = cabecalho.getInt(CAB_NUM_LINHAS);
+
+        carregarTextos();
+        indexar();
+    }
+
+    /**
+     * Abre (ou cria) um armazém. O dicionário de textos fica em
+     * {@code arquivo + ".textos"}.
+     *
+     * @param arquivo Arquivo das linhas
+     * @return armazém aberto
+     * @throws IOException se o arquivo não puder ser aberto ou não for um
+     * armazém de resultados
+     */
+    public static ArmazemResultados abrir(Path arquivo) throws IOException {
+        return abrir(arquivo, LINHAS_POR_SEGMENTO_PADRAO);
+    }
+
+    static ArmazemResultados abrir(Path arquivo, int linhasPorSegmento) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            Path textos = arquivo.resolveSibling(arquivo.getFileName() + ".textos");
+            return new ArmazemResultados(canal, textos, linhasPorSegmento);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Acrescenta um registro ao final do armazém.
+     *
+     * @param registro Registro a gravar
+     * @throws IOException se o arquivo não puder crescer
+     */
+    public synchronized void adicionar(RegistroSimulacao registro) throws IOException {
+        int linha = numLinhas;
+        int idLogin = idTexto(registro.getLogin());
+        int idMotivo = registro.getMotivoConclusao() == null ? SEM_TEXTO : idTexto(registro.getMotivoConclusao());
+        MappedByteBuffer segmento = segmento(linha, true);
+        int base = deslocamento(linha);
+        segmento.putInt(base + LIN_LOGIN, idLogin);
+        segmento.putInt(base + LIN_NUM_CRIATURAS, registro.getNumCriaturas());
+        segmento.putInt(base + LIN_MAX_ITERACOES, registro.getMaxIteracoes());
+        segmento.putInt(base + LIN_ITERACOES, registro.getIteracoes());
+        segmento.putLong(base + LIN_SEMENTE, registro.getSemente());
+        segmento.putLong(base + LIN_MOEDAS_GUARDIAO, registro.getMoedasGuardiao());
+        segmento.putLong(base + LIN_INICIO, registro.getInicio().toEpochMilli());
+        segmento.putLong(base + LIN_FIM, registro.getFim().toEpochMilli());
+        segmento.putInt(base + LIN_MOTIVO, idMotivo);
+        segmento.put(base + LIN_BEM_SUCEDIDA, (byte) (registro.isBemSucedida() ? 1 : 0));
+
+        indexarLinha(linha, idLogin, registro.isBemSucedida());
+        numLinhas++;
+        // A contagem é atualizada por último: neste processo, uma linha incompleta
+        // nunca é lida (no disco, só após sincronizar)
+        cabecalho.putInt(CAB_NUM_SUCESSOS, numSucessos);
+        cabecalho.putInt(CAB_NUM_LINHAS, numLinhas);
+    }
+
+    /**
+     * @return número de registros no armazém
+     */
+    public synchronized int getTotal() {
+        return numLinhas;
+    }
+
+    /**
+     * @return número de registros de simulações bem-sucedidas
+     */
+    public synchronized int getBemSucedidas() {
+        return numSucessos;
+    }
+
+    /**
+     * @param indice Posição do registro, na ordem de gravação
+     * @return o registro
+     * @throws IndexOutOfBoundsException se o índice não existir
+     */
+    public synchronized RegistroSimulacao ler(int indice) {
+        if (indice < 0 || indice >= numLinhas) {
+            throw new IndexOutOfBoundsException("Registro inexistente: " + indice);
+        }
+        return lerLinha(indice);
+    }
+
+    /**
+     * @param inicio Primeiro registro (inclusivo)
+     * @param fim Último registro (exclusivo)
+     * @return registros do intervalo, na ordem de gravação
+     * @throws IndexOutOfBoundsException se o intervalo for inválido
+     */
+    public synchronized List<RegistroSimulacao> ler(int inicio, int fim) {
+        if (inicio < 0 || fim > numLinhas || inicio > fim) {
+            throw new IndexOutOfBoundsException(String.format("Intervalo inválido: %d-%d", inicio, fim));
+        }
+        List<RegistroSimulacao> registros = new ArrayList<>(fim - inicio);
+        for (int i = inicio; i < fim; i++) {
+            registros.add(lerLinha(i));
+        }
+        return registros;
+    }
+
+    /**
+     * Percorre todos os registros na ordem de gravação, lendo direto do
+     * mapeamento.
+     *
+     * @param consumidor Recebe cada registro
+     */
+    public synchronized void percorrer(Consumer<RegistroSimulacao> consumidor) {
+        for (int i = 0; i < numLinhas; i++) {
+            consumidor.accept(lerLinha(i));
+        }
+    }
+
+    /**
+     * @param login Login do usuário
+     * @return registros do usuário, na ordem de gravação
+     */
+    public synchronized List<RegistroSimulacao> porUsuario(String login) {
+        Integer id = idsTextos.get(login);
+        LinhasDoUsuario linhas = id == null ? null : linhasPorUsuario.get(id);
+        if (linhas == null) {
+            return List.of();
+        }
+        List<RegistroSimulacao> registros = new ArrayList<>(linhas.tamanho);
+        for (int i = 0; i < linhas.tamanho; i++) {
+            registros.add(lerLinha(linhas.linhas[i]));
+        }
+        return registros;
+    }
+
+    /**
+     * @param bemSucedida Resultado procurado
+     * @param limite Número máximo de registros
+     * @return os registros mais recentes com o resultado dado, até o limite,
+     * na ordem de gravação
+     */
+    public synchronized List<RegistroSimulacao> porResultado(boolean bemSucedida, int limite) {
+        List<RegistroSimulacao> registros = new ArrayList<>();
+        int linha = numLinhas - 1;
+        while (registros.size() < limite) {
+            linha = bemSucedida ? sucessos.previousSetBit(linha) : sucessos.previousClearBit(linha);
+            if (linha < 0) {
+                break;
+            }
+            registros.add(lerLinha(linha--));
+        }
+        Collections.reverse(registros);
+        return registros;
+    }
+
+    /**
+     * Descarta todos os registros. O espaço já alocado no arquivo é
+     * reaproveitado pelas próximas gravações.
+     */
+    public synchronized void limpar() {
+        numLinhas = 0;
+        numSucessos = 0;
+        linhasPorUsuario.clear();
+        sucessos.clear();
+        cabecalho.putInt(CAB_NUM_SUCESSOS, 0);
+        cabecalho.putInt(CAB_NUM_LINHAS, 0);
+    }
+
+    /**
+     * Força a gravação no disco de tudo o que foi acrescentado.
+     */
+    public synchronized void sincronizar() {
+        for (MappedByteBuffer segmento : segmentos) {
+            segmento.force();
+        }
+        cabecalho.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!canal.isOpen()) {
+            return;
+        }
+        sincronizar();
+        canal.close();
+    }
+
+    private RegistroSimulacao lerLinha(int linha) {
+        MappedByteBuffer segmento = segmento(linha, false);
+        int base = deslocamento(linha);
+        int idMotivo = segmento.getInt(base + LIN_MOTIVO);
+        return new RegistroSimulacao(
+                textos.get(segmento.getInt(base + LIN_LOGIN)),
+                segmento.getInt(base + LIN_NUM_CRIATURAS),
+                segmento.getInt(base + LIN_MAX_ITERACOES),
+                segmento.getLong(base + LIN_SEMENTE),
+                segmento.getInt(base + LIN_ITERACOES),
+                segmento.get(base + LIN_BEM_SUCEDIDA) != 0,
+                idMotivo == SEM_TEXTO ? null : textos.get(idMotivo),
+                segmento.getLong(base + LIN_MOEDAS_GUARDIAO),
+                segmento.getLong(base + LIN_INICIO),
+                segmento.getLong(base + LIN_FIM));
+    }
+
+    private int deslocamento(int linha) {
+        return (linha % linhasPorSegmento) * LARGURA_LINHA;
+    }
+
+    /**
+     * Mapeia os segmentos até o da linha dada; o arquivo cresce ao mapear um
+     * segmento além do fim.
+     */
+    private MappedByteBuffer segmento(int linha, boolean criar) {
+        int indice = linha / linhasPorSegmento;
+        while (segmentos.size() <= indice) {
+            long inicio = TAMANHO_CABECALHO + (long) segmentos.size() * linhasPorSegmento * LARGURA_LINHA;
+            try {
+                if (!criar && inicio >= canal.size()) {
+                    throw new IllegalStateException("Armazém de resultados truncado");
+                }
+                segmentos.add(canal.map(FileChannel.MapMode.READ_WRITE, inicio,
+                        (long) linhasPorSegmento * LARGURA_LINHA));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return segmentos.get(indice);
+    }
+
+    private void indexar() {
+        for (int linha = 0; linha < numLinhas; linha++) {
+            MappedByteBuffer segmento = segmento(linha, false);
+            int base = deslocamento(linha);
+            indexarLinha(linha, segmento.getInt(base + LIN_LOGIN), segmento.get(base + LIN_BEM_SUCEDIDA) != 0);
+        }
+    }
+
+    private void indexarLinha(int linha, int idLogin, boolean bemSucedida) {
+        linhasPorUsuario.computeIfAbsent(idLogin, id -> new LinhasDoUsuario()).adicionar(linha);
+        if (bemSucedida) {
+            sucessos.set(linha);
+            numSucessos++;
+        }
+    }
+
+    private int idTexto(String texto) throws IOException {
+        Integer id = idsTextos.get(texto);
+        if (id != null) {
+            return id;
+        }
+        // O texto vai para o disco antes de qualquer linha que o use
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                arquivoTextos, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            saida.writeUTF(texto);
+        }
+        textos.add(texto);
+        idsTextos.put(texto, textos.size() - 1);
+        return textos.size() - 1;
+    }
+
+    private void carregarTextos() throws IOException {
+        if (!Files.exists(arquivoTextos)) {
+            return;
+        }
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivoTextos)))) {
+            while (true) {
+                String texto = entrada.readUTF();
+                idsTextos.put(texto, textos.size());
+                textos.add(texto);
+            }
+        } catch (EOFException e) {
+            // Fim do dicionário
+        }
+    }
+
+    /**
+     * Linhas de um usuário, em um array que cresce sob demanda.
+     */
+    private static final class LinhasDoUsuario {
+
+        private int[] linhas = new int[4];
+        private int tamanho;
+
+        void adicionar(int linha) {
+            if (tamanho == linhas.length) {
+                linhas = Arrays.copyOf(linhas, tamanho * 2);
+            }
+            linhas[tamanho++] = linha;
+        }
+    }
+}
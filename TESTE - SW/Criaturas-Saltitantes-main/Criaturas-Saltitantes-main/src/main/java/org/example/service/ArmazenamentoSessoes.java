@@ -0,0 +1,39 @@
+package org.example.service;
+
+import java.util.Optional;
+
+import org.example.model.Simulacao;
+
+/**
+ * Destino das sessões despejadas do registro do {@link SimuladorService},
+ * para que possam ser retomadas depois.
+ *
+ * <p>
+ * As implementações devem ser thread-safe: sessões diferentes podem ser
+ * salvas e carregadas ao mesmo tempo.</p>
+ */
+public interface ArmazenamentoSessoes {
+
+    /**
+     * Guarda a simulação de uma sessão despejada.
+     *
+     * @param idSessao Identificador da sessão
+     * @param simulacao Simulação da sessão, no estado em que foi despejada
+     */
+    void salvar(String idSessao, Simulacao simulacao);
+
+    /**
+     * Retira uma sessão guardada, se houver.
+     *
+     * @param idSessao Identificador da sessão
+     * @return a simulação guardada, que deixa de estar no armazenamento
+     */
+    Optional<Simulacao> carregar(String idSessao);
+
+    /**
+     * Descarta uma sessão guardada, se houver, sem restaurá-la.
+     *
+     * @param idSessao Identificador da sessão
+     */
+    void descartar(String idSessao);
+}
@@ -0,0 +1,110 @@
+package org.example.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.example.model.Simulacao;
+import org.example.model.Usuario;
+
+/**
+ * Guarda as sessões despejadas como checkpoints binários em um diretório
+ * (ver {@link Simulacao#salvarCheckpoint(Path)}), liberando a memória da
+ * simulação até que a sessão seja retomada.
+ *
+ * <p>
+ * Só o estado da simulação vai para o disco; o usuário de cada sessão fica
+ * em memória para ser associado de novo na restauração. Por isso as sessões
+ * guardadas não sobrevivem a um reinício: os checkpoints deixados no
+ * diretório por uma instância anterior são apagados quando o armazenamento
+ * é criado.</p>
+ */
+public class ArmazenamentoSessoesEmDisco implements ArmazenamentoSessoes {
+
+    private static final String EXTENSAO = ".ckpt";
+
+    private final Path diretorio;
+    private final Map<String, Usuario> usuarios = new ConcurrentHashMap<>();
+
+    /**
+     * @param diretorio Diretório onde os checkpoints são gravados (criado se
+     * não existir); checkpoints que já estiverem nele são apagados
+     * @throws UncheckedIOException se o diretório não puder ser criado ou
+     * limpo
+     */
+    public ArmazenamentoSessoesEmDisco(Path diretorio) {
+        this.diretorio = diretorio;
+        try {
+            Files.createDirectories(diretorio);
+            // Sem o usuário de cada sessão, checkpoints antigos não podem ser restaurados
+            try (DirectoryStream<Path> antigos = Files.newDirectoryStream(diretorio, "*" + EXTENSAO)) {
+                for (Path antigo : antigos) {
+                    Files.deleteIfExists(antigo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException se o checkpoint não puder ser gravado
+     */
+    @Override
+    public void salvar(String idSessao, Simulacao simulacao) {
+        try {
+            simulacao.salvarCheckpoint(arquivo(idSessao));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        usuarios.put(idSessao, simulacao.getUsuario());
+    }
+
+    /**
+     * @throws UncheckedIOException se o checkpoint não puder ser lido
+     */
+    @Override
+    public Optional<Simulacao> carregar(String idSessao) {
+        Usuario usuario = usuarios.remove(idSessao);
+        if (usuario == null) {
+            return Optional.empty();
+        }
+        Path arquivo = arquivo(idSessao);
+        try {
+            Simulacao simulacao = Simulacao.restaurarCheckpoint(arquivo, usuario);
+            Files.deleteIfExists(arquivo);
+            return Optional.of(simulacao);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException se o checkpoint não puder ser apagado
+     */
+    @Override
+    public void descartar(String idSessao) {
+        if (usuarios.remove(idSessao) == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(arquivo(idSessao));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path arquivo(String idSessao) {
+        // Ids arbitrários viram nomes de arquivo válidos em qualquer sistema
+        String nome = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(idSessao.getBytes(StandardCharsets.UTF_8));
+        return diretorio.resolve(nome + EXTENSAO);
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Histórico limitado de simulações concluídas.
+ *
+ * <p>
+ * Guarda em memória no máximo {@code capacidade} registros, os mais
+ * recentes. Ao passar do limite, o registro mais antigo é descartado ou, se
+ * houver arquivo de excedentes, acrescentado ao final dele. Os totais de
+ * simulações e de sucessos contam todos os registros desde a última limpeza,
+ * inclusive os que já saíram da memória. Thread-safe.</p>
+ *
+ * <p>
+ * Com um {@link ArmazemResultados}, todo registro vai para o armazém no
+ * momento em que é adicionado; a memória guarda só os mais recentes para
+ * consulta rápida, e os totais vêm do armazém, sobrevivendo a
+ * reinicializações. As consultas por usuário e por resultado usam os índices
+ * do armazém; sem ele, percorrem o arquivo de excedentes e a memória.</p>
+ */
+final class HistoricoSimulacoes {
+
+    private final ArrayDeque<RegistroSimulacao> recentes = new ArrayDeque<>();
+    private int capacidade;
+    private Path arquivoExcedentes;
+    private ArmazemResultados armazem;
+    private int total;
+    private int bemSucedidas;
+
+    HistoricoSimulacoes(int capacidade) {
+        this.capacidade = capacidade;
+    }
+
+    /**
+     * @param capacidade Registros mantidos em memória (positivo)
+     * @param arquivoExcedentes Arquivo para os registros que saem da memória,
+     * ou {@code null} para descartá-los
+     */
+    synchronized void configurar(int capacidade, Path arquivoExcedentes) {
+        this.capacidade = capacidade;
+        this.arquivoExcedentes = arquivoExcedentes;
+        retirarExcedentes();
+    }
+
+    /**
+     * Passa a usar (ou deixa de usar, com {@code null}) um armazém. Os
+     * registros recentes passam a ser os últimos do armazém.
+     */
+    synchronized void usarArmazem(ArmazemResultados armazem) {
+        this.armazem = armazem;
+        recentes.clear();
+        if (armazem != null) {
+            int registros = armazem.getTotal();
+            recentes.addAll(armazem.ler(Math.max(0, registros - capacidade), registros));
+        } else {
+            total = 0;
+            bemSucedidas = 0;
+        }
+    }
+
+    synchronized void adicionar(RegistroSimulacao registro) {
+        if (armazem != null) {
+            try {
+                armazem.adicionar(registro);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        recentes.addLast(registro);
+        total++;
+        if (registro.isBemSucedida()) {
+            bemSucedidas++;
+        }
+        retirarExcedentes();
+    }
+
+    /**
+     * @return registros em memória, do mais antigo ao mais recente
+     */
+    synchronized List<RegistroSimulacao> getRecentes() {
+        return List.copyOf(recentes);
+    }
+
+    /**
+     * Percorre, do mais antigo ao mais recente, os registros que saíram da
+     * memória, lendo um de cada vez do armazém ou do arquivo de excedentes,
+     * sem carregá-los todos.
+     *
+     * @param consumidor Recebe cada registro
+     * @throws UncheckedIOException se o arquivo não puder ser lido
+     */
+    synchronized void percorrerExcedentes(Consumer<RegistroSimulacao> consumidor) {
+        if (armazem != null) {
+            int excedentes = armazem.getTotal() - recentes.size();
+            for (int i = 0; i < excedentes; i++) {
+                consumidor.accept(armazem.ler(i));
+            }
+            return;
+        }
+        if (arquivoExcedentes == null || !Files.exists(arquivoExcedentes)) {
+            return;
+        }
+        try (DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(arquivoExcedentes)))) {
+            while (true) {
+                consumidor.accept(RegistroSimulacao.ler(entrada));
+            }
+        } catch (EOFException e) {
+            // Fim do arquivo
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param login Login do usuário
+     * @return registros do usuário, do mais antigo ao mais recente
+     * @throws UncheckedIOException se o arquivo de excedentes não puder ser
+     * lido
+     */
+    synchronized List<RegistroSimulacao> porUsuario(String login) {
+        if (armazem != null) {
+            return armazem.porUsuario(login);
+        }
+        List<RegistroSimulacao> registros = new ArrayList<>();
+        percorrerTodos(registro -> {
+            if (registro.getLogin().equals(login)) {
+                registros.add(registro);
+            }
+        });
+        return registros;
+    }
+
+    /**
+     * @param bemSucedida Resultado procurado
+     * @param limite Número máximo de registros
+     * @return os registros mais recentes com o resultado dado, até o limite,
+     * do mais antigo ao mais recente
+     * @throws UncheckedIOException se o arquivo de excedentes não puder ser
+     * lido
+     */
+    synchronized List<RegistroSimulacao> porResultado(boolean bemSucedida, int limite) {
+        if (armazem != null) {
+            return armazem.porResultado(bemSucedida, limite);
+        }
+        ArrayDeque<RegistroSimulacao> registros = new ArrayDeque<>();
+        if (limite > 0) {
+            percorrerTodos(registro -> {
+                if (registro.isBemSucedida() == bemSucedida) {
+                    if (registros.size() == limite) {
+                        registros.removeFirst();
+                    }
+                    registros.addLast(registro);
+                }
+            });
+        }
+        return new ArrayList<>(registros);
+    }
+
+    private void percorrerTodos(Consumer<RegistroSimulacao> consumidor) {
+        percorrerExcedentes(consumidor);
+        recentes.forEach(consumidor);
+    }
+
+    synchronized int getTotal() {
+        return armazem != null ? armazem.getTotal() : total;
+    }
+
+    synchronized int getBemSucedidas() {
+        return armazem != null ? armazem.getBemSucedidas() : bemSucedidas;
+    }
+
+    /**
+     * Apaga os registros, os totais e o arquivo de excedentes.
+     */
+    synchronized void limpar() {
+        recentes.clear();
+        total = 0;
+        bemSucedidas = 0;
+        if (armazem != null) {
+            armazem.limpar();
+        }
+        if (arquivoExcedentes != null) {
+            try {
+                Files.deleteIfExists(arquivoExcedentes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void retirarExcedentes() {
+        if (recentes.size() <= capacidade) {
+            return;
+        }
+        if (arquivoExcedentes == null || armazem != null) {
+            while (recentes.size() > capacidade) {
+                recentes.removeFirst();
+            }
+            return;
+        }
+        try (DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+                arquivoExcedentes, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            while (recentes.size() > capacidade) {
+                recentes.peekFirst().escrever(saida);
+                recentes.removeFirst();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+
+import org.example.model.Simulacao;
+
+/**
+ * Resumo de uma simulação concluída guardado no histórico do
+ * {@link SimuladorService}: usuário, parâmetros, resultado e horários, sem
+ * criaturas nem clusters.
+ *
+ * <p>
+ * Instâncias são imutáveis.</p>
+ */
+public final class RegistroSimulacao {
+
+    private final String login;
+    private final int numCriaturas;
+    private final int maxIteracoes;
+    private final long semente;
+    private final int iteracoes;
+    private final boolean bemSucedida;
+    private final String motivoConclusao;
+    private final long moedasGuardiao;
+    private final long inicio;
+    private final long fim;
+
+    RegistroSimulacao(String login, int numCriaturas, int maxIteracoes, long semente, int iteracoes,
+            boolean bemSucedida, String motivoConclusao, long moedasGuardiao, long inicio, long fim) {
+        this.login = login;
+        this.numCriaturas = numCriaturas;
+        this.maxIteracoes = maxIteracoes;
+        this.semente = semente;
+        this.iteracoes = iteracoes;
+        this.bemSucedida = bemSucedida;
+        this.motivoConclusao = motivoConclusao;
+        this.moedasGuardiao = moedasGuardiao;
+        this.inicio = inicio;
+        this.fim = fim;
+    }
+
+    /**
+     * @param simulacao Simulação já finalizada
+     * @param inicio Criação da simulação, em milissegundos desde a época
+     * @param fim Finalização da simulação, em milissegundos desde a época
+     */
+    static RegistroSimulacao de(Simulacao simulacao, long inicio, long fim) {
+        return new RegistroSimulacao(simulacao.getUsuario().getLogin(), simulacao.getNumeroCriaturas(),
+                simulacao.getMaxIteracoes(), simulacao.getSemente(), simulacao.getIteracoes(),
+                simulacao.isBemSucedida(), simulacao.getMotivoConclusao(), simulacao.getGuardiao().getMoedas(),
+                inicio, fim);
+    }
+
+    void escrever(DataOutput saida) throws IOException {
+        saida.writeUTF(login);
+        saida.writeInt(numCriaturas);
+        saida.writeInt(maxIteracoes);
+        saida.writeLong(semente);
+        saida.writeInt(iteracoes);
+        saida.writeBoolean(bemSucedida);
+        saida.writeBoolean(motivoConclusao != null);
+        if (motivoConclusao != null) {
+            saida.writeUTF(motivoConclusao);
+        }
+        saida.writeLong(moedasGuardiao);
+        saida.writeLong(inicio);
+        saida.writeLong(fim);
+    }
+
+    static RegistroSimulacao ler(DataInput entrada) throws IOException {
+        String login = entrada.readUTF();
+        int numCriaturas = entrada.readInt();
+        int maxIteracoes = entrada.readInt();
+        long semente = entrada.readLong();
+        int iteracoes = entrada.readInt();
+        boolean bemSucedida = entrada.readBoolean();
+        String motivoConclusao = entrada.readBoolean() ? entrada.readUTF() : null;
+        long moedasGuardiao = entrada.readLong();
+        long inicio = entrada.readLong();
+        long fim = entrada.readLong();
+        return new RegistroSimulacao(login, numCriaturas, maxIteracoes, semente, iteracoes, bemSucedida,
+                motivoConclusao, moedasGuardiao, inicio, fim);
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public int getNumCriaturas() {
+        return numCriaturas;
+    }
+
+    public int getMaxIteracoes() {
+        return maxIteracoes;
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public int getIteracoes() {
+        return iteracoes;
+    }
+
+    public boolean isBemSucedida() {
+        return bemSucedida;
+    }
+
+    /**
+     * @return motivo da conclusão, ou {@code null} se a simulação foi
+     * finalizada antes de terminar
+     */
+    public String getMotivoConclusao() {
+        return motivoConclusao;
+    }
+
+    public long getMoedasGuardiao() {
+        return moedasGuardiao;
+    }
+
+    public Instant getInicio() {
+        return Instant.ofEpochMilli(inicio);
+    }
+
+    public Instant getFim() {
+        return Instant.ofEpochMilli(fim);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RegistroSimulacao[usuario=%s, criaturas=%d, semente=%d, iteracoes=%d/%d, "
+                + "bemSucedida=%b, moedasGuardiao=%d]",
+                login, numCriaturas, semente, iteracoes, maxIteracoes, bemSucedida, moedasGuardiao);
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.example.model.Simulacao;
+
+/**
+ * Resultado agregado de um lote de simulações independentes (ver
+ * {@link SimuladorService#executarLote}).
+ *
+ * <p>
+ * Só guarda agregados, nunca as simulações: o tamanho não cresce com o número
+ * de execuções. Os valores não dependem da ordem em que as execuções
+ * terminaram, então o mesmo lote com a mesma semente base produz sempre o
+ * mesmo resultado.</p>
+ *
+ * <p>
+ * Instâncias são imutáveis.</p>
+ */
+public final class ResultadoLote {
+
+    private final int numExecucoes;
+    private final long sementeBase;
+    private final int numBemSucedidas;
+    private final long somaIteracoes;
+    private final int minIteracoes;
+    private final int maxIteracoes;
+    private final long somaMoedasGuardiao;
+    private final long maxMoedasGuardiao;
+    private final Map<String, Integer> motivosConclusao;
+
+    private ResultadoLote(Acumulador acumulador, long sementeBase) {
+        this.numExecucoes = acumulador.numExecucoes;
+        this.sementeBase = sementeBase;
+        this.numBemSucedidas = acumulador.numBemSucedidas;
+        this.somaIteracoes = acumulador.somaIteracoes;
+        this.minIteracoes = acumulador.minIteracoes;
+        this.maxIteracoes = acumulador.maxIteracoes;
+        this.somaMoedasGuardiao = acumulador.somaMoedasGuardiao;
+        this.maxMoedasGuardiao = acumulador.maxMoedasGuardiao;
+        this.motivosConclusao = Collections.unmodifiableMap(new TreeMap<>(acumulador.motivosConclusao));
+    }
+
+    public int getNumExecucoes() {
+        return numExecucoes;
+    }
+
+    public long getSementeBase() {
+        return sementeBase;
+    }
+
+    public int getNumBemSucedidas() {
+        return numBemSucedidas;
+    }
+
+    public double getTaxaSucesso() {
+        return (double) numBemSucedidas / numExecucoes;
+    }
+
+    public double getMediaIteracoes() {
+        return (double) somaIteracoes / numExecucoes;
+    }
+
+    public int getMinIteracoes() {
+        return minIteracoes;
+    }
+
+    public int getMaxIteracoes() {
+        return maxIteracoes;
+    }
+
+    public double getMediaMoedasGuardiao() {
+        return (double) somaMoedasGuardiao / numExecucoes;
+    }
+
+    public long getMaxMoedasGuardiao() {
+        return maxMoedasGuardiao;
+    }
+
+    /**
+     * @return número de execuções por motivo de conclusão (somente leitura)
+     */
+    public Map<String, Integer> getMotivosConclusao() {
+        return motivosConclusao;
+    }
+
+    /**
+     * @param motivo motivo de conclusão, por exemplo {@code "guardião venceu"}
+     * @return fração das execuções concluídas por esse motivo
+     */
+    public double getFrequencia(String motivo) {
+        return (double) motivosConclusao.getOrDefault(motivo, 0) / numExecucoes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ResultadoLote[execucoes=%d, taxaSucesso=%.4f, mediaIteracoes=%.2f, "
+                + "mediaMoedasGuardiao=%.2f, motivos=%s]",
+                numExecucoes, getTaxaSucesso(), getMediaIteracoes(), getMediaMoedasGuardiao(), motivosConclusao);
+    }
+
+    /**
+     * Agregação parcial de um trabalhador do lote. Não é thread-safe: cada
+     * trabalhador tem o seu, e os parciais são combinados no final.
+     */
+    static final class Acumulador {
+
+        private int numExecucoes;
+        private int numBemSucedidas;
+        private long somaIteracoes;
+        private int minIteracoes = Integer.MAX_VALUE;
+        private int maxIteracoes;
+        private long somaMoedasGuardiao;
+        private long maxMoedasGuardiao;
+        private final Map<String, Integer> motivosConclusao = new TreeMap<>();
+
+        void registrar(Simulacao simulacao) {
+            numExecucoes++;
+            if (simulacao.isBemSucedida()) {
+                numBemSucedidas++;
+            }
+            int iteracoes = simulacao.getIteracoes();
+            somaIteracoes += iteracoes;
+            minIteracoes = Math.min(minIteracoes, iteracoes);
+            maxIteracoes = Math.max(maxIteracoes, iteracoes);
+            long moedasGuardiao = simulacao.getGuardiao().getMoedas();
+            somaMoedasGuardiao += moedasGuardiao;
+            maxMoedasGuardiao = Math.max(maxMoedasGuardiao, moedasGuardiao);
+            motivosConclusao.merge(simulacao.getMotivoConclusao(), 1, Integer::sum);
+        }
+
+        void combinar(Acumulador outro) {
+            numExecucoes += outro.numExecucoes;
+            numBemSucedidas += outro.numBemSucedidas;
+            somaIteracoes += outro.somaIteracoes;
+            minIteracoes = Math.min(minIteracoes, outro.minIteracoes);
+            maxIteracoes = Math.max(maxIteracoes, outro.maxIteracoes);
+            somaMoedasGuardiao += outro.somaMoedasGuardiao;
+            maxMoedasGuardiao = Math.max(maxMoedasGuardiao, outro.maxMoedasGuardiao);
+            outro.motivosConclusao.forEach((motivo, quantidade)
+                    -> motivosConclusao.merge(motivo, quantidade, Integer::sum));
+        }
+
+        ResultadoLote resultado(long sementeBase) {
+            return new ResultadoLote(this, sementeBase);
+        }
+    }
+}
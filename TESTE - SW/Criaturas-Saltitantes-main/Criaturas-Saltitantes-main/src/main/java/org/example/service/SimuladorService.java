@@ -1,35 +1,124 @@
 package org.example.service;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.example.model.Cluster;
+import org.example.model.ConfiguracaoSimulacao;
 import org.example.model.Criatura;
 import org.example.model.GuardiaoHorizonte;
+import org.example.model.ResumoExecucao;
 import org.example.model.Simulacao;
 import org.example.model.Usuario;
 
 public class SimuladorService {
 
+    public static final int MAX_SESSOES_PADRAO = 1000;
+    public static final Duration TEMPO_OCIOSO_PADRAO = Duration.ofMinutes(30);
+    public static final int CAPACIDADE_HISTORICO_PADRAO = 10_000;
+
     private Simulacao simulacaoAtual;
-    private List<Simulacao> historicoSimulacoes;
+    private long inicioSimulacaoAtual;
+    private final HistoricoSimulacoes historicoSimulacoes;
+
+    // Registro de sessões simultâneas, independente da simulação atual
+    private final Map<String, Sessao> sessoes;
+    private final int maxSessoes;
+    private final Duration tempoOciosoMaximo;
+    private final Clock relogio;
+    private volatile ArmazenamentoSessoes armazenamento;
+    // Criação das sessões despejadas, restaurada quando são retomadas
+    private final Map<String, Long> iniciosDespejadas = new ConcurrentHashMap<>();
 
     public SimuladorService() {
-        this.historicoSimulacoes = new ArrayList<>();
+        this(MAX_SESSOES_PADRAO, TEMPO_OCIOSO_PADRAO, Clock.systemUTC());
+    }
+
+    /**
+     * @param maxSessoes Número máximo de sessões em memória; acima dele a
+     * sessão usada há mais tempo é despejada
+     * @param tempoOciosoMaximo Tempo sem uso após o qual uma sessão é
+     * despejada por {@link #despejarSessoesOciosas()}
+     * @param relogio Relógio usado para medir a ociosidade
+     * @throws IllegalArgumentException se maxSessoes não for positivo ou o
+     * tempo ocioso for negativo
+     */
+    public SimuladorService(int maxSessoes, Duration tempoOciosoMaximo, Clock relogio) {
+        if (maxSessoes < 1) {
+            throw new IllegalArgumentException("Número máximo de sessões deve ser positivo");
+        }
+        if (tempoOciosoMaximo == null || tempoOciosoMaximo.isNegative()) {
+            throw new IllegalArgumentException("Tempo ocioso máximo inválido");
+        }
+        if (relogio == null) {
+            throw new NullPointerException("Relógio não pode ser nulo");
+        }
+        this.historicoSimulacoes = new HistoricoSimulacoes(CAPACIDADE_HISTORICO_PADRAO);
+        this.sessoes = new ConcurrentHashMap<>();
+        this.maxSessoes = maxSessoes;
+        this.tempoOciosoMaximo = tempoOciosoMaximo;
+        this.relogio = relogio;
     }
 
     public Simulacao criarNovaSimulacao(Usuario usuario, int numCriaturas, int maxIteracoes) {
         if (usuario == null) {
             throw new NullPointerException("Usuário não pode ser nulo");
         }
-        if (numCriaturas < 1 || numCriaturas > 100) {
-            throw new IllegalArgumentException("Número de criaturas deve estar entre 1 e 100");
+        return criarNovaSimulacao(usuario, ConfiguracaoSimulacao.padrao(numCriaturas, maxIteracoes));
+    }
+
+    /**
+     * Cria uma simulação reproduzível: a mesma semente e os mesmos parâmetros
+     * produzem exatamente a mesma execução.
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param numCriaturas Número de criaturas (1-100)
+     * @param maxIteracoes Número máximo de iterações (1-10000)
+     * @param semente Semente mestre da simulação
+     * @return a nova simulação atual
+     */
+    public Simulacao criarNovaSimulacao(Usuario usuario, int numCriaturas, int maxIteracoes, long semente) {
+        if (usuario == null) {
+            throw new NullPointerException("Usuário não pode ser nulo");
         }
-        if (maxIteracoes < 1 || maxIteracoes > 10000) {
-            throw new IllegalArgumentException("Máximo de iterações deve estar entre 1 e 10000");
+        return criarNovaSimulacao(usuario,
+                ConfiguracaoSimulacao.padrao(numCriaturas, maxIteracoes).comSemente(semente));
+    }
+
+    /**
+     * Cria a simulação atual a partir de uma configuração, permitindo o modo
+     * grande escala ({@link ConfiguracaoSimulacao#grandeEscala(int, int)}).
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param configuracao Parâmetros já validados
+     * @return a nova simulação atual
+     */
+    public Simulacao criarNovaSimulacao(Usuario usuario, ConfiguracaoSimulacao configuracao) {
+        if (usuario == null) {
+            throw new NullPointerException("Usuário não pode ser nulo");
+        }
+        if (configuracao == null) {
+            throw new NullPointerException("Configuração não pode ser nula");
         }
 
-        simulacaoAtual = new Simulacao(usuario, numCriaturas, maxIteracoes);
+        simulacaoAtual = new Simulacao(usuario, configuracao);
+        inicioSimulacaoAtual = agora();
         return simulacaoAtual;
     }
 
@@ -43,53 +132,487 @@ public class SimuladorService {
         if (!continuar) {
             // Simulação terminou
             simulacaoAtual.finalizar();
-            historicoSimulacoes.add(simulacaoAtual);
+            registrarNoHistorico(simulacaoAtual, inicioSimulacaoAtual);
         }
 
         return continuar;
     }
 
+    /**
+     * Executa até {@code quantidade} iterações da simulação atual de uma vez.
+     * Se a simulação terminar no bloco, é finalizada e registrada no
+     * histórico, como em {@link #executarProximaIteracao()}.
+     *
+     * @param quantidade Número máximo de iterações (não negativo)
+     * @return resumo do bloco executado
+     */
+    public ResumoExecucao executarIteracoes(int quantidade) {
+        return executarNaSimulacaoAtual(simulacao -> simulacao.executarIteracoes(quantidade));
+    }
+
+    /**
+     * Executa a simulação atual até que a condição seja satisfeita, a
+     * simulação termine ou {@code maxIteracoes} sejam executadas.
+     *
+     * @see Simulacao#executarAte(Predicate, int)
+     */
+    public ResumoExecucao executarAte(Predicate<Simulacao> condicao, int maxIteracoes) {
+        return executarNaSimulacaoAtual(simulacao -> simulacao.executarAte(condicao, maxIteracoes));
+    }
+
+    /**
+     * Executa a simulação atual até esgotar o tempo ou a simulação terminar.
+     *
+     * @see Simulacao#executarPor(Duration)
+     */
+    public ResumoExecucao executarPor(Duration tempo) {
+        return executarNaSimulacaoAtual(simulacao -> simulacao.executarPor(tempo));
+    }
+
+    private ResumoExecucao executarNaSimulacaoAtual(Function<Simulacao, ResumoExecucao> bloco) {
+        if (simulacaoAtual == null) {
+            throw new IllegalStateException("Nenhuma simulação ativa");
+        }
+        ResumoExecucao resumo = bloco.apply(simulacaoAtual);
+        registrarSeConcluiu(simulacaoAtual, inicioSimulacaoAtual, resumo);
+        return resumo;
+    }
+
+    private void concluirSimulacaoAtual() {
+        executarNaSimulacaoAtual(simulacao -> simulacao.executarIteracoes(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Finaliza e registra no histórico a simulação que terminou neste bloco.
+     */
+    private void registrarSeConcluiu(Simulacao simulacao, long inicio, ResumoExecucao resumo) {
+        if (resumo.isConcluida() && resumo.getIteracoesExecutadas() > 0) {
+            simulacao.finalizar();
+            registrarNoHistorico(simulacao, inicio);
+        }
+    }
+
+    private void registrarNoHistorico(Simulacao simulacao, long inicio) {
+        historicoSimulacoes.adicionar(RegistroSimulacao.de(simulacao, inicio, agora()));
+    }
+
     public Simulacao executarSimulacaoCompleta(Usuario usuario, int numCriaturas, int maxIteracoes) {
         // Se já existe uma simulação ativa com os mesmos parâmetros, mas já teve iterações, finalize-a
         if (simulacaoAtual != null && !simulacaoAtual.isConcluida()
                 && simulacaoAtual.getUsuario().equals(usuario)
-                && simulacaoAtual.getCriaturas().size() == numCriaturas
+                && simulacaoAtual.getNumeroCriaturas() == numCriaturas
                 && simulacaoAtual.getMaxIteracoes() == maxIteracoes) {
 
             // Se a simulação já teve iterações executadas, finalize e crie nova
             if (simulacaoAtual.getIteracoes() > 0) {
                 simulacaoAtual.finalizar();
-                historicoSimulacoes.add(simulacaoAtual);
+                registrarNoHistorico(simulacaoAtual, inicioSimulacaoAtual);
 
                 criarNovaSimulacao(usuario, numCriaturas, maxIteracoes);
 
-                while (executarProximaIteracao()) {
-                    // Continua executando até terminar
-                }
+                concluirSimulacaoAtual();
             } else {
                 // Se não teve iterações ainda, apenas complete-a
-                while (executarProximaIteracao()) {
-                    // Continua executando até terminar
-                }
+                concluirSimulacaoAtual();
             }
         } else {
             // Se há uma simulação diferente ativa, finalize-a primeiro
             if (simulacaoAtual != null && !simulacaoAtual.isConcluida()) {
                 simulacaoAtual.finalizar();
-                historicoSimulacoes.add(simulacaoAtual);
+                registrarNoHistorico(simulacaoAtual, inicioSimulacaoAtual);
             }
 
             // Cria e executa uma nova simulação
             criarNovaSimulacao(usuario, numCriaturas, maxIteracoes);
 
-            while (executarProximaIteracao()) {
-                // Continua executando até terminar
-            }
+            concluirSimulacaoAtual();
         }
 
         return simulacaoAtual;
     }
 
+    /**
+     * Executa do início ao fim uma nova simulação com a configuração dada,
+     * finalizando antes a simulação atual se ela ainda estiver em andamento.
+     *
+     * @param usuario Usuário responsável pela simulação
+     * @param configuracao Parâmetros já validados
+     * @return a simulação concluída
+     */
+    public Simulacao executarSimulacaoCompleta(Usuario usuario, ConfiguracaoSimulacao configuracao) {
+        if (simulacaoAtual != null && !simulacaoAtual.isConcluida()) {
+            simulacaoAtual.finalizar();
+            registrarNoHistorico(simulacaoAtual, inicioSimulacaoAtual);
+        }
+
+        criarNovaSimulacao(usuario, configuracao);
+
+        concluirSimulacaoAtual();
+
+        return simulacaoAtual;
+    }
+
+    /**
+     * Executa um lote de simulações independentes (Monte Carlo) com um
+     * trabalhador por processador disponível.
+     *
+     * @see #executarLote(Usuario, ConfiguracaoSimulacao, int, long, int)
+     */
+    public ResultadoLote executarLote(Usuario usuario, ConfiguracaoSimulacao configuracao,
+            int numExecucoes, long sementeBase) {
+        return executarLote(usuario, configuracao, numExecucoes, sementeBase,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Executa um lote de simulações independentes (Monte Carlo) em um pool
+     * limitado de threads e devolve apenas os resultados agregados.
+     *
+     * <p>
+     * A semente de cada execução é derivada de {@code sementeBase}, então o
+     * mesmo lote produz o mesmo resultado qualquer que seja o paralelismo. As
+     * execuções do lote não passam pela simulação atual, não entram no
+     * histórico e não alteram a pontuação do usuário.</p>
+     *
+     * @param usuario Usuário responsável pelo lote
+     * @param configuracao Parâmetros de cada execução (a semente da
+     * configuração é ignorada)
+     * @param numExecucoes Número de simulações do lote (positivo)
+     * @param sementeBase Semente da qual derivam as sementes das execuções
+     * @param paralelismo Número máximo de threads (positivo)
+     * @return resultados agregados do lote
+     * @throws IllegalArgumentException se numExecucoes ou paralelismo não
+     * forem positivos
+     */
+    public ResultadoLote executarLote(Usuario usuario, ConfiguracaoSimulacao configuracao,
+            int numExecucoes, long sementeBase, int paralelismo) {
+        if (usuario == null) {
+            throw new NullPointerException("Usuário não pode ser nulo");
+        }
+        if (configuracao == null) {
+            throw new NullPointerException("Configuração não pode ser nula");
+        }
+        if (numExecucoes < 1) {
+            throw new IllegalArgumentException("Número de execuções deve ser positivo");
+        }
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo");
+        }
+
+        long[] sementes = new long[numExecucoes];
+        SplittableRandom gerador = new SplittableRandom(sementeBase);
+        for (int i = 0; i < numExecucoes; i++) {
+            sementes[i] = gerador.nextLong();
+        }
+        // O paralelismo fica entre as execuções, não dentro de cada uma
+        ConfiguracaoSimulacao base = configuracao.comLimiarParalelo(Integer.MAX_VALUE);
+
+        int numTrabalhadores = Math.min(paralelismo, numExecucoes);
+        AtomicInteger proxima = new AtomicInteger();
+        List<Callable<ResultadoLote.Acumulador>> trabalhadores = new ArrayList<>(numTrabalhadores);
+        for (int t = 0; t < numTrabalhadores; t++) {
+            trabalhadores.add(() -> {
+                ResultadoLote.Acumulador parcial = new ResultadoLote.Acumulador();
+                for (int i = proxima.getAndIncrement(); i < numExecucoes; i = proxima.getAndIncrement()) {
+                    Simulacao simulacao = new Simulacao(usuario, base.comSemente(sementes[i]));
+                    simulacao.executarIteracoes(Integer.MAX_VALUE);
+                    parcial.registrar(simulacao);
+                }
+                return parcial;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(numTrabalhadores);
+        try {
+            ResultadoLote.Acumulador total = new ResultadoLote.Acumulador();
+            for (Future<ResultadoLote.Acumulador> parcial : executor.invokeAll(trabalhadores)) {
+                total.combinar(parcial.get());
+            }
+            return total.resultado(sementeBase);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Execução do lote interrompida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na execução do lote", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Define onde as sessões despejadas são guardadas para serem retomadas.
+     * Sem armazenamento, uma sessão despejada é finalizada e vai para o
+     * histórico, como uma simulação atual substituída.
+     *
+     * @param armazenamento destino das sessões despejadas, ou {@code null}
+     */
+    public void setArmazenamentoSessoes(ArmazenamentoSessoes armazenamento) {
+        this.armazenamento = armazenamento;
+    }
+
+    /**
+     * Cria (ou substitui) a simulação de uma sessão. Sessões diferentes são
+     * independentes e podem ser usadas por threads diferentes ao mesmo tempo.
+     * A simulação anterior da sessão, em memória ou despejada, é finalizada e
+     * vai para o histórico.
+     *
+     * @param idSessao Identificador da sessão (por exemplo, o login)
+     * @param usuario Usuário responsável pela simulação
+     * @param configuracao Parâmetros já validados
+     * @return a simulação da sessão
+     */
+    public Simulacao criarSessao(String idSessao, Usuario usuario, ConfiguracaoSimulacao configuracao) {
+        if (idSessao == null) {
+            throw new NullPointerException("Sessão não pode ser nula");
+        }
+        if (usuario == null) {
+            throw new NullPointerException("Usuário não pode ser nulo");
+        }
+        if (configuracao == null) {
+            throw new NullPointerException("Configuração não pode ser nula");
+        }
+
+        long inicio = agora();
+        Sessao nova = new Sessao(new Simulacao(usuario, configuracao), inicio, inicio);
+        Sessao anterior = retirarSessao(idSessao, nova);
+        if (anterior != null) {
+            encerrar(anterior);
+        }
+
+        despejarSessoesOciosas();
+        while (sessoes.size() > maxSessoes && despejarMenosRecente(nova)) {
+            // Despeja até voltar ao limite
+        }
+        return nova.simulacao;
+    }
+
+    /**
+     * Executa a próxima iteração da simulação de uma sessão. Chamadas para a
+     * mesma sessão são serializadas; para sessões diferentes, simultâneas.
+     *
+     * @param idSessao Identificador da sessão
+     * @return {@code true} se a simulação deve continuar
+     * @throws IllegalStateException se a sessão não existir
+     */
+    public boolean executarProximaIteracao(String idSessao) {
+        return !executarIteracoes(idSessao, 1).isConcluida();
+    }
+
+    /**
+     * Executa até {@code quantidade} iterações da simulação de uma sessão de
+     * uma vez, com o lock da sessão adquirido uma única vez.
+     *
+     * @param idSessao Identificador da sessão
+     * @param quantidade Número máximo de iterações (não negativo)
+     * @return resumo do bloco executado
+     * @throws IllegalStateException se a sessão não existir
+     */
+    public ResumoExecucao executarIteracoes(String idSessao, int quantidade) {
+        return comSessao(idSessao, sessao -> {
+            ResumoExecucao resumo = sessao.simulacao.executarIteracoes(quantidade);
+            registrarSeConcluiu(sessao.simulacao, sessao.inicio, resumo);
+            return resumo;
+        });
+    }
+
+    /**
+     * Consulta a simulação de uma sessão com o lock da sessão adquirido, sem
+     * concorrer com as iterações de outras threads. A consulta não deve
+     * guardar a simulação para usá-la depois.
+     *
+     * @param idSessao Identificador da sessão
+     * @param consulta Função aplicada à simulação, retomada do armazenamento
+     * se a sessão tiver sido despejada
+     * @return resultado da consulta
+     * @throws IllegalStateException se a sessão não existir
+     */
+    public <T> T consultarSessao(String idSessao, Function<Simulacao, T> consulta) {
+        return comSessao(idSessao, sessao -> consulta.apply(sessao.simulacao));
+    }
+
+    private <T> T comSessao(String idSessao, Function<Sessao, T> operacao) {
+        while (true) {
+            Sessao sessao = obterSessao(idSessao);
+            sessao.lock.lock();
+            try {
+                if (sessao.encerrada) {
+                    continue; // Despejada ou substituída enquanto esperava
+                }
+                sessao.ultimoAcesso = agora();
+                return operacao.apply(sessao);
+            } finally {
+                sessao.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove a sessão, em memória ou despejada, finalizando a simulação se
+     * ainda estiver em andamento.
+     *
+     * @param idSessao Identificador da sessão
+     * @return {@code true} se a sessão existia
+     */
+    public boolean encerrarSessao(String idSessao) {
+        if (idSessao == null) {
+            throw new NullPointerException("Sessão não pode ser nula");
+        }
+        Sessao sessao = retirarSessao(idSessao, null);
+        if (sessao == null) {
+            return false;
+        }
+        encerrar(sessao);
+        return true;
+    }
+
+    /**
+     * Troca a sessão do registro pela substituta (ou a remove) e devolve a
+     * anterior, retomada do armazenamento se tiver sido despejada. A troca é
+     * feita sob o lock da chave no registro, então não concorre com a
+     * retomada de {@link #obterSessao(String)}.
+     */
+    private Sessao retirarSessao(String idSessao, Sessao substituta) {
+        Sessao[] anterior = new Sessao[1];
+        sessoes.compute(idSessao, (id, atual) -> {
+            anterior[0] = atual != null ? atual : retomarDespejada(id);
+            return substituta;
+        });
+        return anterior[0];
+    }
+
+    private void encerrar(Sessao sessao) {
+        sessao.lock.lock();
+        try {
+            sessao.encerrada = true;
+            finalizarSeEmAndamento(sessao);
+        } finally {
+            sessao.lock.unlock();
+        }
+    }
+
+    /**
+     * @return número de sessões em memória
+     */
+    public int getNumeroSessoes() {
+        return sessoes.size();
+    }
+
+    /**
+     * Despeja as sessões sem uso há mais que o tempo ocioso máximo. É chamado
+     * a cada nova sessão e pode ser agendado pela aplicação.
+     *
+     * @return número de sessões despejadas
+     */
+    public int despejarSessoesOciosas() {
+        long limite = agora() - tempoOciosoMaximo.toMillis();
+        int despejadas = 0;
+        for (Map.Entry<String, Sessao> entrada : sessoes.entrySet()) {
+            if (entrada.getValue().ultimoAcesso < limite
+                    && despejar(entrada.getKey(), entrada.getValue())) {
+                despejadas++;
+            }
+        }
+        return despejadas;
+    }
+
+    private Sessao obterSessao(String idSessao) {
+        if (idSessao == null) {
+            throw new NullPointerException("Sessão não pode ser nula");
+        }
+        Sessao sessao = sessoes.get(idSessao);
+        if (sessao != null) {
+            return sessao;
+        }
+
+        sessao = sessoes.computeIfAbsent(idSessao, this::retomarDespejada);
+        if (sessao == null) {
+            throw new IllegalStateException("Sessão não encontrada: " + idSessao);
+        }
+        return sessao;
+    }
+
+    /**
+     * Retira do armazenamento a cópia de uma sessão despejada, se houver.
+     */
+    private Sessao retomarDespejada(String idSessao) {
+        Long inicio = iniciosDespejadas.remove(idSessao);
+        ArmazenamentoSessoes destino = armazenamento;
+        if (destino == null) {
+            return null;
+        }
+        return destino.carregar(idSessao)
+                .map(simulacao -> {
+                    long retomada = agora();
+                    return new Sessao(simulacao, inicio != null ? inicio : retomada, retomada);
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Despeja a sessão usada há mais tempo, exceto a informada.
+     */
+    private boolean despejarMenosRecente(Sessao preservada) {
+        Map.Entry<String, Sessao> menosRecente = null;
+        for (Map.Entry<String, Sessao> entrada : sessoes.entrySet()) {
+            if (entrada.getValue() != preservada && (menosRecente == null
+                    || entrada.getValue().ultimoAcesso < menosRecente.getValue().ultimoAcesso)) {
+                menosRecente = entrada;
+            }
+        }
+        return menosRecente != null && despejar(menosRecente.getKey(), menosRecente.getValue());
+    }
+
+    /**
+     * Uma sessão em uso não é despejada: se o lock estiver ocupado, ela não
+     * está ociosa.
+     */
+    private boolean despejar(String idSessao, Sessao sessao) {
+        if (!sessao.lock.tryLock()) {
+            return false;
+        }
+        try {
+            if (sessao.encerrada || sessoes.get(idSessao) != sessao) {
+                return false;
+            }
+            // Grava antes de sair do registro: durante a gravação, quem procura a
+            // sessão a encontra em memória e espera pelo lock; depois, a acha no armazenamento
+            ArmazenamentoSessoes destino = armazenamento;
+            if (destino != null) {
+                destino.salvar(idSessao, sessao.simulacao);
+                iniciosDespejadas.put(idSessao, sessao.inicio);
+            }
+            if (!sessoes.remove(idSessao, sessao)) {
+                // Substituída ou encerrada durante a gravação: a cópia gravada não vale mais
+                if (destino != null) {
+                    iniciosDespejadas.remove(idSessao);
+                    destino.descartar(idSessao);
+                }
+                return false;
+            }
+            sessao.encerrada = true;
+            if (destino == null) {
+                finalizarSeEmAndamento(sessao);
+            }
+            return true;
+        } finally {
+            sessao.lock.unlock();
+        }
+    }
+
+    private void finalizarSeEmAndamento(Sessao sessao) {
+        if (!sessao.simulacao.isConcluida()) {
+            sessao.simulacao.finalizar();
+            registrarNoHistorico(sessao.simulacao, sessao.inicio);
+        }
+    }
+
+    private long agora() {
+        return relogio.millis();
+    }
+
     public String obterEstadoAtual() {
         if (simulacaoAtual == null) {
             return "Nenhuma simulação ativa";
@@ -155,29 +678,117 @@ public class SimuladorService {
         return simulacaoAtual;
     }
 
-    public List<Simulacao> getHistoricoSimulacoes() {
-        return List.copyOf(historicoSimulacoes);
+    /**
+     * Define quantos registros o histórico mantém em memória e para onde vão
+     * os mais antigos. Registros já em memória além da nova capacidade saem
+     * imediatamente.
+     *
+     * @param capacidade Registros mantidos em memória (positivo)
+     * @param arquivoExcedentes Arquivo ao qual os registros que saem da
+     * memória são acrescentados, ou {@code null} para descartá-los
+     * @throws IllegalArgumentException se a capacidade não for positiva
+     */
+    public void configurarHistorico(int capacidade, Path arquivoExcedentes) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade do histórico deve ser positiva");
+        }
+        historicoSimulacoes.configurar(capacidade, arquivoExcedentes);
+    }
+
+    /**
+     * Guarda o histórico em um armazém em disco: todo registro novo é gravado
+     * nele, os totais e a taxa de sucesso passam a vir dele (inclusive os de
+     * execuções anteriores do processo) e
+     * {@link #getHistoricoSimulacoes()} devolve os seus registros mais
+     * recentes. O armazém continua pertencendo a quem o abriu.
+     *
+     * @param armazem Armazém de resultados, ou {@code null} para voltar ao
+     * histórico só em memória (vazio)
+     */
+    public void usarArmazemResultados(ArmazemResultados armazem) {
+        historicoSimulacoes.usarArmazem(armazem);
+    }
+
+    /**
+     * @return registros das simulações concluídas mantidos em memória, do mais
+     * antigo ao mais recente (lista imutável)
+     */
+    public List<RegistroSimulacao> getHistoricoSimulacoes() {
+        return historicoSimulacoes.getRecentes();
+    }
+
+    /**
+     * Percorre os registros que já saíram da memória para o arquivo de
+     * excedentes ou para o armazém, do mais antigo ao mais recente, um de cada
+     * vez.
+     *
+     * @param consumidor Recebe cada registro
+     * @throws java.io.UncheckedIOException se o arquivo não puder ser lido
+     */
+    public void percorrerHistoricoEmDisco(Consumer<RegistroSimulacao> consumidor) {
+        if (consumidor == null) {
+            throw new NullPointerException("Consumidor não pode ser nulo");
+        }
+        historicoSimulacoes.percorrerExcedentes(consumidor);
+    }
+
+    /**
+     * Simulações de um usuário em todo o histórico (memória e disco). Com um
+     * armazém, a consulta usa o índice por usuário dele, sem percorrer os
+     * demais registros.
+     *
+     * @param login Login do usuário
+     * @return registros do usuário, do mais antigo ao mais recente
+     * @throws java.io.UncheckedIOException se o arquivo de excedentes não
+     * puder ser lido
+     */
+    public List<RegistroSimulacao> getHistoricoDoUsuario(String login) {
+        if (login == null) {
+            throw new NullPointerException("Login não pode ser nulo");
+        }
+        return historicoSimulacoes.porUsuario(login);
+    }
+
+    /**
+     * Simulações mais recentes com o resultado dado, em todo o histórico. Com
+     * um armazém, a consulta usa o índice de resultados dele.
+     *
+     * @param bemSucedida Resultado procurado
+     * @param limite Número máximo de registros (não negativo)
+     * @return até {@code limite} registros, do mais antigo ao mais recente
+     * @throws IllegalArgumentException se o limite for negativo
+     * @throws java.io.UncheckedIOException se o arquivo de excedentes não
+     * puder ser lido
+     */
+    public List<RegistroSimulacao> getHistoricoPorResultado(boolean bemSucedida, int limite) {
+        if (limite < 0) {
+            throw new IllegalArgumentException("Limite não pode ser negativo");
+        }
+        return historicoSimulacoes.porResultado(bemSucedida, limite);
     }
 
     public void limparHistorico() {
-        historicoSimulacoes.clear();
+        historicoSimulacoes.limpar();
     }
 
     public int getNumeroSimulacoesBemSucedidas() {
-        return (int) historicoSimulacoes.stream()
-                .filter(Simulacao::isBemSucedida)
-                .count();
+        return historicoSimulacoes.getBemSucedidas();
     }
 
+    /**
+     * @return simulações registradas desde a última limpeza, inclusive as que
+     * já saíram da memória
+     */
     public int getTotalSimulacoes() {
-        return historicoSimulacoes.size();
+        return historicoSimulacoes.getTotal();
     }
 
     public double getTaxaSucessoGeral() {
-        if (historicoSimulacoes.isEmpty()) {
+        int total = getTotalSimulacoes();
+        if (total == 0) {
             return 0.0;
         }
-        return (double) getNumeroSimulacoesBemSucedidas() / getTotalSimulacoes();
+        return (double) getNumeroSimulacoesBemSucedidas() / total;
     }
 
     public String executarSimulacao(Usuario usuario) {
@@ -202,4 +813,23 @@ public class SimuladorService {
 
         return resultado.toString();
     }
+
+    /**
+     * Simulação de uma sessão com o seu lock. {@code encerrada} marca a sessão
+     * retirada do registro, para que quem esperava pelo lock procure de novo.
+     */
+    private static final class Sessao {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Simulacao simulacao;
+        private final long inicio;
+        private volatile long ultimoAcesso;
+        private boolean encerrada;
+
+        Sessao(Simulacao simulacao, long inicio, long ultimoAcesso) {
+            this.simulacao = simulacao;
+            this.inicio = inicio;
+            this.ultimoAcesso = ultimoAcesso;
+        }
+    }
 }
@@ -26,6 +26,7 @@ public class SimulacaoPanel extends JDialog {
 
     private Timer timerSimulacao;
     private boolean simulacaoRodando = false;
+    private ContadoresSimulacao contadores;
 
     // Dimensões da visualização
     private static final int LARGURA_HORIZONTE = 500;
@@ -421,6 +422,10 @@ public class SimulacaoPanel extends JDialog {
                     .mapToInt(Criatura::getMoedas)
                     .sum();
 
+            // Contagens mantidas pelos eventos da simulação, sem recontar a cada iteração
+            contadores = new ContadoresSimulacao(numCriaturas, totalMoedasIniciais, sim.getGuardiao().getMoedas());
+            sim.adicionarOuvinte(contadores);
+
             txtLogSimulacao.append(String.format("Estado inicial: %d criaturas, %d moedas totais\n",
                     numCriaturas, totalMoedasIniciais));
             txtLogSimulacao.append(String.format("Guardião inicia na posição %.1f com 0 moedas\n\n",
@@ -471,20 +476,13 @@ public class SimulacaoPanel extends JDialog {
             lblIteracao.setText("Iteração: " + sim.getIteracoes());
             painelVisualizacao.repaint();
 
-            // Contar elementos atuais
-            long criaturasAtivas = sim.getCriaturas().stream().filter(Criatura::isAtiva).count();
-            int totalClusters = sim.getClusters().size();
-            int moedasGuardiao = sim.getGuardiao().getMoedas();
-
-            // Calcular total de moedas no sistema
-            int totalMoedasCriaturas = sim.getCriaturas().stream()
-                    .filter(Criatura::isAtiva)
-                    .mapToInt(Criatura::getMoedas)
-                    .sum();
-            int totalMoedasClusters = sim.getClusters().stream()
-                    .mapToInt(Cluster::getTotalMoedas)
-                    .sum();
-            int totalMoedas = totalMoedasCriaturas + totalMoedasClusters + moedasGuardiao;
+            // Elementos atuais, atualizados pelos eventos da iteração
+            int criaturasAtivas = contadores.criaturasAtivas;
+            int totalClusters = contadores.clusters;
+            long moedasGuardiao = contadores.moedasGuardiao;
+            long totalMoedasCriaturas = contadores.moedasCriaturas;
+            long totalMoedasClusters = contadores.moedasClusters;
+            long totalMoedas = totalMoedasCriaturas + totalMoedasClusters + moedasGuardiao;
 
             // Atualizar estatísticas em tempo real
             String estatisticas = String.format(
@@ -565,4 +563,62 @@ public class SimulacaoPanel extends JDialog {
             usuarioService.atualizarPontuacao(usuario.getLogin(), 0);
         }
     }
+
+    /**
+     * Contagens da simulação em andamento, atualizadas a cada evento.
+     */
+    private static final class ContadoresSimulacao implements OuvinteSimulacao {
+
+        private int criaturasAtivas;
+        private int clusters;
+        private long moedasCriaturas;
+        private long moedasClusters;
+        private long moedasGuardiao;
+
+        ContadoresSimulacao(int criaturasAtivas, long moedasCriaturas, long moedasGuardiao) {
+            this.criaturasAtivas = criaturasAtivas;
+            this.moedasCriaturas = moedasCriaturas;
+            this.moedasGuardiao = moedasGuardiao;
+        }
+
+        @Override
+        public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+            criaturasAtivas -= 2;
+            clusters++;
+            moedasCriaturas -= moedas;
+            moedasClusters += moedas;
+        }
+
+        @Override
+        public void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+            criaturasAtivas--;
+            moedasCriaturas -= moedas;
+            moedasClusters += moedas;
+        }
+
+        @Override
+        public void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+            moedasCriaturas -= quantidade;
+            moedasClusters += quantidade;
+        }
+
+        @Override
+        public void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+            clusters--;
+        }
+
+        @Override
+        public void criaturaEliminada(int idCriatura, long moedas) {
+            criaturasAtivas--;
+            moedasCriaturas -= moedas;
+            moedasGuardiao += moedas;
+        }
+
+        @Override
+        public void clusterEliminado(int idCluster, long moedas) {
+            clusters--;
+            moedasClusters -= moedas;
+            moedasGuardiao += moedas;
+        }
+    }
 }
@@ -1,7 +1,12 @@
 package org.example.boundaries;
 
+import org.example.model.Cluster;
+import org.example.model.ConfiguracaoSimulacao;
+import org.example.model.Criatura;
+import org.example.model.Simulacao;
 import org.example.model.Usuario;
 import org.example.service.SimuladorService;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.DisplayName;
@@ -42,4 +47,54 @@ class SimuladorBoundaryTest {
     void criarSimulacao_MaxIteracoes() {
         assertNotNull(simuladorService.criarNovaSimulacao(usuario, 5, 10000));
     }
+
+    @Test
+    @DisplayName("Teste de fronteira - Modo padrão continua rejeitando 101 criaturas")
+    void configuracaoPadrao_RejeitaAcimaDoLimite() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfiguracaoSimulacao.padrao(101, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfiguracaoSimulacao.padrao(5, 10001));
+    }
+
+    @Test
+    @DisplayName("Teste de fronteira - Modo grande escala aceita além dos limites da interface")
+    void configuracaoGrandeEscala_AceitaAlemDoPadrao() {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.grandeEscala(101, 10001);
+        assertNotNull(simuladorService.criarNovaSimulacao(usuario, configuracao));
+        assertEquals(101, simuladorService.getSimulacaoAtual().getNumeroCriaturas());
+    }
+
+    @Test
+    @DisplayName("Teste de fronteira - Modo grande escala respeita seus próprios limites")
+    void configuracaoGrandeEscala_LimitesProprios() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfiguracaoSimulacao.grandeEscala(0, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfiguracaoSimulacao.grandeEscala(ConfiguracaoSimulacao.MAX_CRIATURAS_GRANDE_ESCALA + 1, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> ConfiguracaoSimulacao.grandeEscala(5, ConfiguracaoSimulacao.MAX_ITERACOES_GRANDE_ESCALA + 1));
+    }
+
+    @Test
+    @DisplayName("Teste de fronteira - Total de moedas acima de Integer.MAX_VALUE não transborda")
+    void grandeEscala_MoedasSemOverflow() {
+        int numCriaturas = 5_000; // 5 bilhões de moedas
+        Simulacao simulacao = simuladorService.criarNovaSimulacao(usuario,
+                ConfiguracaoSimulacao.grandeEscala(numCriaturas, 50));
+
+        while (simuladorService.executarProximaIteracao()) {
+            // executa até o fim
+        }
+
+        long total = simulacao.getCriaturas().stream()
+                .filter(Criatura::isAtiva)
+                .mapToLong(Criatura::getMoedas)
+                .sum()
+                + simulacao.getClusters().stream()
+                        .mapToLong(Cluster::getTotalMoedas)
+                        .sum()
+                + simulacao.getGuardiao().getMoedas();
+        assertEquals(numCriaturas * 1_000_000L, total);
+    }
 }
@@ -1,5 +1,7 @@
 package org.example.domain;
 
+import java.util.List;
+
 import org.example.model.Cluster;
 import org.example.model.Criatura;
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,4 +64,19 @@ class ClusterDomainTest {
         assertEquals(1, cluster.getTamanho());
         assertEquals(10.5, cluster.getPosicao(), 0.001);
     }
+
+    @Test
+    @DisplayName("Membros devem ser expostos como visão somente leitura")
+    void membrosSomenteLeitura() {
+        cluster.adicionarCriatura(criatura1);
+        List<Criatura> membros = cluster.getCriaturas();
+        cluster.adicionarCriatura(criatura2);
+
+        assertAll(
+                () -> assertEquals(List.of(criatura1, criatura2), membros),
+                () -> assertArrayEquals(new int[]{1, 2}, cluster.getIdsCriaturas()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> membros.add(criatura1)),
+                () -> assertThrows(UnsupportedOperationException.class, () -> membros.remove(0))
+        );
+    }
 }
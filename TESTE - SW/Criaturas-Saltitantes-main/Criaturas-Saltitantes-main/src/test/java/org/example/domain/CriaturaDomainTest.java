@@ -66,6 +66,22 @@ class CriaturaDomainTest {
         assertEquals(-5.0, criatura.getPosicao(), 0.001);
     }
 
+    @Test
+    @DisplayName("Criatura parada em 0 não deve se mover nem consumir sorteios")
+    void criaturaEmZeroNaoSorteia() {
+        Criatura parada = new Criatura(1, 0.0, 42L);
+        Criatura referencia = new Criatura(2, 30.0, 42L);
+
+        parada.mover();
+        parada.mover();
+        assertEquals(0.0, parada.getPosicao());
+
+        parada.setPosicao(30.0);
+        parada.mover();
+        referencia.mover();
+        assertEquals(referencia.getPosicao(), parada.getPosicao());
+    }
+
     @Test
     @DisplayName("Deve transferir moedas corretamente")
     void transferirMoedas_ValoresValidos() {
@@ -22,7 +22,7 @@ class GuardiaoDomainTest {
     @DisplayName("Deve coletar moedas corretamente")
     void coletarMoedas() {
         GuardiaoHorizonte guardiao = new GuardiaoHorizonte(50.0);
-        int moedasIniciais = guardiao.getMoedas();
+        long moedasIniciais = guardiao.getMoedas();
 
         // Simula coleta de moedas somando ao valor inicial
         guardiao.setMoedas(moedasIniciais + 500_000);
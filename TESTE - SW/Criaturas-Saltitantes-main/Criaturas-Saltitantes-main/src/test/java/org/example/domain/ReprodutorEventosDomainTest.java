@@ -0,0 +1,206 @@
+package org.example.domain;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.model.ConfiguracaoSimulacao;
+import org.example.model.GravadorEventos;
+import org.example.model.OuvinteSimulacao;
+import org.example.model.QuadroSimulacao;
+import org.example.model.ReprodutorEventos;
+import org.example.model.Simulacao;
+import org.example.model.Usuario;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Testes de domínio para a gravação e reprodução de simulações
+ * ({@link GravadorEventos} e {@link ReprodutorEventos}).
+ */
+class ReprodutorEventosDomainTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario("test_user", "password123", "avatar.png");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Reprodução deve reconstruir o estado de qualquer iteração")
+    void reproducaoReconstroiTodasAsIteracoes(boolean motorVetorial) throws IOException {
+        Path arquivo = diretorio.resolve("sim.log");
+        List<QuadroSimulacao> quadros = gravar(motorVetorial, arquivo);
+
+        try (ReprodutorEventos reprodutor = ReprodutorEventos.abrir(arquivo)) {
+            assertEquals(0, reprodutor.getPrimeiraIteracao());
+            assertEquals(quadros.size() - 1, reprodutor.getUltimaIteracao());
+            for (int i = quadros.size() - 1; i >= 0; i--) {
+                assertEquals(quadros.get(i), reprodutor.quadroNaIteracao(i), "iteração " + i);
+            }
+            assertThrows(IllegalArgumentException.class, () -> reprodutor.quadroNaIteracao(quadros.size()));
+        }
+        assertTrue(quadros.get(quadros.size() - 1).isConcluida());
+    }
+
+    @Test
+    @DisplayName("Reprodução deve entregar os mesmos eventos da execução original")
+    void reproducaoEntregaOsMesmosEventos() throws IOException {
+        Path arquivo = diretorio.resolve("sim.log");
+        Simulacao simulacao = new Simulacao(usuario, ConfiguracaoSimulacao.padrao(30, 300).comSemente(9L));
+        List<String> originais = new ArrayList<>();
+        simulacao.adicionarOuvinte(new RegistroTextual(originais));
+        try (GravadorEventos gravador = GravadorEventos.gravar(simulacao, arquivo, 10)) {
+            simulacao.executarIteracoes(300);
+        }
+
+        List<String> reproduzidos = new ArrayList<>();
+        try (ReprodutorEventos reprodutor = ReprodutorEventos.abrir(arquivo)) {
+            reprodutor.reproduzir(new RegistroTextual(reproduzidos));
+        }
+        assertEquals(originais, reproduzidos);
+    }
+
+    @Test
+    @DisplayName("Registro interrompido deve ser legível até a última iteração completa")
+    void registroInterrompidoLegivel() throws IOException {
+        Path arquivo = diretorio.resolve("sim.log");
+        List<QuadroSimulacao> quadros = gravar(false, arquivo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(canal.size() * 2 / 3);
+        }
+
+        try (ReprodutorEventos reprodutor = ReprodutorEventos.abrir(arquivo)) {
+            int ultima = reprodutor.getUltimaIteracao();
+            assertAll(
+                    () -> assertTrue(ultima > 0),
+                    () -> assertTrue(ultima < quadros.size() - 1),
+                    () -> assertEquals(quadros.get(ultima), reprodutor.quadroNaIteracao(ultima)),
+                    () -> assertEquals(quadros.get(ultima / 2), reprodutor.quadroNaIteracao(ultima / 2))
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Reprodução deve acompanhar fusões e roubos entre clusters")
+    void reproducaoComFusaoERouboEntreClusters() throws IOException {
+        Path arquivo = diretorio.resolve("sim.log");
+        List<QuadroSimulacao> quadros = gravar(ConfiguracaoSimulacao.padrao(80, 400).comSemente(5L)
+                .comFusaoClusters().comRouboPorIteracao(), arquivo);
+
+        try (ReprodutorEventos reprodutor = ReprodutorEventos.abrir(arquivo)) {
+            for (int i = 0; i < quadros.size(); i++) {
+                assertEquals(quadros.get(i), reprodutor.quadroNaIteracao(i), "iteração " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Reprodução deve manter as criaturas paradas, que não são regravadas")
+    void reproducaoComCriaturasParadas() throws IOException {
+        // No ponto fixo boa parte das criaturas para em 0 e deixa de aparecer nas iterações
+        Path arquivo = diretorio.resolve("sim.log");
+        List<QuadroSimulacao> quadros = gravar(ConfiguracaoSimulacao.padrao(100, 400).comSemente(7L)
+                .comPontoFixo(), arquivo);
+
+        QuadroSimulacao ultimo = quadros.get(quadros.size() - 1);
+        int paradas = 0;
+        for (int i = 0; i < ultimo.getNumCriaturas(); i++) {
+            if (ultimo.getPosicaoCriatura(i) == 0.0) {
+                paradas++;
+            }
+        }
+        assertTrue(paradas > 0);
+        try (ReprodutorEventos reprodutor = ReprodutorEventos.abrir(arquivo)) {
+            for (int i = 0; i < quadros.size(); i++) {
+                assertEquals(quadros.get(i), reprodutor.quadroNaIteracao(i), "iteração " + i);
+            }
+        }
+    }
+
+    private List<QuadroSimulacao> gravar(boolean motorVetorial, Path arquivo) throws IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(40, 400).comSemente(13L);
+        return gravar(motorVetorial ? configuracao.comMotorVetorial() : configuracao, arquivo);
+    }
+
+    /**
+     * Grava uma simulação completa e devolve o quadro de cada iteração,
+     * capturado durante a execução.
+     */
+    private List<QuadroSimulacao> gravar(ConfiguracaoSimulacao configuracao, Path arquivo) throws IOException {
+        Simulacao simulacao = new Simulacao(usuario, configuracao);
+        List<QuadroSimulacao> quadros = new ArrayList<>();
+        quadros.add(QuadroSimulacao.capturar(simulacao));
+
+        try (GravadorEventos gravador = GravadorEventos.gravar(simulacao, arquivo, 7)) {
+            simulacao.adicionarOuvinte(new OuvinteSimulacao() {
+                @Override
+                public void iteracaoExecutada(int iteracao) {
+                    quadros.add(QuadroSimulacao.capturar(simulacao));
+                }
+            });
+            simulacao.executarIteracoes(configuracao.getMaxIteracoes());
+        }
+        return quadros;
+    }
+
+    private static final class RegistroTextual implements OuvinteSimulacao {
+
+        private final List<String> eventos;
+
+        RegistroTextual(List<String> eventos) {
+            this.eventos = eventos;
+        }
+
+        @Override
+        public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+            eventos.add("formado " + idCluster + " " + idCriatura1 + " " + idCriatura2 + " " + moedas);
+        }
+
+        @Override
+        public void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+            eventos.add("absorvida " + idCluster + " " + idCriatura + " " + moedas);
+        }
+
+        @Override
+        public void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+            eventos.add("roubo " + idCluster + " " + idCriatura + " " + quantidade);
+        }
+
+        @Override
+        public void criaturaEliminada(int idCriatura, long moedas) {
+            eventos.add("criatura eliminada " + idCriatura + " " + moedas);
+        }
+
+        @Override
+        public void clusterEliminado(int idCluster, long moedas) {
+            eventos.add("cluster eliminado " + idCluster + " " + moedas);
+        }
+
+        @Override
+        public void simulacaoConcluida(int iteracoes, boolean bemSucedida, String motivo) {
+            eventos.add("concluida " + iteracoes + " " + bemSucedida + " " + motivo);
+        }
+
+        @Override
+        public void iteracaoExecutada(int iteracao) {
+            eventos.add("iteracao " + iteracao);
+        }
+    }
+}
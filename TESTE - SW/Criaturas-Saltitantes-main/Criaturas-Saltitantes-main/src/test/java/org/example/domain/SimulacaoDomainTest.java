@@ -5,8 +5,13 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -146,4 +151,528 @@ class SimulacaoDomainTest {
                 () -> assertEquals("Simulação concluída - todas criaturas desativadas", simulacao.getStatus())
         );
     }
+
+    @Test
+    @DisplayName("Mesma semente deve reproduzir exatamente a mesma execução")
+    void mesmaSementeReproduzExecucao() {
+        Simulacao primeira = new Simulacao(usuario, 20, 1000, 123L);
+        Simulacao segunda = new Simulacao(usuario, 20, 1000, 123L);
+
+        while (primeira.executarIteracao()) {
+            assertTrue(segunda.executarIteracao());
+        }
+        assertFalse(segunda.executarIteracao());
+
+        List<Criatura> criaturasPrimeira = primeira.getCriaturas();
+        List<Criatura> criaturasSegunda = segunda.getCriaturas();
+        assertAll(
+                () -> assertEquals(123L, primeira.getSemente()),
+                () -> assertEquals(primeira.getIteracoes(), segunda.getIteracoes()),
+                () -> assertEquals(primeira.getStatus(), segunda.getStatus()),
+                () -> assertEquals(primeira.getGuardiao().getPosicao(), segunda.getGuardiao().getPosicao()),
+                () -> assertEquals(primeira.getGuardiao().getMoedas(), segunda.getGuardiao().getMoedas()),
+                () -> assertEquals(primeira.getClusters().size(), segunda.getClusters().size())
+        );
+        for (int i = 0; i < criaturasPrimeira.size(); i++) {
+            assertEquals(criaturasPrimeira.get(i).getPosicao(), criaturasSegunda.get(i).getPosicao());
+            assertEquals(criaturasPrimeira.get(i).getMoedas(), criaturasSegunda.get(i).getMoedas());
+        }
+    }
+
+    @Test
+    @DisplayName("Guardião deve eliminar a criatura que está na sua posição")
+    void guardiaoEliminaCriaturaNaSuaPosicao() {
+        Simulacao sim = new Simulacao(usuario, 5, 100, 7L);
+        List<Criatura> criaturas = sim.getCriaturas();
+        double[] posicoes = {0.0, 20.0, 40.0, 60.0, 80.0};
+        for (int i = 0; i < criaturas.size(); i++) {
+            criaturas.get(i).setPosicao(posicoes[i]);
+        }
+        sim.getGuardiao().setPosicao(0.0); // Posição 0 não se move
+        long moedasIniciais = sim.getGuardiao().getMoedas();
+
+        sim.executarIteracao();
+
+        assertAll(
+                () -> assertFalse(criaturas.get(0).isAtiva()),
+                () -> assertTrue(criaturas.subList(1, 5).stream().allMatch(Criatura::isAtiva)),
+                () -> assertEquals(moedasIniciais + 1_000_000, sim.getGuardiao().getMoedas())
+        );
+    }
+
+    @Test
+    @DisplayName("Criaturas alteradas entre iterações devem ser consideradas na detecção")
+    void alteracaoEntreIteracoesConsideradaNaDeteccao() {
+        Simulacao sim = new Simulacao(usuario, 5, 100, 7L);
+        sim.getGuardiao().setPosicao(0.0);
+        sim.executarIteracao();
+
+        List<Criatura> ativas = sim.getCriaturas().stream().filter(Criatura::isAtiva).toList();
+        for (int i = 0; i < ativas.size(); i++) {
+            ativas.get(i).setPosicao(10.0 + i * 10); // Sem colisões
+        }
+        ativas.get(1).setPosicao(ativas.get(0).getPosicao());
+
+        sim.executarIteracao();
+
+        assertEquals(1, sim.getClusters().size());
+        assertTrue(sim.getClusters().get(0).getCriaturas()
+                .containsAll(List.of(ativas.get(0), ativas.get(1))));
+    }
+
+    @Test
+    @DisplayName("Criatura reativada deve voltar a participar da simulação")
+    void criaturaReativadaVoltaAParticipar() {
+        Simulacao sim = new Simulacao(usuario, 3, 100, 7L);
+        List<Criatura> criaturas = sim.getCriaturas();
+        criaturas.get(0).desativar();
+        criaturas.get(0).setAtiva(true);
+        criaturas.get(0).setPosicao(30.0);
+        criaturas.get(1).setPosicao(60.0);
+        criaturas.get(2).setPosicao(30.0);
+        sim.getGuardiao().setPosicao(0.0);
+
+        sim.executarIteracao();
+
+        assertEquals(1, sim.getClusters().size());
+        assertEquals(List.of(criaturas.get(0), criaturas.get(2)), sim.getClusters().get(0).getCriaturas());
+        assertTrue(criaturas.get(1).isAtiva());
+    }
+
+    @Test
+    @DisplayName("Colisões em lote devem ser todas resolvidas na mesma iteração")
+    void colisoesEmLoteResolvidasNaMesmaIteracao() {
+        Simulacao sim = new Simulacao(usuario, ConfiguracaoSimulacao.padrao(6, 100).comSemente(7L).comColisoesEmLote());
+        List<Criatura> criaturas = sim.getCriaturas();
+        double[] posicoes = {20.0, 50.0, 20.0, 80.0, 50.0, 20.0};
+        for (int i = 0; i < posicoes.length; i++) {
+            criaturas.get(i).setPosicao(posicoes[i]);
+        }
+        sim.getGuardiao().setPosicao(0.0);
+
+        sim.executarIteracao();
+
+        List<Cluster> clusters = sim.getClusters();
+        assertEquals(2, clusters.size());
+        assertEquals(List.of(criaturas.get(0), criaturas.get(2), criaturas.get(5)), clusters.get(0).getCriaturas());
+        assertEquals(List.of(criaturas.get(1), criaturas.get(4)), clusters.get(1).getCriaturas());
+        assertTrue(criaturas.get(3).isAtiva());
+    }
+
+    @Test
+    @DisplayName("Colisões em lote devem comparar cada criatura com a posição atualizada do cluster")
+    void colisoesEmLoteUsamPosicaoAtualizadaDoCluster() {
+        Simulacao sim = new Simulacao(usuario, ConfiguracaoSimulacao.padrao(20, 500).comSemente(7L).comColisoesEmLote());
+        while (sim.getClusters().isEmpty() && sim.executarIteracao()) {
+            // executa até o primeiro cluster
+        }
+        List<Criatura> ativas = sim.getCriaturas().stream().filter(Criatura::isAtiva).toList();
+        assertFalse(sim.getClusters().isEmpty());
+        assertTrue(ativas.size() >= 2);
+
+        // A entrada de x desloca o cluster para a posição de y, que deve entrar em seguida
+        Cluster cluster = sim.getClusters().get(0);
+        int tamanho = cluster.getTamanho();
+        double soma = cluster.getCriaturas().stream().mapToDouble(Criatura::getPosicao).sum();
+        double posicao = 12.345678;
+        cluster.setPosicao(posicao);
+        Criatura x = ativas.get(0);
+        Criatura y = ativas.get(ativas.size() - 1);
+        x.setPosicao(posicao);
+        y.setPosicao((soma + posicao) / (tamanho + 1));
+
+        sim.executarIteracao();
+
+        assertEquals(tamanho + 2, cluster.getTamanho());
+        assertFalse(x.isAtiva());
+        assertFalse(y.isAtiva());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Colisões em lote devem conservar moedas e sobreviver ao checkpoint")
+    void colisoesEmLoteConservamMoedas(boolean motorVetorial, @TempDir Path diretorio) throws IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(100, 600).comSemente(3L).comColisoesEmLote();
+        Simulacao sim = new Simulacao(usuario, motorVetorial ? configuracao.comMotorVetorial() : configuracao);
+        long moedasIniciais = 100 * 1_000_000L + sim.getGuardiao().getMoedas();
+        sim.executarIteracoes(100);
+
+        Path arquivo = diretorio.resolve("sim.ckpt");
+        sim.salvarCheckpoint(arquivo);
+        Simulacao restaurada = Simulacao.restaurarCheckpoint(arquivo, usuario);
+        sim.executarIteracoes(500);
+        restaurada.executarIteracoes(500);
+        assertEstadoIgual(sim, restaurada);
+
+        long moedas = sim.getGuardiao().getMoedas()
+                + sim.getCriaturas().stream().filter(Criatura::isAtiva).mapToLong(Criatura::getMoedas).sum()
+                + sim.getClusters().stream().mapToLong(Cluster::getTotalMoedas).sum();
+        assertEquals(moedasIniciais, moedas);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Ponto fixo deve manter posições na grade, formar clusters e sobreviver ao checkpoint")
+    void pontoFixoMantemPosicoesNaGrade(boolean colisoesEmLote, @TempDir Path diretorio) throws IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(100, 600).comSemente(4L).comPontoFixo();
+        Simulacao sim = new Simulacao(usuario, colisoesEmLote ? configuracao.comColisoesEmLote() : configuracao);
+        long moedasIniciais = 100 * 1_000_000L + sim.getGuardiao().getMoedas();
+        int[] clustersFormados = {0};
+        sim.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+                clustersFormados[0]++;
+            }
+        });
+        sim.executarIteracoes(100);
+
+        Path arquivo = diretorio.resolve("sim.ckpt");
+        sim.salvarCheckpoint(arquivo);
+        Simulacao restaurada = Simulacao.restaurarCheckpoint(arquivo, usuario);
+        sim.executarIteracoes(500);
+        restaurada.executarIteracoes(500);
+        assertEstadoIgual(sim, restaurada);
+
+        assertTrue(clustersFormados[0] > 0);
+        assertNaGrade(sim.getGuardiao().getPosicao());
+        sim.getCriaturas().forEach(c -> assertNaGrade(c.getPosicao()));
+        sim.getClusters().forEach(c -> assertNaGrade(c.getPosicao()));
+        long moedas = sim.getGuardiao().getMoedas()
+                + sim.getCriaturas().stream().filter(Criatura::isAtiva).mapToLong(Criatura::getMoedas).sum()
+                + sim.getClusters().stream().mapToLong(Cluster::getTotalMoedas).sum();
+        assertEquals(moedasIniciais, moedas);
+    }
+
+    private static void assertNaGrade(double posicao) {
+        assertEquals(Math.round(posicao * 1e9) / 1e9, posicao);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Roubo por iteração deve tirar de criaturas e clusters conservando moedas")
+    void rouboPorIteracaoConservaMoedas(boolean motorVetorial) {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(100, 300).comSemente(8L).comRouboPorIteracao();
+        Simulacao sim = new Simulacao(usuario, motorVetorial ? configuracao.comMotorVetorial() : configuracao);
+        long moedasIniciais = 100 * 1_000_000L + sim.getGuardiao().getMoedas();
+        int[] roubosDeCluster = {0};
+        sim.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void moedasRoubadasDeCluster(int idCluster, int idRoubado, long quantidade) {
+                assertNotEquals(idCluster, idRoubado);
+                assertTrue(quantidade >= 0);
+                roubosDeCluster[0]++;
+            }
+        });
+
+        while (sim.executarIteracao()) {
+            long moedas = sim.getGuardiao().getMoedas()
+                    + sim.getCriaturas().stream().filter(Criatura::isAtiva).mapToLong(Criatura::getMoedas).sum()
+                    + sim.getClusters().stream().mapToLong(Cluster::getTotalMoedas).sum();
+            assertEquals(moedasIniciais, moedas);
+        }
+        assertTrue(roubosDeCluster[0] > 0);
+    }
+
+    @Test
+    @DisplayName("Configuração estática deve avançar direto ao término com o mesmo resultado")
+    void configuracaoEstaticaAvancaAoTermino() {
+        Simulacao passoAPasso = simulacaoEstatica();
+        Simulacao emBloco = simulacaoEstatica();
+        int[] iteracoesNotificadas = {0};
+        emBloco.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void iteracaoExecutada(int iteracao) {
+                assertEquals(++iteracoesNotificadas[0], iteracao);
+            }
+        });
+
+        while (passoAPasso.executarIteracao()) {
+            assertEquals(0.0, passoAPasso.getCriaturas().get(0).getPosicao());
+        }
+        ResumoExecucao resumo = emBloco.executarIteracoes(10_000);
+
+        assertAll(
+                () -> assertTrue(emBloco.isConcluida()),
+                () -> assertEquals(ResumoExecucao.Parada.CONCLUIDA, resumo.getParada()),
+                () -> assertEquals(passoAPasso.getIteracoes(), emBloco.getIteracoes()),
+                () -> assertEquals(emBloco.getIteracoes(), iteracoesNotificadas[0]),
+                () -> assertEquals(passoAPasso.getMotivoConclusao(), emBloco.getMotivoConclusao()),
+                () -> assertEquals(passoAPasso.getGuardiao().getPosicao(), emBloco.getGuardiao().getPosicao()),
+                () -> assertEquals(passoAPasso.getGuardiao().getMoedas(), emBloco.getGuardiao().getMoedas()),
+                () -> assertEquals("todas criaturas desativadas", emBloco.getMotivoConclusao()),
+                () -> assertTrue(emBloco.getGuardiao().getPosicao() < 0.000000001)
+        );
+    }
+
+    /**
+     * Uma única criatura ativa, parada em 0, e o guardião longe dela.
+     */
+    private Simulacao simulacaoEstatica() {
+        Simulacao sim = new Simulacao(usuario, 3, 10_000, 4L);
+        List<Criatura> criaturas = sim.getCriaturas();
+        criaturas.get(0).setPosicao(0.0);
+        criaturas.get(1).desativar();
+        criaturas.get(2).desativar();
+        sim.getGuardiao().setPosicao(60.0);
+        return sim;
+    }
+
+    @Test
+    @DisplayName("Bloco de iterações deve avançar como iterações individuais")
+    void blocoDeIteracoesEquivaleAIteracoesIndividuais() {
+        Simulacao emBloco = new Simulacao(usuario, 20, 1000, 11L);
+        Simulacao passoAPasso = new Simulacao(usuario, 20, 1000, 11L);
+
+        ResumoExecucao resumo = emBloco.executarIteracoes(15);
+        for (int i = 0; i < 15; i++) {
+            passoAPasso.executarIteracao();
+        }
+
+        assertAll(
+                () -> assertEquals(ResumoExecucao.Parada.ITERACOES, resumo.getParada()),
+                () -> assertEquals(15, resumo.getIteracoesExecutadas()),
+                () -> assertEquals(15, resumo.getIteracaoAtual()),
+                () -> assertEquals(passoAPasso.getNumeroCriaturasAtivas(), resumo.getNumCriaturasAtivas()),
+                () -> assertEquals(passoAPasso.getClusters().size(), resumo.getNumClusters()),
+                () -> assertEquals(passoAPasso.getGuardiao().getMoedas(), resumo.getMoedasGuardiao())
+        );
+    }
+
+    @Test
+    @DisplayName("Bloco de iterações deve parar na condição, no tempo ou na conclusão")
+    void blocoDeIteracoesParaNaCondicaoTempoOuConclusao() {
+        Simulacao sim = new Simulacao(usuario, 20, 1000, 11L);
+
+        ResumoExecucao condicao = sim.executarAte(s -> s.getIteracoes() == 7, 100);
+        ResumoExecucao semTempo = sim.executarPor(java.time.Duration.ZERO);
+        ResumoExecucao ateOFim = sim.executarIteracoes(Integer.MAX_VALUE);
+
+        assertAll(
+                () -> assertEquals(ResumoExecucao.Parada.CONDICAO, condicao.getParada()),
+                () -> assertEquals(7, condicao.getIteracaoAtual()),
+                () -> assertEquals(ResumoExecucao.Parada.TEMPO, semTempo.getParada()),
+                () -> assertEquals(0, semTempo.getIteracoesExecutadas()),
+                () -> assertTrue(ateOFim.isConcluida()),
+                () -> assertTrue(sim.isConcluida()),
+                () -> assertEquals(sim.getMotivoConclusao(), ateOFim.getMotivoConclusao()),
+                () -> assertEquals(0, sim.executarIteracoes(5).getIteracoesExecutadas())
+        );
+        assertThrows(IllegalArgumentException.class, () -> sim.executarIteracoes(-1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Eventos devem permitir acompanhar contagens e moedas sem recontar")
+    void eventosAcompanhamEstadoDaSimulacao(boolean motorVetorial) {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(40, 2000).comSemente(21L);
+        Simulacao sim = new Simulacao(usuario, motorVetorial ? configuracao.comMotorVetorial() : configuracao);
+        long[] estado = {40, 0, 40_000_000L, 0, sim.getGuardiao().getMoedas(), 0}; // ativas, clusters, moedas C/Cl/G, conclusões
+        sim.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+                estado[0] -= 2;
+                estado[1]++;
+                estado[2] -= moedas;
+                estado[3] += moedas;
+            }
+
+            @Override
+            public void criaturaAbsorvida(int idCluster, int idCriatura, long moedas) {
+                estado[0]--;
+                estado[2] -= moedas;
+                estado[3] += moedas;
+            }
+
+            @Override
+            public void moedasRoubadas(int idCluster, int idCriatura, long quantidade) {
+                estado[2] -= quantidade;
+                estado[3] += quantidade;
+            }
+
+            @Override
+            public void criaturaEliminada(int idCriatura, long moedas) {
+                estado[0]--;
+                estado[2] -= moedas;
+                estado[4] += moedas;
+            }
+
+            @Override
+            public void clusterEliminado(int idCluster, long moedas) {
+                estado[1]--;
+                estado[3] -= moedas;
+                estado[4] += moedas;
+            }
+
+            @Override
+            public void simulacaoConcluida(int iteracoes, boolean bemSucedida, String motivo) {
+                estado[5]++;
+            }
+        });
+
+        while (sim.executarIteracao()) {
+            List<Criatura> ativas = sim.getCriaturas().stream().filter(Criatura::isAtiva).toList();
+            assertAll(
+                    () -> assertEquals(ativas.size(), estado[0]),
+                    () -> assertEquals(sim.getClusters().size(), estado[1]),
+                    () -> assertEquals(ativas.stream().mapToLong(Criatura::getMoedas).sum(), estado[2]),
+                    () -> assertEquals(sim.getClusters().stream().mapToLong(Cluster::getTotalMoedas).sum(), estado[3]),
+                    () -> assertEquals(sim.getGuardiao().getMoedas(), estado[4])
+            );
+        }
+        assertEquals(1, estado[5]);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Clusters na mesma posição devem se fundir conservando moedas e membros")
+    void fusaoClustersConservaMoedasEMembros(boolean motorVetorial, @TempDir Path diretorio) throws IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(100, 1000).comSemente(5L).comFusaoClusters();
+        Simulacao sim = new Simulacao(usuario, motorVetorial ? configuracao.comMotorVetorial() : configuracao);
+        long moedasIniciais = 100 * 1_000_000L + sim.getGuardiao().getMoedas();
+        int[] fusoes = {0};
+        sim.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+                assertNotEquals(idCluster, idAbsorvido);
+                fusoes[0]++;
+            }
+        });
+
+        for (int i = 0; i < 200 && sim.executarIteracao(); i++) {
+            List<Criatura> criaturas = sim.getCriaturas();
+            List<Cluster> clusters = sim.getClusters();
+            long moedas = sim.getGuardiao().getMoedas()
+                    + criaturas.stream().filter(Criatura::isAtiva).mapToLong(Criatura::getMoedas).sum()
+                    + clusters.stream().mapToLong(Cluster::getTotalMoedas).sum();
+            double[] posicoes = clusters.stream().mapToDouble(Cluster::getPosicao).sorted().toArray();
+            assertEquals(moedasIniciais, moedas);
+            for (int k = 1; k < posicoes.length; k++) {
+                assertTrue(posicoes[k] - posicoes[k - 1] >= 0.000000001, "clusters coincidentes não fundidos");
+            }
+            assertTrue(clusters.stream().allMatch(c -> c.getCriaturas().size() == c.getTamanho()));
+        }
+        assertTrue(fusoes[0] > 0);
+
+        Path arquivo = diretorio.resolve("sim.ckpt");
+        sim.salvarCheckpoint(arquivo);
+        Simulacao restaurada = Simulacao.restaurarCheckpoint(arquivo, usuario);
+        sim.executarIteracoes(300);
+        restaurada.executarIteracoes(300);
+        assertEstadoIgual(sim, restaurada);
+    }
+
+    @Test
+    @DisplayName("Na fusão em cadeia deve permanecer o maior cluster, e não o lado mais pesado da cadeia")
+    void fusaoEmCadeiaMantemOMaiorCluster() {
+        Simulacao sim = new Simulacao(usuario, ConfiguracaoSimulacao.padrao(100, 1000).comSemente(5L).comFusaoClusters());
+        sim.executarAte(s -> s.getNumeroClusters() >= 3, 1000);
+        List<Cluster> clusters = sim.getClusters();
+        assertTrue(clusters.size() >= 3);
+
+        // Tamanhos m, m e m + 1: unidos em cadeia, os dois primeiros pesam 2m, mais que o terceiro
+        Cluster primeiro = clusters.get(0);
+        Cluster segundo = clusters.get(1);
+        Cluster maior = clusters.get(2);
+        int m = Math.max(primeiro.getTamanho(), Math.max(segundo.getTamanho(), maior.getTamanho()));
+        int proximoId = 10_000;
+        for (Cluster cluster : List.of(primeiro, segundo, maior)) {
+            int tamanho = cluster == maior ? m + 1 : m;
+            while (cluster.getTamanho() < tamanho) {
+                cluster.adicionarCriatura(new Criatura(proximoId++, 0.0));
+            }
+            cluster.setPosicao(0.0); // Em 0 os clusters não se movem e coincidem
+        }
+        int tamanhoFundido = 3 * m + 1;
+        List<Integer> absorvidos = new ArrayList<>();
+        sim.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void clustersFundidos(int idCluster, int idAbsorvido, long moedas) {
+                assertEquals(maior.getId(), idCluster);
+                absorvidos.add(idAbsorvido);
+            }
+        });
+
+        sim.executarIteracao();
+
+        assertEquals(List.of(primeiro.getId(), segundo.getId()), absorvidos);
+        assertEquals(tamanhoFundido, maior.getTamanho());
+        assertEquals(0, primeiro.getTamanho());
+        assertEquals(0, segundo.getTamanho());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    @DisplayName("Simulação restaurada de checkpoint deve continuar igual à original")
+    void checkpointContinuaComoSimulacaoOriginal(boolean motorVetorial, @TempDir Path diretorio) throws IOException {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(30, 500).comSemente(17L);
+        if (motorVetorial) {
+            configuracao = configuracao.comMotorVetorial();
+        }
+        Simulacao original = new Simulacao(usuario, configuracao);
+        Simulacao referencia = new Simulacao(usuario, configuracao);
+        original.executarIteracoes(7);
+        referencia.executarIteracoes(7);
+
+        Path arquivo = diretorio.resolve("sim.ckpt");
+        original.salvarCheckpoint(arquivo);
+        Simulacao restaurada = Simulacao.restaurarCheckpoint(arquivo, usuario);
+        assertEstadoIgual(referencia, restaurada);
+
+        referencia.executarIteracoes(500);
+        restaurada.executarIteracoes(500);
+        assertEstadoIgual(referencia, restaurada);
+        assertSame(usuario, restaurada.getUsuario());
+    }
+
+    @Test
+    @DisplayName("Checkpoint corrompido deve ser rejeitado")
+    void checkpointCorrompidoRejeitado(@TempDir Path diretorio) throws IOException {
+        simulacao.executarIteracoes(3);
+        Path arquivo = diretorio.resolve("sim.ckpt");
+        simulacao.salvarCheckpoint(arquivo);
+
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[bytes.length / 2] ^= 0x10;
+        Files.write(arquivo, bytes);
+        assertThrows(IOException.class, () -> Simulacao.restaurarCheckpoint(arquivo, usuario));
+
+        Files.write(arquivo, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> Simulacao.restaurarCheckpoint(arquivo, usuario));
+    }
+
+    private static void assertEstadoIgual(Simulacao esperada, Simulacao atual) {
+        assertAll(
+                () -> assertEquals(esperada.getIteracoes(), atual.getIteracoes()),
+                () -> assertEquals(esperada.isConcluida(), atual.isConcluida()),
+                () -> assertEquals(esperada.getMotivoConclusao(), atual.getMotivoConclusao()),
+                () -> assertEquals(esperada.getGuardiao().getPosicao(), atual.getGuardiao().getPosicao()),
+                () -> assertEquals(esperada.getGuardiao().getMoedas(), atual.getGuardiao().getMoedas())
+        );
+        List<Criatura> criaturasEsperadas = esperada.getCriaturas();
+        List<Criatura> criaturas = atual.getCriaturas();
+        assertEquals(criaturasEsperadas.size(), criaturas.size());
+        for (int i = 0; i < criaturas.size(); i++) {
+            Criatura e = criaturasEsperadas.get(i);
+            Criatura a = criaturas.get(i);
+            assertAll(
+                    () -> assertEquals(e.getId(), a.getId()),
+                    () -> assertEquals(e.getPosicao(), a.getPosicao()),
+                    () -> assertEquals(e.getMoedas(), a.getMoedas()),
+                    () -> assertEquals(e.isAtiva(), a.isAtiva())
+            );
+        }
+        // Ids de clusters vêm de um contador global, então só o conteúdo é comparado
+        List<Cluster> clustersEsperados = esperada.getClusters();
+        List<Cluster> clusters = atual.getClusters();
+        assertEquals(clustersEsperados.size(), clusters.size());
+        for (int c = 0; c < clusters.size(); c++) {
+            Cluster e = clustersEsperados.get(c);
+            Cluster a = clusters.get(c);
+            assertAll(
+                    () -> assertEquals(e.getPosicao(), a.getPosicao()),
+                    () -> assertEquals(e.getTotalMoedas(), a.getTotalMoedas()),
+                    () -> assertEquals(e.getTamanho(), a.getTamanho())
+            );
+        }
+    }
 }
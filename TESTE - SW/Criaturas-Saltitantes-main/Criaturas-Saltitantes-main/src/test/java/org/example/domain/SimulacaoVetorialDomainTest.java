@@ -0,0 +1,198 @@
+package org.example.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.example.model.*;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Testes de domínio para a simulação executada pelo motor vetorial.
+ *
+ * <p>
+ * Verifica que a fachada {@link Simulacao} mantém as mesmas regras quando o
+ * estado fica em arrays primitivos.</p>
+ */
+class SimulacaoVetorialDomainTest {
+
+    private Simulacao simulacao;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuario = new Usuario("test_user", "password123", "avatar.png");
+        simulacao = Simulacao.comMotorVetorial(usuario, 50, 500);
+    }
+
+    @Test
+    @DisplayName("Deve criar simulação vetorial com parâmetros válidos")
+    void criarSimulacao_ParametrosValidos() {
+        assertAll(
+                () -> assertEquals(50, simulacao.getCriaturas().size()),
+                () -> assertTrue(simulacao.getCriaturas().stream().allMatch(Criatura::isAtiva)),
+                () -> assertTrue(simulacao.getCriaturas().stream()
+                        .allMatch(c -> c.getMoedas() == 1_000_000)),
+                () -> assertTrue(simulacao.getClusters().isEmpty()),
+                () -> assertEquals(0, simulacao.getIteracoes())
+        );
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar parâmetros inválidos como a simulação padrão")
+    void criarSimulacao_ParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Simulacao.comMotorVetorial(usuario, 0, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> Simulacao.comMotorVetorial(usuario, 5, 0));
+    }
+
+    @Test
+    @DisplayName("Deve manter total de moedas constante")
+    void conservacaoDeMoedas() {
+        long totalInicial = calcularTotalMoedas(simulacao);
+
+        while (simulacao.executarIteracao()) {
+            assertEquals(totalInicial, calcularTotalMoedas(simulacao));
+        }
+        assertEquals(totalInicial, calcularTotalMoedas(simulacao));
+    }
+
+    @Test
+    @DisplayName("Deve terminar dentro do máximo de iterações")
+    void terminarDentroDoMaximo() {
+        while (simulacao.executarIteracao()) {
+            // executa até o fim
+        }
+
+        assertAll(
+                () -> assertTrue(simulacao.isConcluida()),
+                () -> assertTrue(simulacao.getIteracoes() <= 500)
+        );
+    }
+
+    @Test
+    @DisplayName("Membros dos clusters devem estar inativos")
+    void membrosDosClustersInativos() {
+        for (int i = 0; i < 200 && simulacao.executarIteracao(); i++) {
+            for (Cluster cluster : simulacao.getClusters()) {
+                assertEquals(cluster.getTamanho(), cluster.getCriaturas().size());
+                assertTrue(cluster.getCriaturas().stream().noneMatch(Criatura::isAtiva));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Movimento paralelo deve ser idêntico ao sequencial para a mesma semente")
+    void movimentoParaleloIdenticoAoSequencial() {
+        ConfiguracaoSimulacao base = ConfiguracaoSimulacao.grandeEscala(20_000, 30).comSemente(42L);
+        Simulacao sequencial = new Simulacao(usuario, base.comLimiarParalelo(Integer.MAX_VALUE));
+        Simulacao paralela = new Simulacao(usuario, base.comLimiarParalelo(1));
+
+        while (sequencial.executarIteracao()) {
+            assertTrue(paralela.executarIteracao());
+        }
+        assertFalse(paralela.executarIteracao());
+
+        List<Criatura> criaturasSequencial = sequencial.getCriaturas();
+        List<Criatura> criaturasParalela = paralela.getCriaturas();
+        for (int i = 0; i < criaturasSequencial.size(); i++) {
+            assertEquals(criaturasSequencial.get(i).getPosicao(), criaturasParalela.get(i).getPosicao());
+            assertEquals(criaturasSequencial.get(i).getMoedas(), criaturasParalela.get(i).getMoedas());
+        }
+        assertEquals(sequencial.getClusters().size(), paralela.getClusters().size());
+        assertEquals(sequencial.getGuardiao().getPosicao(), paralela.getGuardiao().getPosicao());
+        assertEquals(sequencial.getGuardiao().getMoedas(), paralela.getGuardiao().getMoedas());
+    }
+
+    @Test
+    @DisplayName("Blocos com criaturas paradas em 0 devem mover igual em paralelo e em sequência")
+    void blocosEsparsosIdenticosAoSequencial() {
+        // No ponto fixo as criaturas chegam a 0 em poucas centenas de iterações e os blocos esvaziam
+        ConfiguracaoSimulacao base = ConfiguracaoSimulacao.grandeEscala(10_000, 400).comSemente(7L).comPontoFixo();
+        Simulacao sequencial = new Simulacao(usuario, base.comLimiarParalelo(Integer.MAX_VALUE));
+        Simulacao paralela = new Simulacao(usuario, base.comLimiarParalelo(1));
+        sequencial.executarIteracoes(400);
+        paralela.executarIteracoes(400);
+
+        List<Criatura> criaturasSequencial = sequencial.getCriaturas();
+        List<Criatura> criaturasParalela = paralela.getCriaturas();
+        assertTrue(criaturasSequencial.stream().filter(c -> c.getPosicao() == 0.0).count() > 1000);
+        for (int i = 0; i < criaturasSequencial.size(); i++) {
+            double posicao = criaturasSequencial.get(i).getPosicao();
+            assertTrue(posicao >= 0 && posicao <= 100);
+            assertEquals(posicao, criaturasParalela.get(i).getPosicao());
+        }
+        assertEquals(sequencial.getIteracoes(), paralela.getIteracoes());
+        assertEquals(sequencial.getGuardiao().getMoedas(), paralela.getGuardiao().getMoedas());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"padrao", "fusao", "lote", "roubo", "todas"})
+    @DisplayName("Os dois motores devem produzir a mesma execução para a mesma semente")
+    void motoresIdenticosParaAMesmaSemente(String opcoes) {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(80, 600).comSemente(21L);
+        if (opcoes.equals("fusao") || opcoes.equals("todas")) {
+            configuracao = configuracao.comFusaoClusters();
+        }
+        if (opcoes.equals("lote") || opcoes.equals("todas")) {
+            configuracao = configuracao.comColisoesEmLote();
+        }
+        if (opcoes.equals("roubo") || opcoes.equals("todas")) {
+            configuracao = configuracao.comRouboPorIteracao();
+        }
+        Simulacao objetos = new Simulacao(usuario, configuracao);
+        Simulacao vetorial = new Simulacao(usuario, configuracao.comMotorVetorial());
+
+        assertEquals(QuadroSimulacao.capturar(objetos), QuadroSimulacao.capturar(vetorial));
+        boolean formouCluster = false;
+        while (objetos.executarIteracao()) {
+            assertTrue(vetorial.executarIteracao());
+            assertEquals(QuadroSimulacao.capturar(objetos), QuadroSimulacao.capturar(vetorial),
+                    "iteração " + objetos.getIteracoes());
+            formouCluster |= objetos.getNumeroClusters() > 0;
+        }
+        assertFalse(vetorial.executarIteracao());
+        assertEquals(QuadroSimulacao.capturar(objetos), QuadroSimulacao.capturar(vetorial));
+        assertTrue(formouCluster);
+    }
+
+    @Test
+    @DisplayName("Ids dos clusters devem ser próprios de cada simulação")
+    void idsDosClustersPorSimulacao() {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(80, 300).comSemente(21L).comMotorVetorial();
+        List<Integer> primeira = idsFormados(new Simulacao(usuario, configuracao));
+        List<Integer> segunda = idsFormados(new Simulacao(usuario, configuracao));
+
+        assertFalse(primeira.isEmpty());
+        assertEquals(1000, primeira.get(0));
+        assertEquals(primeira, segunda);
+    }
+
+    private static List<Integer> idsFormados(Simulacao simulacao) {
+        List<Integer> ids = new ArrayList<>();
+        simulacao.adicionarOuvinte(new OuvinteSimulacao() {
+            @Override
+            public void clusterFormado(int idCluster, int idCriatura1, int idCriatura2, long moedas) {
+                ids.add(idCluster);
+            }
+        });
+        simulacao.executarIteracoes(simulacao.getMaxIteracoes());
+        return ids;
+    }
+
+    private long calcularTotalMoedas(Simulacao sim) {
+        return sim.getCriaturas().stream()
+                .filter(Criatura::isAtiva)
+                .mapToLong(Criatura::getMoedas)
+                .sum()
+                + sim.getClusters().stream()
+                        .mapToLong(Cluster::getTotalMoedas)
+                        .sum()
+                + sim.getGuardiao().getMoedas();
+    }
+}
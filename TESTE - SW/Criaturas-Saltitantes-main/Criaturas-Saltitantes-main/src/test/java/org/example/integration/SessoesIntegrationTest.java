@@ -0,0 +1,283 @@
+package org.example.integration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.example.model.ConfiguracaoSimulacao;
+import org.example.model.Simulacao;
+import org.example.model.Usuario;
+import org.example.service.ArmazenamentoSessoes;
+import org.example.service.ArmazenamentoSessoesEmDisco;
+import org.example.service.SimuladorService;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessoesIntegrationTest {
+
+    private RelogioManual relogio;
+    private SimuladorService simuladorService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        relogio = new RelogioManual();
+        simuladorService = new SimuladorService(2, Duration.ofMinutes(10), relogio);
+        usuario = new Usuario("teste", "senha", "avatar.png");
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Sessões simultâneas não interferem entre si")
+    void sessoesSimultaneas_Independentes() throws Exception {
+        SimuladorService servico = new SimuladorService();
+        List<String> ids = List.of("a", "b", "c", "d");
+        for (String id : ids) {
+            servico.criarSessao(id, usuario, ConfiguracaoSimulacao.padrao(20, 300).comSemente(5L));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        try {
+            List<Future<Integer>> iteracoes = new ArrayList<>();
+            for (String id : ids) {
+                iteracoes.add(executor.submit(() -> {
+                    while (servico.executarProximaIteracao(id)) {
+                        // Continua executando até terminar
+                    }
+                    return servico.consultarSessao(id, Simulacao::getIteracoes);
+                }));
+            }
+            // Mesma semente: todas as sessões devem chegar ao mesmo resultado
+            int esperado = iteracoes.get(0).get();
+            for (Future<Integer> resultado : iteracoes) {
+                assertEquals(esperado, resultado.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(ids.size(), servico.getHistoricoSimulacoes().size());
+        assertEquals(ids.size(), usuario.getTotalSimulacoes());
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Sessão procurada durante o despejo é encontrada")
+    void sessaoProcuradaDuranteDespejo_Encontrada() throws Exception {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ArmazenamentoMemoria armazenamento = new ArmazenamentoMemoria() {
+            @Override
+            public void salvar(String idSessao, Simulacao simulacao) {
+                gravando.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.salvar(idSessao, simulacao);
+            }
+        };
+        simuladorService.setArmazenamentoSessoes(armazenamento);
+        simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        simuladorService.executarIteracoes("a", 3);
+        relogio.avancar(Duration.ofMinutes(11));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> despejo = executor.submit(simuladorService::despejarSessoesOciosas);
+            gravando.await();
+            Future<Integer> consulta = executor.submit(
+                    () -> simuladorService.consultarSessao("a", Simulacao::getIteracoes));
+            Thread.sleep(50); // A consulta chega durante a gravação
+            liberar.countDown();
+
+            assertEquals(1, despejo.get());
+            assertEquals(3, consulta.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Acima do limite a sessão menos recente é despejada")
+    void limiteDeSessoes_DespejaMenosRecente() {
+        simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        relogio.avancar(Duration.ofSeconds(1));
+        simuladorService.criarSessao("b", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        relogio.avancar(Duration.ofSeconds(1));
+        simuladorService.consultarSessao("a", Simulacao::getIteracoes);
+        simuladorService.criarSessao("c", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+
+        assertAll(
+                () -> assertEquals(2, simuladorService.getNumeroSessoes()),
+                () -> assertThrows(IllegalStateException.class, () -> simuladorService.consultarSessao("b", Simulacao::getIteracoes)),
+                () -> assertEquals(1, simuladorService.getHistoricoSimulacoes().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Sessão ociosa é guardada e retomada do armazenamento")
+    void sessaoOciosa_GuardadaERetomada() {
+        ArmazenamentoMemoria armazenamento = new ArmazenamentoMemoria();
+        simuladorService.setArmazenamentoSessoes(armazenamento);
+        Simulacao simulacao = simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        simuladorService.executarProximaIteracao("a");
+
+        relogio.avancar(Duration.ofMinutes(11));
+        assertEquals(1, simuladorService.despejarSessoesOciosas());
+        assertEquals(0, simuladorService.getNumeroSessoes());
+        assertTrue(armazenamento.sessoes.containsKey("a"));
+
+        assertSame(simulacao, simuladorService.consultarSessao("a", Function.identity()));
+        assertAll(
+                () -> assertEquals(1, simuladorService.getNumeroSessoes()),
+                () -> assertEquals(1, simulacao.getIteracoes()),
+                () -> assertTrue(armazenamento.sessoes.isEmpty()),
+                () -> assertEquals(0, simuladorService.getHistoricoSimulacoes().size())
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Sessão despejada é encerrada e recriada sem voltar do armazenamento")
+    void sessaoDespejada_EncerradaERecriada() {
+        ArmazenamentoMemoria armazenamento = new ArmazenamentoMemoria();
+        simuladorService.setArmazenamentoSessoes(armazenamento);
+        simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        simuladorService.executarIteracoes("a", 3);
+        relogio.avancar(Duration.ofMinutes(11));
+        assertEquals(1, simuladorService.despejarSessoesOciosas());
+
+        assertTrue(simuladorService.encerrarSessao("a"));
+        assertAll(
+                () -> assertTrue(armazenamento.sessoes.isEmpty()),
+                () -> assertEquals(1, simuladorService.getHistoricoSimulacoes().size()),
+                () -> assertEquals(Instant.parse("2024-01-01T00:00:00Z"),
+                        simuladorService.getHistoricoSimulacoes().get(0).getInicio()),
+                () -> assertFalse(simuladorService.encerrarSessao("a")),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> simuladorService.consultarSessao("a", Simulacao::getIteracoes))
+        );
+
+        // Recriar uma sessão despejada finaliza a cópia guardada
+        simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        simuladorService.executarIteracoes("a", 2);
+        relogio.avancar(Duration.ofMinutes(11));
+        assertEquals(1, simuladorService.despejarSessoesOciosas());
+        simuladorService.criarSessao("a", usuario, ConfiguracaoSimulacao.padrao(5, 100));
+        assertAll(
+                () -> assertTrue(armazenamento.sessoes.isEmpty()),
+                () -> assertEquals(2, simuladorService.getHistoricoSimulacoes().size()),
+                () -> assertEquals(0, simuladorService.consultarSessao("a", Simulacao::getIteracoes))
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Sessão despejada para o disco é retomada do checkpoint")
+    void sessaoOciosaRetomadaDoDisco(@TempDir Path diretorio) throws IOException {
+        simuladorService.setArmazenamentoSessoes(new ArmazenamentoSessoesEmDisco(diretorio));
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(20, 200).comSemente(5L);
+        simuladorService.criarSessao("usuário/1", usuario, configuracao);
+        simuladorService.executarIteracoes("usuário/1", 4);
+
+        relogio.avancar(Duration.ofMinutes(11));
+        assertEquals(1, simuladorService.despejarSessoesOciosas());
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertEquals(1, arquivos.count());
+        }
+
+        Simulacao retomada = simuladorService.consultarSessao("usuário/1", Function.identity());
+        Simulacao referencia = new Simulacao(usuario, configuracao);
+        referencia.executarIteracoes(4);
+        simuladorService.executarIteracoes("usuário/1", 10);
+        referencia.executarIteracoes(10);
+        assertAll(
+                () -> assertSame(usuario, retomada.getUsuario()),
+                () -> assertEquals(referencia.getIteracoes(), retomada.getIteracoes()),
+                () -> assertEquals(referencia.getGuardiao().getMoedas(), retomada.getGuardiao().getMoedas()),
+                () -> assertEquals(referencia.getGuardiao().getPosicao(), retomada.getGuardiao().getPosicao())
+        );
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertEquals(0, arquivos.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Integração Sessões - Checkpoints de uma instância anterior são apagados")
+    void checkpointsAntigosApagados(@TempDir Path diretorio) throws IOException {
+        ArmazenamentoSessoesEmDisco anterior = new ArmazenamentoSessoesEmDisco(diretorio);
+        anterior.salvar("a", new Simulacao(usuario, ConfiguracaoSimulacao.padrao(5, 100)));
+        Path outro = Files.writeString(diretorio.resolve("leia-me.txt"), "não é checkpoint");
+
+        ArmazenamentoSessoesEmDisco reiniciado = new ArmazenamentoSessoesEmDisco(diretorio);
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertEquals(List.of(outro), arquivos.toList());
+        }
+        assertTrue(reiniciado.carregar("a").isEmpty());
+    }
+
+    private static class ArmazenamentoMemoria implements ArmazenamentoSessoes {
+
+        private final Map<String, Simulacao> sessoes = new ConcurrentHashMap<>();
+
+        @Override
+        public void salvar(String idSessao, Simulacao simulacao) {
+            sessoes.put(idSessao, simulacao);
+        }
+
+        @Override
+        public Optional<Simulacao> carregar(String idSessao) {
+            return Optional.ofNullable(sessoes.remove(idSessao));
+        }
+
+        @Override
+        public void descartar(String idSessao) {
+            sessoes.remove(idSessao);
+        }
+    }
+
+    private static final class RelogioManual extends Clock {
+
+        private Instant agora = Instant.parse("2024-01-01T00:00:00Z");
+
+        void avancar(Duration duracao) {
+            agora = agora.plus(duracao);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
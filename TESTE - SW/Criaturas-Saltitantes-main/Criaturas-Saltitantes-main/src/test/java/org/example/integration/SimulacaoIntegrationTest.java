@@ -1,14 +1,28 @@
 package org.example.integration;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.example.model.ConfiguracaoSimulacao;
+import org.example.model.ResumoExecucao;
 import org.example.model.Simulacao;
 import org.example.model.Usuario;
+import org.example.service.ArmazemResultados;
+import org.example.service.RegistroSimulacao;
+import org.example.service.ResultadoLote;
 import org.example.service.SimuladorService;
 import org.example.service.UsuarioService;
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class SimulacaoIntegrationTest {
 
@@ -75,4 +89,146 @@ class SimulacaoIntegrationTest {
         assertTrue(!simuladorService.getSimulacaoAtual().getClusters().isEmpty(),
                 "Criaturas na mesma posição devem formar clusters");
     }
+
+    @Test
+    @DisplayName("Integração Lote-Simulação - Resultado do lote não depende do paralelismo")
+    void lote_MesmoResultadoComQualquerParalelismo() {
+        ConfiguracaoSimulacao configuracao = ConfiguracaoSimulacao.padrao(10, 200);
+
+        ResultadoLote sequencial = simuladorService.executarLote(usuario, configuracao, 40, 99L, 1);
+        ResultadoLote paralelo = simuladorService.executarLote(usuario, configuracao, 40, 99L, 4);
+
+        assertAll(
+                () -> assertEquals(40, paralelo.getNumExecucoes()),
+                () -> assertEquals(40, paralelo.getMotivosConclusao().values().stream()
+                        .mapToInt(Integer::intValue).sum()),
+                () -> assertEquals(sequencial.getMotivosConclusao(), paralelo.getMotivosConclusao()),
+                () -> assertEquals(sequencial.getNumBemSucedidas(), paralelo.getNumBemSucedidas()),
+                () -> assertEquals(sequencial.getMediaIteracoes(), paralelo.getMediaIteracoes()),
+                () -> assertEquals(sequencial.getMediaMoedasGuardiao(), paralelo.getMediaMoedasGuardiao()),
+                () -> assertTrue(paralelo.getMinIteracoes() <= paralelo.getMaxIteracoes()),
+                () -> assertTrue(paralelo.getMaxIteracoes() <= 200)
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Lote-Usuario - Lote não altera histórico nem pontuação")
+    void lote_NaoAlteraHistoricoNemPontuacao() {
+        simuladorService.executarLote(usuario, ConfiguracaoSimulacao.padrao(5, 100), 10, 1L);
+
+        assertAll(
+                () -> assertEquals(0, simuladorService.getHistoricoSimulacoes().size()),
+                () -> assertEquals(0, usuario.getTotalSimulacoes()),
+                () -> assertEquals(0, usuario.getPontuacao())
+        );
+        assertThrows(IllegalArgumentException.class,
+                () -> simuladorService.executarLote(usuario, ConfiguracaoSimulacao.padrao(5, 100), 0, 1L));
+    }
+
+    @Test
+    @DisplayName("Integração Simulador-Histórico - Bloco que conclui a simulação registra uma única vez")
+    void blocoDeIteracoes_RegistraNoHistoricoAoConcluir() {
+        simuladorService.criarNovaSimulacao(usuario, 5, 100, 3L);
+
+        ResumoExecucao parcial = simuladorService.executarIteracoes(10);
+        assertEquals(0, simuladorService.getHistoricoSimulacoes().size());
+
+        ResumoExecucao fim = simuladorService.executarIteracoes(Integer.MAX_VALUE);
+        simuladorService.executarIteracoes(10);
+
+        assertAll(
+                () -> assertEquals(10, parcial.getIteracoesExecutadas()),
+                () -> assertTrue(fim.isConcluida()),
+                () -> assertEquals(1, simuladorService.getHistoricoSimulacoes().size()),
+                () -> assertEquals(1, usuario.getTotalSimulacoes())
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Simulador-Histórico - Histórico limitado envia os mais antigos ao disco")
+    void historicoLimitado_ExcedentesVaoParaODisco(@TempDir Path diretorio) {
+        simuladorService.configurarHistorico(2, diretorio.resolve("historico.bin"));
+        for (long semente = 1; semente <= 5; semente++) {
+            simuladorService.criarNovaSimulacao(usuario, 5, 100, semente);
+            simuladorService.executarIteracoes(Integer.MAX_VALUE);
+        }
+
+        List<RegistroSimulacao> recentes = simuladorService.getHistoricoSimulacoes();
+        List<RegistroSimulacao> emDisco = historicoEmDisco(simuladorService);
+        RegistroSimulacao ultimo = recentes.get(1);
+        Simulacao atual = simuladorService.getSimulacaoAtual();
+        assertAll(
+                () -> assertEquals(List.of(4L, 5L), sementes(recentes)),
+                () -> assertEquals(List.of(1L, 2L, 3L), sementes(emDisco)),
+                () -> assertEquals(List.of(1L, 2L, 3L, 4L, 5L), sementes(simuladorService.getHistoricoDoUsuario("teste"))),
+                () -> assertTrue(simuladorService.getHistoricoDoUsuario("outro").isEmpty()),
+                () -> assertEquals(usuario.getPontuacao(),
+                        simuladorService.getHistoricoPorResultado(true, 10).size()),
+                () -> assertEquals(List.of(5L), sementes(simuladorService.getHistoricoPorResultado(
+                        ultimo.isBemSucedida(), 1))),
+                () -> assertEquals(5, simuladorService.getTotalSimulacoes()),
+                () -> assertEquals(usuario.getPontuacao(), simuladorService.getNumeroSimulacoesBemSucedidas()),
+                () -> assertEquals("teste", ultimo.getLogin()),
+                () -> assertEquals(atual.getIteracoes(), ultimo.getIteracoes()),
+                () -> assertEquals(atual.getMotivoConclusao(), ultimo.getMotivoConclusao()),
+                () -> assertEquals(atual.getGuardiao().getMoedas(), ultimo.getMoedasGuardiao()),
+                () -> assertTrue(!ultimo.getFim().isBefore(ultimo.getInicio()))
+        );
+
+        simuladorService.limparHistorico();
+        assertAll(
+                () -> assertEquals(0, simuladorService.getTotalSimulacoes()),
+                () -> assertTrue(historicoEmDisco(simuladorService).isEmpty())
+        );
+    }
+
+    @Test
+    @DisplayName("Integração Simulador-Armazém - Histórico em disco sobrevive a um novo serviço")
+    void armazemResultados_HistoricoSobreviveReinicio(@TempDir Path diretorio) throws IOException {
+        Path arquivo = diretorio.resolve("resultados.bin");
+        Usuario outro = new Usuario("outro", "senha", "avatar.png");
+        try (ArmazemResultados armazem = ArmazemResultados.abrir(arquivo)) {
+            simuladorService.usarArmazemResultados(armazem);
+            for (long semente = 1; semente <= 6; semente++) {
+                simuladorService.criarNovaSimulacao(semente % 2 == 0 ? outro : usuario, 5, 100, semente);
+                simuladorService.executarIteracoes(Integer.MAX_VALUE);
+            }
+        }
+
+        SimuladorService reiniciado = new SimuladorService();
+        reiniciado.configurarHistorico(4, null);
+        try (ArmazemResultados armazem = ArmazemResultados.abrir(arquivo)) {
+            reiniciado.usarArmazemResultados(armazem);
+            int sucessos = usuario.getPontuacao() + outro.getPontuacao();
+            assertAll(
+                    () -> assertEquals(6, reiniciado.getTotalSimulacoes()),
+                    () -> assertEquals(sucessos, reiniciado.getNumeroSimulacoesBemSucedidas()),
+                    () -> assertEquals(sucessos / 6.0, reiniciado.getTaxaSucessoGeral()),
+                    () -> assertEquals(List.of(3L, 4L, 5L, 6L), sementes(reiniciado.getHistoricoSimulacoes())),
+                    () -> assertEquals(List.of(1L, 2L), sementes(historicoEmDisco(reiniciado))),
+                    () -> assertEquals(List.of(2L, 4L, 6L), sementes(reiniciado.getHistoricoDoUsuario("outro"))),
+                    () -> assertEquals(List.of(1L, 3L, 5L), sementes(reiniciado.getHistoricoDoUsuario("teste"))),
+                    () -> assertEquals(sucessos, reiniciado.getHistoricoPorResultado(true, 10).size()),
+                    () -> assertEquals(6 - sucessos, reiniciado.getHistoricoPorResultado(false, 10).size())
+            );
+
+            reiniciado.criarNovaSimulacao(usuario, 5, 100, 7L);
+            reiniciado.executarIteracoes(Integer.MAX_VALUE);
+            assertAll(
+                    () -> assertEquals(7, armazem.getTotal()),
+                    () -> assertEquals(7L, armazem.ler(6).getSemente()),
+                    () -> assertEquals("teste", armazem.ler(6).getLogin())
+            );
+        }
+    }
+
+    private static List<RegistroSimulacao> historicoEmDisco(SimuladorService servico) {
+        List<RegistroSimulacao> registros = new ArrayList<>();
+        servico.percorrerHistoricoEmDisco(registros::add);
+        return registros;
+    }
+
+    private static List<Long> sementes(List<RegistroSimulacao> registros) {
+        return registros.stream().map(RegistroSimulacao::getSemente).collect(Collectors.toList());
+    }
 }
@@ -1,12 +1,18 @@
 package org.example.properties;
 
 import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.example.model.Cluster;
+import org.example.model.Criatura;
 import org.example.model.Simulacao;
 import org.example.model.Usuario;
 
 import net.jqwik.api.ForAll;
 import net.jqwik.api.Property;
 import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
 
 class SimulacaoPropertiesTest {
 
@@ -46,6 +52,92 @@ class SimulacaoPropertiesTest {
         assertThat(simulacao.isConcluida()).isTrue();
     }
 
+    @Property
+    void clusterFormadoDeveSerOPrimeiroParEmColisao(
+            @ForAll @Size(min = 2, max = 60) List<@IntRange(min = 0, max = 8) Integer> slots) {
+        Usuario usuario = new Usuario("teste", "senha", "avatar.png");
+        Simulacao simulacao = new Simulacao(usuario, slots.size(), 10);
+        List<Criatura> criaturas = posicionar(simulacao, slots);
+
+        // Primeiro par pela comparação de todos os pares
+        int esperadoI = -1;
+        int esperadoJ = -1;
+        for (int i = 0; i < criaturas.size() && esperadoI < 0; i++) {
+            for (int j = i + 1; j < criaturas.size(); j++) {
+                if (Math.abs(criaturas.get(i).getPosicao() - criaturas.get(j).getPosicao()) < 0.000000001) {
+                    esperadoI = i;
+                    esperadoJ = j;
+                    break;
+                }
+            }
+        }
+
+        simulacao.executarIteracao();
+
+        List<Cluster> clusters = simulacao.getClusters();
+        if (esperadoI < 0) {
+            assertThat(clusters).isEmpty();
+        } else {
+            assertThat(clusters).hasSize(1);
+            List<Criatura> membros = clusters.get(0).getCriaturas();
+            assertThat(membros.get(0).getId()).isEqualTo(criaturas.get(esperadoI).getId());
+            assertThat(membros.get(1).getId()).isEqualTo(criaturas.get(esperadoJ).getId());
+        }
+    }
+
+    @Property
+    void vizinhoRoubadoDeveSerOMaisProximoDoCluster(
+            @ForAll @Size(min = 2, max = 60) List<@IntRange(min = 0, max = 8) Integer> slots) {
+        Usuario usuario = new Usuario("teste", "senha", "avatar.png");
+        Simulacao simulacao = new Simulacao(usuario, slots.size(), 10);
+        List<Criatura> criaturas = posicionar(simulacao, slots);
+        double[] posicoesIniciais = criaturas.stream().mapToDouble(Criatura::getPosicao).toArray();
+
+        simulacao.executarIteracao();
+
+        List<Cluster> clusters = simulacao.getClusters();
+        if (clusters.isEmpty()) {
+            return;
+        }
+        List<Criatura> membros = clusters.get(0).getCriaturas();
+        double posicaoCluster = membros.size() == 2
+                ? membros.get(0).getPosicao()
+                : membros.stream().mapToDouble(Criatura::getPosicao).average().orElse(0.0);
+
+        // Busca linear: menor distância acima de 0.01, empate pelo menor id
+        int esperado = -1;
+        double menorDistancia = Double.MAX_VALUE;
+        for (int i = 0; i < criaturas.size(); i++) {
+            double distancia = Math.abs(posicoesIniciais[i] - posicaoCluster);
+            if (!membros.contains(criaturas.get(i)) && distancia > 0.01 && distancia < menorDistancia) {
+                menorDistancia = distancia;
+                esperado = i;
+            }
+        }
+
+        for (int i = 0; i < criaturas.size(); i++) {
+            if (!membros.contains(criaturas.get(i))) {
+                int moedasEsperadas = i == esperado ? 500_000 : 1_000_000;
+                assertThat(criaturas.get(i).getMoedas()).isEqualTo(moedasEsperadas);
+            }
+        }
+    }
+
+    /**
+     * Posiciona as criaturas em uma paleta com colisões, cadeias no limite da
+     * tolerância de 1e-9 e empates de distância (5 e 15 estão à mesma
+     * distância de 10).
+     */
+    private List<Criatura> posicionar(Simulacao simulacao, List<Integer> slots) {
+        double[] paleta = {10.0, 10.0 + 5e-10, 10.0 + 1.5e-9, 50.0, 99.9, 100.0, 5.0, 15.0, 10.005};
+        List<Criatura> criaturas = simulacao.getCriaturas();
+        for (int i = 0; i < criaturas.size(); i++) {
+            criaturas.get(i).setPosicao(paleta[slots.get(i)]);
+        }
+        simulacao.getGuardiao().setPosicao(0.0); // Guardião parado longe das criaturas
+        return criaturas;
+    }
+
     private long calcularTotalMoedas(Simulacao simulacao) {
         return simulacao.getCriaturas().stream()
                 .filter(c -> c.isAtiva())
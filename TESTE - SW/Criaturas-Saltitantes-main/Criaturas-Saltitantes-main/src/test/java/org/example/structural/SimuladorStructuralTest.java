@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.example.model.Simulacao;
 import org.example.model.Usuario;
+import org.example.service.RegistroSimulacao;
 import org.example.service.SimuladorService;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -157,7 +158,7 @@ class SimuladorStructuralTest {
     void getHistoricoSimulacoes_ProtecaoContraModificacao() {
         simuladorService.executarSimulacaoCompleta(usuario, 5, 100);
 
-        List<Simulacao> historico = simuladorService.getHistoricoSimulacoes();
+        List<RegistroSimulacao> historico = simuladorService.getHistoricoSimulacoes();
         assertThrows(UnsupportedOperationException.class,
                 () -> historico.add(null));
     }